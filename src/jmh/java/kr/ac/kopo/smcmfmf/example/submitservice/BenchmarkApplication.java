@@ -0,0 +1,60 @@
+package kr.ac.kopo.smcmfmf.example.submitservice;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 (trial 마다 한 번 띄운다)
+ * 벤치마크마다 별도의 메모리 DB 와 임시 업로드 디렉토리를 쓰고, 측정에 섞이지 않도록 SQL/정보 로그는 끈다.
+ */
+public class BenchmarkApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final Path uploadDir;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context, Path uploadDir) {
+        this.context = context;
+        this.uploadDir = uploadDir;
+    }
+
+    /**
+     * @param name      메모리 DB 이름
+     * @param profiles  추가로 켤 프로파일 (예: datagen)
+     * @param extraArgs 추가 설정 (--key=value, 프로파일 설정 파일보다 우선)
+     */
+    public static BenchmarkApplication start(String name, String[] profiles, String... extraArgs) throws IOException {
+        Path uploadDir = Files.createTempDirectory("jmh-" + name);
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + name,
+                "--file.upload-dir=" + uploadDir,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.kr.ac.kopo.smcmfmf=WARN",
+                "--logging.level.org.springframework.web=WARN"));
+        args.addAll(List.of(extraArgs));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SubmitServiceApplication.class)
+                .profiles(profiles)
+                .run(args.toArray(String[]::new));
+        return new BenchmarkApplication(context, uploadDir);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+}
@@ -0,0 +1,67 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 제출물 평가 상태 전이 벤치마크 (엔티티 메소드만, DB 없이)
+ * 매 호출마다 새 제출물에서 시작하므로 엔티티 생성 비용도 포함된다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmissionGradingBenchmark {
+
+    private final BigDecimal tempGrade = new BigDecimal("75.50");
+    private final BigDecimal finalGrade = new BigDecimal("88.00");
+
+    // 제출 -> 임시 평가 -> 평가 완료
+    @Benchmark
+    public Submission tempGradeThenComplete() {
+        Submission submission = newSubmission();
+        submission.updateGrading(tempGrade, "보완 필요");
+        submission.completeGrading(finalGrade, "수고했습니다");
+        return submission;
+    }
+
+    // 제출 -> 임시 평가 -> 재제출 (점수/피드백 초기화)
+    @Benchmark
+    public Submission tempGradeThenResubmit() {
+        Submission submission = newSubmission();
+        submission.updateGrading(tempGrade, "보완 필요");
+        submission.resubmit("/files/download/report_v2.pdf");
+        return submission;
+    }
+
+    // 평가 완료 후 재제출 시도 (거부 - 예외 생성 비용 포함)
+    @Benchmark
+    public Object resubmitAfterCompleteRejected() {
+        Submission submission = newSubmission();
+        submission.completeGrading(finalGrade, "수고했습니다");
+        try {
+            submission.resubmit("/files/download/report_v2.pdf");
+            return submission;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    private Submission newSubmission() {
+        return Submission.builder()
+                .fileUrl("/files/download/report.pdf")
+                .build();
+    }
+}
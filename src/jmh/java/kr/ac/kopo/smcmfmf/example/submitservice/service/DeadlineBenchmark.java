@@ -0,0 +1,49 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 남은 시간 표시 문자열 벤치마크 (과제 목록, 대시보드에서 과제마다 호출)
+ * 분기별로 나눠 잰다: 마감됨 / N분 남음 / N시간 N분 남음 / N일 N시간 남음
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeadlineBenchmark {
+
+    // 지금부터 마감까지 남은 분 (음수는 이미 마감)
+    @Param({"-60", "30", "300", "4320"})
+    private long minutesUntilDeadline;
+
+    private AssignmentService assignmentService;
+    private LocalDateTime deadline;
+
+    @Setup
+    public void setUp() {
+        // getTimeUntilDeadline 은 저장소를 쓰지 않으므로 의존성 없이 생성
+        assignmentService = new AssignmentService(null, null, null, null, null, null, null);
+        // 측정 시간(수 초) 동안 분기가 바뀌지 않도록 여유를 둔다
+        deadline = LocalDateTime.now().plusMinutes(minutesUntilDeadline).plusSeconds(30);
+    }
+
+    @Benchmark
+    public String getTimeUntilDeadline() {
+        return assignmentService.getTimeUntilDeadline(deadline);
+    }
+}
@@ -0,0 +1,47 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 화면에서 제출물/첨부파일마다 호출되는 표시용 파일명 변환 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileDisplayNameBenchmark {
+
+    @Param({
+            "홍길동_20250101_120000_1a2b3c4d.pdf",
+            "김교수_assignment_자료구조_과제_1_20250101_120000_1a2b3c4d.zip",
+            "legacy-file"
+    })
+    private String fileName;
+
+    private FileService fileService;
+
+    @Setup
+    public void setUp() {
+        // 파일명 문자열만 다루는 메소드라 저장소 없이 생성
+        fileService = new FileService(null, null);
+    }
+
+    @Benchmark
+    public String getFileDisplayName() {
+        return fileService.getFileDisplayName(fileName);
+    }
+}
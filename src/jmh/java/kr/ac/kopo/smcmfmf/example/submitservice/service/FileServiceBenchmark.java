@@ -0,0 +1,90 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 저장 벤치마크 - 파일명 생성(정규식 치환, UUID) + 본문 복사/해시 + 파일 메타데이터 저장
+ * - saveNewFile: 매번 내용이 다른 파일 (본문을 디스크에 새로 쓴다)
+ * - saveDuplicateFile: 같은 파일 반복 업로드 (본문은 다시 쓰지 않고 참조만 늘어난다)
+ * 저장한 파일은 iteration 이 끝날 때마다 지워 디스크와 DB 가 계속 커지지 않게 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class FileServiceBenchmark {
+
+    private static final String PREFIX = "홍길동(2024-1234) 보고서#1";
+
+    // 1KB, 1MB, 10MB
+    @Param({"1024", "1048576", "10485760"})
+    private int fileSize;
+
+    private BenchmarkApplication application;
+    private FileService fileService;
+    private byte[] content;
+    private long sequence;
+    private final List<String> savedFiles = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        application = BenchmarkApplication.start("jmh-file-service", new String[0]);
+        fileService = application.getBean(FileService.class);
+
+        content = new byte[fileSize];
+        new SplittableRandom(fileSize).nextBytes(content);
+    }
+
+    @TearDown(Level.Iteration)
+    public void releaseSavedFiles() {
+        savedFiles.forEach(fileService::deleteFile);
+        savedFiles.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public String saveNewFile() throws IOException {
+        // 앞 8바이트에 일련번호를 써서 매번 다른 본문(다른 해시)으로 만든다
+        ByteBuffer.wrap(content).putLong(0, ++sequence);
+        return save();
+    }
+
+    @Benchmark
+    public String saveDuplicateFile() throws IOException {
+        return save();
+    }
+
+    private String save() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", content);
+        String fileName = fileService.saveFile(file, PREFIX);
+        savedFiles.add(fileName);
+        return fileName;
+    }
+}
@@ -0,0 +1,75 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.BenchmarkApplication;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 제출 현황 화면(ProfessorController.viewSubmissions)의 통계 계산 벤치마크
+ * 통계는 SubmissionService.getSubmissionStatistics 가 집계 쿼리 한 번으로 구하므로, 제출물 수를 바꿔가며 그 호출을 잰다.
+ * 데이터는 datagen 프로파일로 과목 1개, 과제 1개에 수강생 전원이 제출한 상태로 만든다. (평가 완료 비율 70%)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class SubmissionStatisticsBenchmark {
+
+    // 과제 하나의 제출물 수
+    @Param({"100", "1000", "10000"})
+    private int submissions;
+
+    private BenchmarkApplication application;
+    private SubmissionService submissionService;
+    private Assignment assignment;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        application = BenchmarkApplication.start("jmh-statistics", new String[]{"datagen"},
+                "--datagen.professors=1",
+                "--datagen.students=" + submissions,
+                "--datagen.courses=1",
+                "--datagen.courses-per-student-min=1",
+                "--datagen.courses-per-student-max=1",
+                "--datagen.assignments-per-course=1",
+                "--datagen.submit-rate=1.0",
+                "--datagen.open-submit-rate=1.0",
+                "--datagen.graded-rate=0.7",
+                "--datagen.file-pool-size=1",
+                "--datagen.file-size-median=1KB",
+                "--datagen.file-size-max=1KB");
+        submissionService = application.getBean(SubmissionService.class);
+
+        Long assignmentId = application.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT assignment_id FROM submissions GROUP BY assignment_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+        assignment = application.getBean(AssignmentService.class).getAssignmentById(assignmentId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public SubmissionService.SubmissionStatistics getSubmissionStatistics() {
+        return submissionService.getSubmissionStatistics(assignment);
+    }
+}
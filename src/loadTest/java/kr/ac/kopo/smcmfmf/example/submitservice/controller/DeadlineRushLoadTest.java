@@ -0,0 +1,401 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.SubmitServiceApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마감 직전 몰림 부하 시나리오 (gradle loadTest)
+ * datagen 프로파일로 기본 데이터를 만든 애플리케이션을 임의 포트로 띄우고, 실제 HTTP 요청으로 다음 순서를 재생한다.
+ * 1. 로그인 몰림 - 마감 과목 수강생과 담당 교수 전원이 동시에 로그인 (교수는 이어서 마감 임박 과제를 만든다)
+ * 2. 대시보드 탐색 - 학생마다 대시보드, 과목 화면, 제출 화면, 내 제출 목록을 차례로 연다
+ * 3. 마감 직전 제출 - rush-window 동안 마감에 가까울수록 몰리도록 multipart 로 제출 (일부는 재제출)
+ *    같은 시간 동안 교수들은 자기 과목 과제의 제출물 목록을 번갈아 연다
+ * 엔드포인트별 처리량, p50/p95/p99, 오류율을 출력하고 build/reports/load-test/results.json 으로 남긴 뒤 SLO 를 검사한다.
+ * 규모와 SLO 는 load-test.properties 참고
+ */
+class DeadlineRushLoadTest {
+
+    private static final Pattern SESSION_COOKIE = Pattern.compile("SESSION=[^;]+");
+    private static final String PASSWORD = "password123";
+    private static final String RUSH_TITLE = "마감 임박 부하 테스트 과제";
+    private static final String BOUNDARY = "load-test-boundary";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    private LoadTestReport report = new LoadTestReport();
+    private LoadTestSettings settings;
+    private String baseUrl;
+
+    @Test
+    void deadlineRush() throws Exception {
+        settings = new LoadTestSettings();
+        Path uploadDir = Files.createTempDirectory("load-test");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SubmitServiceApplication.class)
+                .profiles("datagen")
+                // 프로파일 설정 파일보다 우선하도록 명령행 인자로 넘긴다
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-test",
+                        "--file.upload-dir=" + uploadDir,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.kr.ac.kopo.smcmfmf=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--datagen.seed=" + settings.getString("seed"),
+                        "--datagen.professors=" + settings.getString("professors"),
+                        "--datagen.students=" + settings.getString("students"),
+                        "--datagen.courses=" + settings.getString("courses"),
+                        "--datagen.courses-per-student-min=" + settings.getString("courses-per-student-min"),
+                        "--datagen.courses-per-student-max=" + settings.getString("courses-per-student-max"),
+                        "--datagen.assignments-per-course=" + settings.getString("assignments-per-course"),
+                        "--datagen.file-pool-size=20",
+                        "--datagen.file-size-median=64KB",
+                        "--datagen.file-size-max=1MB");
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<RushCourse> rushCourses = findRushCourses(jdbcTemplate);
+
+            Set<String> emails = new LinkedHashSet<>();
+            rushCourses.forEach(course -> {
+                emails.add(course.professorEmail);
+                emails.addAll(course.studentEmails);
+            });
+
+            // JIT 예열 - 일부 사용자로 로그인과 탐색을 한 번 돌리고 기록은 버린다
+            browseDashboards(rushCourses, login(emails.stream().limit(settings.getInt("warm-up-users")).toList()));
+            report = new LoadTestReport();
+
+            Map<String, String> sessions = login(emails);
+            LocalDateTime deadline = createRushAssignments(jdbcTemplate, rushCourses, sessions);
+
+            browseDashboards(rushCourses, sessions);
+
+            Duration remaining = Duration.between(LocalDateTime.now(), deadline);
+            assertThat(remaining)
+                    .as("제출 구간이 마감 전에 끝나지 않습니다. loadtest.deadline-lead 를 늘려주세요.")
+                    .isGreaterThan(settings.getDuration("rush-window").plusSeconds(10));
+            rush(rushCourses, sessions);
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(uploadDir);
+        }
+
+        report.print();
+        Path reportDir = Paths.get(System.getProperty("loadtest.report-dir", "build/reports/load-test"));
+        report.writeJson(reportDir.resolve("results.json"));
+
+        List<String> violations = report.checkSlo(settings);
+        violations.forEach(violation -> System.out.println("SLO 위반: " + violation));
+        assertThat(violations).as("SLO 위반").isEmpty();
+    }
+
+    // 수강생이 많은 과목 순으로 마감 과목을 고른다
+    private List<RushCourse> findRushCourses(JdbcTemplate jdbcTemplate) {
+        List<RushCourse> rushCourses = jdbcTemplate.query("""
+                        SELECT e.course_id, u.email
+                        FROM enrollments e
+                        JOIN courses c ON c.course_id = e.course_id
+                        JOIN users u ON u.id = c.professor_id
+                        GROUP BY e.course_id, u.email
+                        ORDER BY COUNT(*) DESC, e.course_id
+                        LIMIT ?
+                        """,
+                (rs, rowNum) -> new RushCourse(rs.getLong(1), rs.getString(2)),
+                settings.getInt("rush-courses"));
+
+        for (RushCourse course : rushCourses) {
+            course.studentEmails.addAll(jdbcTemplate.queryForList(
+                    "SELECT u.email FROM enrollments e JOIN users u ON u.id = e.student_id " +
+                            "WHERE e.course_id = ? ORDER BY u.id", String.class, course.courseId));
+            course.assignmentIds.addAll(jdbcTemplate.queryForList(
+                    "SELECT assignment_id FROM assignments WHERE course_id = ? ORDER BY deadline DESC",
+                    Long.class, course.courseId));
+        }
+        return rushCourses;
+    }
+
+    // 1. 로그인 몰림 - 세션 쿠키를 받아 둔다 (실패한 사용자는 이후 단계에서 빠진다)
+    private Map<String, String> login(Collection<String> emails) throws Exception {
+        System.out.printf("[로그인] %d명%n", emails.size());
+        Map<String, String> sessions = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(settings.getInt("login-concurrency"));
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        for (String email : emails) {
+            permits.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("email=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                            + "&password=" + PASSWORD))
+                    .build();
+            futures.add(send("login", request, response -> response.statusCode() == 302
+                    && response.headers().firstValue("Location").orElse("").endsWith("/dashboard")
+                    && sessionCookie(response) != null)
+                    .whenComplete((response, error) -> {
+                        permits.release();
+                        if (response != null && sessionCookie(response) != null) {
+                            sessions.put(email, sessionCookie(response));
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return sessions;
+    }
+
+    // 교수가 과목마다 마감 임박 과제를 만든다 (첨부파일 없는 multipart 폼)
+    private LocalDateTime createRushAssignments(JdbcTemplate jdbcTemplate, List<RushCourse> rushCourses,
+                                                Map<String, String> sessions) {
+        LocalDateTime deadline = LocalDateTime.now().plus(settings.getDuration("deadline-lead")).truncatedTo(ChronoUnit.SECONDS);
+        for (RushCourse course : rushCourses) {
+            String body = formField("title", RUSH_TITLE) + formField("description", "마감 직전 제출 몰림 재현용")
+                    + formField("deadline", deadline.toString()) + "--" + BOUNDARY + "--\r\n";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/professor/course/" + course.courseId + "/assignment/new"))
+                    .header("Cookie", sessions.get(course.professorEmail))
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                    .build();
+            send("assignment-create", request, response -> response.statusCode() == 302
+                    && response.headers().firstValue("Location").orElse("").contains("/professor/course/")).join();
+
+            Long assignmentId = jdbcTemplate.queryForObject(
+                    "SELECT MAX(assignment_id) FROM assignments WHERE course_id = ? AND title = ?",
+                    Long.class, course.courseId, RUSH_TITLE);
+            assertThat(assignmentId).as("마감 임박 과제 생성 실패: 과목 %d", course.courseId).isNotNull();
+            course.rushAssignmentId = assignmentId;
+            course.assignmentIds.addFirst(assignmentId);
+        }
+        return deadline;
+    }
+
+    // 2. 대시보드 탐색 - 학생마다 화면을 차례로 연다 (제출 화면은 과목의 가장 최근 과제, 마감 임박 과제를 만든 뒤에는 그 과제)
+    private void browseDashboards(List<RushCourse> rushCourses, Map<String, String> sessions) throws Exception {
+        Semaphore permits = new Semaphore(settings.getInt("browse-concurrency"));
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        Predicate<HttpResponse<Void>> ok = response -> response.statusCode() == 200;
+
+        for (RushCourse course : rushCourses) {
+            System.out.printf("[탐색] 과목 %d - 학생 %d명%n", course.courseId, course.studentEmails.size());
+            for (String email : course.studentEmails) {
+                String session = sessions.get(email);
+                if (session == null) {
+                    continue;
+                }
+                permits.acquire();
+                futures.add(send("student-dashboard", get("/student/dashboard", session), ok)
+                        .thenCompose(r -> send("student-course", get("/student/course/" + course.courseId, session), ok))
+                        .thenCompose(r -> send("submit-form",
+                                get("/student/assignment/" + course.assignmentIds.getFirst() + "/submit", session), ok))
+                        .thenCompose(r -> send("student-submissions", get("/student/submissions", session), ok))
+                        .whenComplete((response, error) -> permits.release()));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    // 3. 마감 직전 제출 + 교수 제출물 목록 탐색
+    private void rush(List<RushCourse> rushCourses, Map<String, String> sessions) throws Exception {
+        SplittableRandom random = new SplittableRandom(settings.getInt("seed"));
+        long windowMillis = settings.getDuration("rush-window").toMillis();
+        double resubmitRate = settings.getDouble("resubmit-rate");
+        int minSize = (int) settings.getDataSize("file-size-min").toBytes();
+        int maxSize = (int) settings.getDataSize("file-size-max").toBytes();
+
+        // 파일 본문은 공용 난수 버퍼의 앞부분을 쓰고, 앞에 붙는 요청 번호로 내용(해시)을 다르게 만든다
+        byte[] filePool = new byte[maxSize];
+        random.split().nextBytes(filePool);
+
+        List<SubmitJob> jobs = new ArrayList<>();
+        for (RushCourse course : rushCourses) {
+            for (String email : course.studentEmails) {
+                String session = sessions.get(email);
+                if (session == null) {
+                    continue;
+                }
+                // 도착 시각은 구간 끝(마감)으로 갈수록 촘촘해지도록 sqrt 분포
+                long offset = (long) (windowMillis * Math.sqrt(random.nextDouble()));
+                int size = (int) Math.exp(Math.log(minSize) + random.nextDouble() * (Math.log(maxSize) - Math.log(minSize)));
+                jobs.add(new SubmitJob(session, course.rushAssignmentId, offset, size, random.nextDouble() < resubmitRate));
+            }
+        }
+        System.out.printf("[제출] %d건, %d초 구간, 재제출 비율 %.0f%%%n", jobs.size(), windowMillis / 1000, resubmitRate * 100);
+
+        AtomicBoolean rushRunning = new AtomicBoolean(true);
+        long thinkMillis = settings.getDuration("professor-think-time").toMillis();
+        Map<String, List<Long>> professorAssignments = new LinkedHashMap<>();
+        rushCourses.forEach(course -> professorAssignments
+                .computeIfAbsent(course.professorEmail, email -> new ArrayList<>())
+                .addAll(course.assignmentIds));
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (ExecutorService professors = Executors.newVirtualThreadPerTaskExecutor()) {
+            professorAssignments.forEach((email, assignmentIds) -> {
+                String session = sessions.get(email);
+                if (session != null) {
+                    professors.submit(() -> browseSubmissions(session, assignmentIds, thinkMillis, rushRunning));
+                }
+            });
+
+            List<CompletableFuture<Void>> finished = new ArrayList<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                SubmitJob job = jobs.get(i);
+                long sequence = i * 2L;
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                finished.add(done);
+                scheduler.schedule(() -> submit(job, filePool, sequence)
+                                .thenCompose(r -> job.resubmit ? submit(job, filePool, sequence + 1) : CompletableFuture.completedFuture(r))
+                                .whenComplete((r, e) -> done.complete(null)),
+                        job.offsetMillis, TimeUnit.MILLISECONDS);
+            }
+            CompletableFuture.allOf(finished.toArray(CompletableFuture[]::new)).join();
+            rushRunning.set(false);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<HttpResponse<Void>> submit(SubmitJob job, byte[] filePool, long sequence) {
+        String header = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"report-" + sequence + ".pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n";
+        byte[] uniquePrefix = ByteBuffer.allocate(Long.BYTES).putLong(sequence).array();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/student/assignment/" + job.assignmentId + "/submit"))
+                .timeout(Duration.ofMinutes(2))
+                .header("Cookie", job.session)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString(header, StandardCharsets.UTF_8),
+                        HttpRequest.BodyPublishers.ofByteArray(uniquePrefix),
+                        HttpRequest.BodyPublishers.ofByteArray(filePool, 0, job.fileSize - Long.BYTES),
+                        HttpRequest.BodyPublishers.ofString("\r\n--" + BOUNDARY + "--\r\n", StandardCharsets.UTF_8)))
+                .build();
+        return send("submit", request, response -> response.statusCode() == 302
+                && response.headers().firstValue("Location").orElse("").contains("/student/course/"));
+    }
+
+    // 제출이 몰리는 동안 교수는 과제별 제출물 목록과 대시보드를 번갈아 연다
+    private void browseSubmissions(String session, List<Long> assignmentIds, long thinkMillis, AtomicBoolean running) {
+        Predicate<HttpResponse<Void>> ok = response -> response.statusCode() == 200;
+        try {
+            while (running.get()) {
+                send("professor-dashboard", get("/professor/dashboard", session), ok).join();
+                for (Long assignmentId : assignmentIds) {
+                    if (!running.get()) {
+                        return;
+                    }
+                    Thread.sleep(thinkMillis);
+                    send("professor-submissions", get("/professor/assignment/" + assignmentId + "/submissions", session), ok).join();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 요청을 보내고 응답 시간과 성공 여부를 기록 (연결 실패는 null 응답)
+    private CompletableFuture<HttpResponse<Void>> send(String endpoint, HttpRequest request,
+                                                       Predicate<HttpResponse<Void>> expected) {
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    report.record(endpoint, start, System.nanoTime(), error == null && expected.test(response));
+                    return error == null ? response : null;
+                });
+    }
+
+    private HttpRequest get(String path, String session) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMinutes(1))
+                .header("Cookie", session)
+                .GET()
+                .build();
+    }
+
+    private static String formField(String name, String value) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n";
+    }
+
+    private static String sessionCookie(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            Matcher cookie = SESSION_COOKIE.matcher(header);
+            if (cookie.find()) {
+                return cookie.group();
+            }
+        }
+        return null;
+    }
+
+    private static class RushCourse {
+        final long courseId;
+        final String professorEmail;
+        final List<String> studentEmails = new ArrayList<>();
+        // 과목의 과제 (마감이 늦은 순, 마감 임박 과제를 만들면 맨 앞)
+        final List<Long> assignmentIds = new ArrayList<>();
+        Long rushAssignmentId;
+
+        RushCourse(long courseId, String professorEmail) {
+            this.courseId = courseId;
+            this.professorEmail = professorEmail;
+        }
+    }
+
+    private static class SubmitJob {
+        final String session;
+        final long assignmentId;
+        final long offsetMillis;
+        final int fileSize;
+        final boolean resubmit;
+
+        SubmitJob(String session, long assignmentId, long offsetMillis, int fileSize, boolean resubmit) {
+            this.session = session;
+            this.assignmentId = assignmentId;
+            this.offsetMillis = offsetMillis;
+            this.fileSize = fileSize;
+            this.resubmit = resubmit;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엔드포인트별 응답 시간/오류 기록과 결과 보고
+ * - 처리량은 해당 엔드포인트의 첫 요청 시작부터 마지막 응답까지의 구간 기준
+ * - 오류: 연결 실패, 5xx, 시나리오가 기대한 응답(리다이렉트 위치, 세션 쿠키 등)이 아닌 경우
+ */
+class LoadTestReport {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final List<String> order = new ArrayList<>();
+
+    void record(String endpoint, long startNanos, long endNanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, this::register).record(startNanos, endNanos, success);
+    }
+
+    private EndpointStats register(String endpoint) {
+        synchronized (order) {
+            order.add(endpoint);
+        }
+        return new EndpointStats();
+    }
+
+    void print() {
+        System.out.println();
+        System.out.printf("%-22s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Summary> entry : summaries().entrySet()) {
+            Summary summary = entry.getValue();
+            System.out.printf("%-22s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(),
+                    summary.requests, summary.errors, summary.throughput,
+                    summary.p50, summary.p95, summary.p99, summary.max);
+        }
+        System.out.println();
+    }
+
+    void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summaries());
+    }
+
+    /**
+     * SLO 를 넘은 항목 목록 (비어 있으면 통과)
+     */
+    List<String> checkSlo(LoadTestSettings settings) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Summary> entry : summaries().entrySet()) {
+            String endpoint = entry.getKey();
+            Summary summary = entry.getValue();
+
+            check(violations, endpoint, "p95", summary.p95, settings.getSlo(endpoint, "p95"));
+            check(violations, endpoint, "p99", summary.p99, settings.getSlo(endpoint, "p99"));
+            check(violations, endpoint, "error-rate", summary.errorRate, settings.getSlo(endpoint, "error-rate"));
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String endpoint, String metric, double actual, Double limit) {
+        if (limit != null && actual > limit) {
+            violations.add(String.format("%s %s: %.3f (기준 %.3f)", endpoint, metric, actual, limit));
+        }
+    }
+
+    private Map<String, Summary> summaries() {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        synchronized (order) {
+            for (String endpoint : order) {
+                summaries.put(endpoint, endpoints.get(endpoint).summarize());
+            }
+        }
+        return summaries;
+    }
+
+    private static class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int requests;
+        private int errors;
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd = Long.MIN_VALUE;
+
+        synchronized void record(long startNanos, long endNanos, boolean success) {
+            if (requests == latencies.length) {
+                latencies = Arrays.copyOf(latencies, requests * 2);
+            }
+            latencies[requests++] = endNanos - startNanos;
+            if (!success) {
+                errors++;
+            }
+            firstStart = Math.min(firstStart, startNanos);
+            lastEnd = Math.max(lastEnd, endNanos);
+        }
+
+        synchronized Summary summarize() {
+            long[] sorted = Arrays.copyOf(latencies, requests);
+            Arrays.sort(sorted);
+
+            Summary summary = new Summary();
+            summary.requests = requests;
+            summary.errors = errors;
+            summary.errorRate = requests == 0 ? 0 : (double) errors / requests;
+            summary.throughput = requests / Math.max((lastEnd - firstStart) / 1_000_000_000.0, 0.001);
+            summary.p50 = percentile(sorted, 0.50);
+            summary.p95 = percentile(sorted, 0.95);
+            summary.p99 = percentile(sorted, 0.99);
+            summary.max = percentile(sorted, 1.0);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+
+    // 엔드포인트별 결과 (시간은 ms, JSON 보고서 필드)
+    public static class Summary {
+        public int requests;
+        public int errors;
+        public double errorRate;
+        public double throughput;
+        public double p50;
+        public double p95;
+        public double p99;
+        public double max;
+    }
+}
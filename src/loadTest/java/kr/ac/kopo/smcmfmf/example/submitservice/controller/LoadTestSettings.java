@@ -0,0 +1,66 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * 부하 시나리오 설정 - load-test.properties 를 읽고, 같은 키의 시스템 프로퍼티(gradle loadTest -Ploadtest.x=...)로 덮어쓴다
+ */
+class LoadTestSettings {
+
+    private static final String PREFIX = "loadtest.";
+
+    private final Properties properties = new Properties();
+
+    LoadTestSettings() throws IOException {
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream("/load-test.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("load-test.properties 가 클래스패스에 없습니다.");
+            }
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+    }
+
+    String getString(String key) {
+        String value = properties.getProperty(PREFIX + key);
+        if (value == null) {
+            throw new IllegalStateException("부하 시나리오 설정이 없습니다: " + PREFIX + key);
+        }
+        return value.trim();
+    }
+
+    int getInt(String key) {
+        return Integer.parseInt(getString(key));
+    }
+
+    double getDouble(String key) {
+        return Double.parseDouble(getString(key));
+    }
+
+    Duration getDuration(String key) {
+        return DurationStyle.detectAndParse(getString(key));
+    }
+
+    DataSize getDataSize(String key) {
+        return DataSize.parse(getString(key));
+    }
+
+    /**
+     * 엔드포인트의 SLO 값 (엔드포인트별 값이 없으면 기본값, 둘 다 없으면 검사하지 않음)
+     */
+    Double getSlo(String endpoint, String metric) {
+        String value = properties.getProperty(PREFIX + "slo." + endpoint + "." + metric,
+                properties.getProperty(PREFIX + "slo.default." + metric));
+        return value == null ? null : Double.valueOf(value.trim());
+    }
+}
@@ -6,14 +6,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Component
+@Order(0) // 대량 데이터 생성(datagen 프로파일)보다 먼저 기본 계정을 만든다
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializationConfig implements ApplicationRunner {
@@ -24,31 +27,11 @@ public class DataInitializationConfig implements ApplicationRunner {
     private final AssignmentRepository assignmentRepository;
     private final SubmissionRepository submissionRepository;
 
-    @PostConstruct
-    public void fixExistingData() {
-        try {
-            // 기존 제출물의 isGraded 필드가 null인 경우 false로 설정
-            List<Submission> submissions = submissionRepository.findAll();
-            boolean hasNullGraded = false;
-
-            for (Submission submission : submissions) {
-                if (submission.getIsGraded() == null) {
-                    submission.setIsGraded(Boolean.FALSE);
-                    hasNullGraded = true;
-                }
-            }
-
-            if (hasNullGraded) {
-                submissionRepository.saveAll(submissions);
-                log.info("기존 제출물의 isGraded 필드를 수정했습니다.");
-            }
-
-        } catch (Exception e) {
-            log.error("데이터 수정 중 오류 발생", e);
-        }
-    }
+    // 기존 데이터 보정(isGraded NULL 등)은 DataMigrationService 가 준비 완료 후 버전별로 한 번만 실행한다
 
+    // 초기 데이터를 한 트랜잭션으로 저장해 INSERT 가 커밋 시점에 배치로 전송되도록 함
     @Override
+    @Transactional
     public void run(ApplicationArguments args) {
         if (userRepository.count() == 0) {
             initializeData();
@@ -131,12 +114,7 @@ public class DataInitializationConfig implements ApplicationRunner {
                 .accountStatus(User.AccountStatus.PENDING)
                 .build();
 
-        userRepository.save(professor1);
-        userRepository.save(professor2);
-        userRepository.save(student1);
-        userRepository.save(student2);
-        userRepository.save(pendingProfessor);
-        userRepository.save(pendingStudent);
+        userRepository.saveAll(List.of(professor1, professor2, student1, student2, pendingProfessor, pendingStudent));
 
         // 과목 생성
         Course course1 = Course.builder()
@@ -163,23 +141,21 @@ public class DataInitializationConfig implements ApplicationRunner {
                 .professor(professor2)
                 .build();
 
-        courseRepository.save(course1);
-        courseRepository.save(course2);
-        courseRepository.save(course3);
-        courseRepository.save(course4);
+        courseRepository.saveAll(List.of(course1, course2, course3, course4));
 
         // 수강신청 생성
-        enrollmentRepository.save(Enrollment.builder().student(student1).course(course1).build());
-        enrollmentRepository.save(Enrollment.builder().student(student1).course(course2).build());
-        enrollmentRepository.save(Enrollment.builder().student(student2).course(course1).build());
-        enrollmentRepository.save(Enrollment.builder().student(student2).course(course3).build());
+        enrollmentRepository.saveAll(List.of(
+                Enrollment.builder().student(student1).course(course1).build(),
+                Enrollment.builder().student(student1).course(course2).build(),
+                Enrollment.builder().student(student2).course(course1).build(),
+                Enrollment.builder().student(student2).course(course3).build()));
 
         // 과제 생성
         Assignment assignment1 = Assignment.builder()
                 .course(course1)
                 .title("과제 제출 시스템 제작")
                 .description("학생들의 과제를 제출할 수 있는 시스템을 제작하세요.")
-                .deadline(LocalDateTime.of(2025, 10, 17, 23, 59))
+                .deadline(LocalDate.now().plusDays(7).atTime(23, 59)) // 제출을 받고 있는 과제 (실행 시점 기준 일주일 뒤 마감)
                 .attachmentUrl("/files/download/test.txt")
                 .build();
 
@@ -205,10 +181,7 @@ public class DataInitializationConfig implements ApplicationRunner {
                 .deadline(LocalDateTime.of(2025, 1, 5, 23, 59))
                 .build();
 
-        assignmentRepository.save(assignment1);
-        assignmentRepository.save(assignment2);
-        assignmentRepository.save(assignment3);
-        assignmentRepository.save(assignment4);
+        assignmentRepository.saveAll(List.of(assignment1, assignment2, assignment3, assignment4));
 
         // 제출물 생성
         Submission submission1 = Submission.builder()
@@ -239,9 +212,7 @@ public class DataInitializationConfig implements ApplicationRunner {
                 .isGraded(Boolean.FALSE) // 임시 채점 상태
                 .build();
 
-        submissionRepository.save(submission1);
-        submissionRepository.save(submission2);
-        submissionRepository.save(submission3);
+        submissionRepository.saveAll(List.of(submission1, submission2, submission3));
 
         log.info("===================================");
         log.info("테스트용 초기 데이터가 로딩되었습니다!");
@@ -0,0 +1,578 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.FileBlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * 부하/용량 테스트용 대량 데이터 생성 (datagen 프로파일)
+ * 교수, 학생, 과목, 수강신청, 과제, 제출물(파일 포함)을 엔티티를 거치지 않고 JDBC 배치 INSERT 로 여러 스레드에서 나눠 넣는다.
+ * - 같은 seed 와 설정이면 빈 DB 에서 항상 같은 데이터(ID 포함)가 만들어진다. 과목/파일마다 seed 에서 파생한 난수를 쓰므로 스레드 수와 무관하다.
+ *   마감일은 실행한 날 자정을 기준으로 잡아 마감 전/후 과제의 비율이 언제 돌려도 같다.
+ * - ID 는 엔티티와 같은 시퀀스에서 allocationSize(50) 단위로 받으므로 이후 JPA 로 저장하는 행과 겹치지 않는다.
+ * - 파일 본문은 datagen.file-pool-size 개만 업로드 디렉토리의 blobs 에 쓰고, 제출물마다 파일명(StoredFile)을 따로 두어 참조 수 규칙을 지킨다.
+ * - 과목 집계는 준비 완료 후 CourseCounterReconciler 가, 마감 인덱스는 준비 완료 시 DeadlineIndex 가 다시 만들고, 학생 대시보드는 첫 조회 때 만들어진다.
+ * 실행: gradle bootRun --args='--spring.profiles.active=datagen' (규모는 application-datagen.properties)
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE) // 기본 계정(DataInitializationConfig)을 만든 뒤 실행
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestDataGenerator implements ApplicationRunner {
+
+    // 엔티티의 @SequenceGenerator(allocationSize = 50) 와 같아야 한다
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final String DOWNLOAD_URL_PREFIX = "/files/download/";
+    private static final String[] SUBJECTS = {
+            "자료구조", "운영체제", "컴퓨터네트워크", "데이터베이스", "웹 프로그래밍", "알고리즘",
+            "소프트웨어공학", "인공지능", "클라우드 컴퓨팅", "정보보안", "모바일 프로그래밍", "컴퓨터구조"};
+
+    // 난수 흐름 구분용 (같은 seed 라도 용도마다 다른 난수를 쓴다)
+    private static final long COURSE_STREAM = 0x9E3779B97F4A7C15L;
+    private static final long FILE_STREAM = 0xC2B2AE3D27D4EB4FL;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final FileBlobStore fileBlobStore;
+
+    @Value("${datagen.seed:20250101}")
+    private long seed;
+
+    @Value("${datagen.professors:200}")
+    private int professorCount;
+
+    @Value("${datagen.students:24000}")
+    private int studentCount;
+
+    @Value("${datagen.courses:1500}")
+    private int courseCount;
+
+    @Value("${datagen.courses-per-student-min:4}")
+    private int minCoursesPerStudent;
+
+    @Value("${datagen.courses-per-student-max:8}")
+    private int maxCoursesPerStudent;
+
+    @Value("${datagen.course-popularity-skew:1.5}")
+    private double popularitySkew;
+
+    @Value("${datagen.assignments-per-course:10}")
+    private int assignmentsPerCourse;
+
+    @Value("${datagen.deadline-past-days:150}")
+    private int deadlinePastDays;
+
+    @Value("${datagen.deadline-future-days:30}")
+    private int deadlineFutureDays;
+
+    @Value("${datagen.submit-rate:0.8}")
+    private double submitRate;
+
+    @Value("${datagen.open-submit-rate:0.3}")
+    private double openSubmitRate;
+
+    @Value("${datagen.graded-rate:0.7}")
+    private double gradedRate;
+
+    @Value("${datagen.file-pool-size:100}")
+    private int filePoolSize;
+
+    @Value("${datagen.file-size-median:300KB}")
+    private DataSize fileSizeMedian;
+
+    @Value("${datagen.file-size-max:5MB}")
+    private DataSize fileSizeMax;
+
+    @Value("${datagen.threads:4}")
+    private int threads;
+
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long generated = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Long.class,
+                professorEmail(0));
+        if (generated != null && generated > 0) {
+            log.info("대량 데이터가 이미 생성되어 있어 건너뜁니다.");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        log.info("대량 데이터 생성 시작: seed={}, 교수 {}, 학생 {}, 과목 {}, 과목당 과제 {}, 스레드 {}",
+                seed, professorCount, studentCount, courseCount, assignmentsPerCourse, threads);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("datagen-", 0).factory())) {
+            Plan plan = plan();
+            insertUsers(pool, plan);
+            insertCourses(pool, plan);
+            insertEnrollments(pool, plan);
+            insertAssignments(pool, plan);
+            insertFiles(pool, plan);
+            long submissions = insertSubmissions(pool, plan);
+
+            // JDBC 로 넣은 행은 2차 캐시/쿼리 캐시가 모르므로 비운다
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+            log.info("대량 데이터 생성 완료: 사용자 {}, 과목 {}, 수강신청 {}, 과제 {}, 제출물 {}, 파일 본문 {} ({}ms)",
+                    plan.userIds.count, courseCount, plan.enrollmentIds.count, plan.assignmentIds.count,
+                    submissions, filePoolSize, System.currentTimeMillis() - start);
+        }
+    }
+
+    // 수강신청까지의 구성 (하나의 난수로 차례대로 정하고, 이후 단계는 이 배열만 읽는다)
+    private Plan plan() {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime baseTime = LocalDate.now().atStartOfDay();
+        Plan plan = new Plan(baseTime);
+
+        plan.userIds = reserveIds("users_seq", professorCount + studentCount);
+        plan.courseIds = reserveIds("courses_seq", courseCount);
+        plan.assignmentIds = reserveIds("assignments_seq", courseCount * assignmentsPerCourse);
+
+        plan.courseProfessor = new int[courseCount];
+        plan.courseCreatedAt = new LocalDateTime[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            plan.courseProfessor[c] = random.nextInt(professorCount);
+            plan.courseCreatedAt[c] = baseTime.minusDays(deadlinePastDays + 14 + random.nextInt(180));
+        }
+
+        // 학생마다 인기 과목에 몰리도록 치우친 분포로 서로 다른 과목을 고른다
+        int[] courseCounts = new int[courseCount];
+        int[][] studentCourses = new int[studentCount][];
+        int enrollmentCount = 0;
+        int maxPerStudent = Math.min(maxCoursesPerStudent, courseCount);
+        int minPerStudent = Math.min(minCoursesPerStudent, maxPerStudent);
+        for (int s = 0; s < studentCount; s++) {
+            int count = random.nextInt(minPerStudent, maxPerStudent + 1);
+            Set<Integer> courses = new TreeSet<>();
+            while (courses.size() < count) {
+                courses.add((int) (Math.pow(random.nextDouble(), popularitySkew) * courseCount));
+            }
+            int[] chosen = courses.stream().mapToInt(Integer::intValue).toArray();
+            studentCourses[s] = chosen;
+            for (int c : chosen) {
+                courseCounts[c]++;
+            }
+            enrollmentCount += chosen.length;
+        }
+
+        // 과목별 수강생 목록 (과목 c 의 수강생은 courseStudents[courseStart[c] .. courseStart[c + 1]))
+        plan.courseStart = new int[courseCount + 1];
+        for (int c = 0; c < courseCount; c++) {
+            plan.courseStart[c + 1] = plan.courseStart[c] + courseCounts[c];
+        }
+        plan.courseStudents = new int[enrollmentCount];
+        int[] next = plan.courseStart.clone();
+        for (int s = 0; s < studentCount; s++) {
+            for (int c : studentCourses[s]) {
+                plan.courseStudents[next[c]++] = s;
+            }
+        }
+        plan.enrollmentIds = reserveIds("enrollments_seq", enrollmentCount);
+
+        plan.deadlines = new LocalDateTime[courseCount * assignmentsPerCourse];
+        for (int c = 0; c < courseCount; c++) {
+            SplittableRandom courseRandom = random(COURSE_STREAM, c);
+            for (int j = 0; j < assignmentsPerCourse; j++) {
+                int day = courseRandom.nextInt(-deadlinePastDays, deadlineFutureDays + 1);
+                plan.deadlines[c * assignmentsPerCourse + j] = baseTime.plusDays(day).withHour(23).withMinute(59);
+            }
+        }
+        return plan;
+    }
+
+    private void insertUsers(ExecutorService pool, Plan plan) {
+        LocalDateTime createdAt = plan.baseTime.minusDays(deadlinePastDays + 200);
+        insertInChunks(pool, "users",
+                "INSERT INTO users (id, name, email, password, role, account_status, approved_at, created_at, status_reason) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                plan.userIds.count,
+                u -> {
+                    boolean professor = u < professorCount;
+                    return new Object[]{
+                            plan.userIds.id(u),
+                            professor ? String.format("교수%04d", u) : String.format("학생%06d", u - professorCount),
+                            professor ? professorEmail(u) : studentEmail(u - professorCount),
+                            "password123",
+                            professor ? "PROFESSOR" : "STUDENT",
+                            "APPROVED",
+                            createdAt,
+                            createdAt.plusMinutes(u),
+                            "대량 데이터 생성"};
+                });
+    }
+
+    private void insertCourses(ExecutorService pool, Plan plan) {
+        insertInChunks(pool, "courses",
+                "INSERT INTO courses (course_id, name, code, professor_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                courseCount,
+                c -> new Object[]{
+                        plan.courseIds.id(c),
+                        SUBJECTS[c % SUBJECTS.length] + " " + (c / SUBJECTS.length + 1) + "분반",
+                        String.format("GEN%05d", c),
+                        plan.userIds.id(plan.courseProfessor[c]),
+                        plan.courseCreatedAt[c]});
+    }
+
+    private void insertEnrollments(ExecutorService pool, Plan plan) {
+        int[] enrollmentCourse = new int[plan.courseStudents.length];
+        for (int c = 0; c < courseCount; c++) {
+            for (int e = plan.courseStart[c]; e < plan.courseStart[c + 1]; e++) {
+                enrollmentCourse[e] = c;
+            }
+        }
+        insertInChunks(pool, "enrollments",
+                "INSERT INTO enrollments (enrollment_id, student_id, course_id, enrolled_at) VALUES (?, ?, ?, ?)",
+                plan.enrollmentIds.count,
+                e -> {
+                    int course = enrollmentCourse[e];
+                    int student = plan.courseStudents[e];
+                    return new Object[]{
+                            plan.enrollmentIds.id(e),
+                            plan.userIds.id(professorCount + student),
+                            plan.courseIds.id(course),
+                            plan.courseCreatedAt[course].plusDays(1 + student % 14)};
+                });
+    }
+
+    private void insertAssignments(ExecutorService pool, Plan plan) {
+        insertInChunks(pool, "assignments",
+                "INSERT INTO assignments (assignment_id, course_id, title, description, deadline, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                plan.assignmentIds.count,
+                a -> {
+                    int course = a / assignmentsPerCourse;
+                    int number = a % assignmentsPerCourse + 1;
+                    return new Object[]{
+                            plan.assignmentIds.id(a),
+                            plan.courseIds.id(course),
+                            "과제 " + number,
+                            SUBJECTS[course % SUBJECTS.length] + " " + number + "번째 과제입니다. 보고서와 소스 코드를 제출하세요.",
+                            plan.deadlines[a],
+                            plan.deadlines[a].minusDays(14)};
+                });
+    }
+
+    // 파일 본문을 쓰고 참조 수 0 으로 등록 (제출물을 넣은 뒤 참조 수를 채운다)
+    private void insertFiles(ExecutorService pool, Plan plan) {
+        plan.fileHashes = new String[filePoolSize];
+        plan.fileSizes = new long[filePoolSize];
+        long[] crcs = new long[filePoolSize];
+
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < filePoolSize; i++) {
+            int index = i;
+            tasks.add(pool.submit(() -> {
+                SplittableRandom random = random(FILE_STREAM, index);
+                // 로그 정규분포 크기 (중앙값 file-size-median, 최대 file-size-max)
+                double size = fileSizeMedian.toBytes() * Math.exp(0.8 * gaussian(random));
+                long bytes = Math.max(4 * 1024, Math.min(fileSizeMax.toBytes(), (long) size));
+                writeFile(random, bytes, index, plan.fileHashes, crcs);
+                plan.fileSizes[index] = bytes;
+            }));
+        }
+        await(tasks);
+
+        insertInChunks(pool, "file_blobs",
+                "INSERT INTO file_blobs (hash, size, crc32, reference_count, created_at) VALUES (?, ?, ?, 0, ?)",
+                filePoolSize,
+                i -> new Object[]{plan.fileHashes[i], plan.fileSizes[i], crcs[i], plan.baseTime});
+    }
+
+    private void writeFile(SplittableRandom random, long size, int index, String[] hashes, long[] crcs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            CRC32 crc = new CRC32();
+            Path temp = Files.createTempFile("datagen-", ".part");
+            byte[] buffer = new byte[64 * 1024];
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                for (long written = 0; written < size; written += buffer.length) {
+                    int length = (int) Math.min(buffer.length, size - written);
+                    random.nextBytes(buffer);
+                    digest.update(buffer, 0, length);
+                    crc.update(buffer, 0, length);
+                    out.write(buffer, 0, length);
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = fileBlobStore.blobPath(hash);
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            hashes[index] = hash;
+            crcs[index] = crc.getValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 제출물과 파일명 등록
+     * 과목마다 제출물 수를 먼저 센 뒤(같은 난수로 한 번 더 생성) 과목 순서대로 ID 를 나눠 주므로, 스레드가 과목을 처리하는 순서와 무관하게 ID 가 정해진다.
+     */
+    private long insertSubmissions(ExecutorService pool, Plan plan) {
+        long start = System.currentTimeMillis();
+        int[] submissionStart = new int[courseCount + 1];
+        for (int c = 0; c < courseCount; c++) {
+            int[] count = {0};
+            forEachSubmission(plan, c, row -> count[0]++);
+            submissionStart[c + 1] = submissionStart[c] + count[0];
+        }
+        IdBlocks submissionIds = reserveIds("submissions_seq", submissionStart[courseCount]);
+        AtomicLongArray references = new AtomicLongArray(filePoolSize);
+
+        String submissionSql = "INSERT INTO submissions (submission_id, assignment_id, student_id, file_url, grade, feedback, " +
+                "is_graded, graded_at, submitted_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        String storedFileSql = "INSERT INTO stored_files (file_name, blob_hash, original_filename, created_at) VALUES (?, ?, ?, ?)";
+
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            int course = c;
+            tasks.add(pool.submit(() -> {
+                List<Object[]> submissions = new ArrayList<>(batchSize);
+                List<Object[]> storedFiles = new ArrayList<>(batchSize);
+                int[] ordinal = {submissionStart[course]};
+                forEachSubmission(plan, course, row -> {
+                    long submissionId = submissionIds.id(ordinal[0]++);
+                    String fileName = "datagen_" + submissionId + ".pdf";
+                    storedFiles.add(new Object[]{fileName, plan.fileHashes[row.file],
+                            "과제_" + submissionId + ".pdf", row.submittedAt});
+                    submissions.add(new Object[]{submissionId, plan.assignmentIds.id(row.assignment),
+                            plan.userIds.id(professorCount + row.student), DOWNLOAD_URL_PREFIX + fileName,
+                            row.grade, row.grade != null ? "자동 생성 평가" : null, row.grade != null,
+                            row.gradedAt, row.submittedAt, row.gradedAt != null ? row.gradedAt : row.submittedAt});
+                    references.incrementAndGet(row.file);
+                    if (submissions.size() == batchSize) {
+                        insertBatch(storedFileSql, storedFiles, submissionSql, submissions);
+                    }
+                });
+                insertBatch(storedFileSql, storedFiles, submissionSql, submissions);
+            }));
+        }
+        await(tasks);
+
+        List<Object[]> referenceCounts = new ArrayList<>();
+        for (int i = 0; i < filePoolSize; i++) {
+            referenceCounts.add(new Object[]{references.get(i), plan.fileHashes[i]});
+        }
+        transactionTemplate().executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "UPDATE file_blobs SET reference_count = reference_count + ? WHERE hash = ?", referenceCounts));
+
+        log.info("submissions: {}건 ({}ms)", submissionIds.count, System.currentTimeMillis() - start);
+        return submissionIds.count;
+    }
+
+    private void insertBatch(String storedFileSql, List<Object[]> storedFiles, String submissionSql, List<Object[]> submissions) {
+        if (submissions.isEmpty()) {
+            return;
+        }
+        transactionTemplate().executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(storedFileSql, storedFiles);
+            jdbcTemplate.batchUpdate(submissionSql, submissions);
+        });
+        storedFiles.clear();
+        submissions.clear();
+    }
+
+    // 과목 하나의 제출물 (수강생 x 과제, 과목별 난수로 제출 여부/시각/평가를 정한다)
+    private void forEachSubmission(Plan plan, int course, Consumer<SubmissionRow> consumer) {
+        SplittableRandom random = random(COURSE_STREAM ^ FILE_STREAM, course);
+        for (int e = plan.courseStart[course]; e < plan.courseStart[course + 1]; e++) {
+            int student = plan.courseStudents[e];
+            for (int j = 0; j < assignmentsPerCourse; j++) {
+                int assignment = course * assignmentsPerCourse + j;
+                LocalDateTime deadline = plan.deadlines[assignment];
+                boolean open = deadline.isAfter(plan.baseTime);
+                if (random.nextDouble() >= (open ? openSubmitRate : submitRate)) {
+                    continue;
+                }
+
+                LocalDateTime submittedAt = deadline.minusMinutes(random.nextInt(7 * 24 * 60));
+                if (submittedAt.isAfter(plan.baseTime)) {
+                    submittedAt = plan.baseTime.minusMinutes(1 + random.nextInt(24 * 60));
+                }
+                BigDecimal grade = null;
+                LocalDateTime gradedAt = null;
+                if (!open && random.nextDouble() < gradedRate) {
+                    grade = BigDecimal.valueOf(5000 + random.nextInt(5001), 2);
+                    gradedAt = deadline.plusMinutes(random.nextInt(24 * 60, 5 * 24 * 60));
+                    if (gradedAt.isAfter(plan.baseTime)) {
+                        gradedAt = plan.baseTime;
+                    }
+                }
+                consumer.accept(new SubmissionRow(assignment, student, submittedAt, grade, gradedAt,
+                        random.nextInt(filePoolSize)));
+            }
+        }
+    }
+
+    // 행 번호 구간을 batch-size 단위로 나눠 여러 스레드에서 넣는다 (조각마다 한 트랜잭션)
+    private void insertInChunks(ExecutorService pool, String table, String sql, int total, IntFunction<Object[]> row) {
+        long start = System.currentTimeMillis();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int from = 0; from < total; from += batchSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(total, from + batchSize);
+            tasks.add(pool.submit(() -> {
+                List<Object[]> rows = new ArrayList<>(chunkEnd - chunkStart);
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    rows.add(row.apply(i));
+                }
+                transactionTemplate().executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            }));
+        }
+        await(tasks);
+        log.info("{}: {}건 ({}ms)", table, total, System.currentTimeMillis() - start);
+    }
+
+    private void await(List<Future<?>> tasks) {
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("대량 데이터 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("대량 데이터 생성 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    /**
+     * 시퀀스에서 count 개의 ID 를 예약
+     * 시퀀스 값 하나가 ID 50개 [값 - 49, 값] 을 뜻하므로 (Hibernate pooled 방식) 50개마다 한 번씩 다음 값을 받는다.
+     */
+    private IdBlocks reserveIds(String sequence, int count) {
+        String nextValue = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect().getSequenceSupport().getSequenceNextValString(sequence);
+        long[] blocks = new long[(count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE];
+        for (int i = 0; i < blocks.length; i++) {
+            long value = jdbcTemplate.queryForObject(nextValue, Long.class);
+            // 시퀀스의 첫 값(1)은 0 이하 ID 를 뜻하므로 버린다
+            while (value < ID_BLOCK_SIZE) {
+                value = jdbcTemplate.queryForObject(nextValue, Long.class);
+            }
+            blocks[i] = value - ID_BLOCK_SIZE + 1;
+        }
+        return new IdBlocks(blocks, count);
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private SplittableRandom random(long stream, int index) {
+        return new SplittableRandom(seed ^ (stream * (index + 1)));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller (SplittableRandom 은 정규분포를 제공하지 않음)
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static String professorEmail(int index) {
+        return String.format("datagen-prof-%05d@kopo.ac.kr", index);
+    }
+
+    private static String studentEmail(int index) {
+        return String.format("datagen-student-%06d@kopo.ac.kr", index);
+    }
+
+    private static class Plan {
+        private final LocalDateTime baseTime;
+        private IdBlocks userIds;
+        private IdBlocks courseIds;
+        private IdBlocks enrollmentIds;
+        private IdBlocks assignmentIds;
+        private int[] courseProfessor;
+        private LocalDateTime[] courseCreatedAt;
+        private int[] courseStart;
+        private int[] courseStudents;
+        private LocalDateTime[] deadlines;
+        private String[] fileHashes;
+        private long[] fileSizes;
+
+        Plan(LocalDateTime baseTime) {
+            this.baseTime = baseTime;
+        }
+    }
+
+    // 예약한 ID - 행 번호 i 의 ID 는 blocks[i / 50] + i % 50
+    private static class IdBlocks {
+        private final long[] blocks;
+        private final int count;
+
+        IdBlocks(long[] blocks, int count) {
+            this.blocks = blocks;
+            this.count = count;
+        }
+
+        long id(int ordinal) {
+            return blocks[ordinal / ID_BLOCK_SIZE] + ordinal % ID_BLOCK_SIZE;
+        }
+    }
+
+    private static class SubmissionRow {
+        private final int assignment;
+        private final int student;
+        private final LocalDateTime submittedAt;
+        private final BigDecimal grade;
+        private final LocalDateTime gradedAt;
+        private final int file;
+
+        SubmissionRow(int assignment, int student, LocalDateTime submittedAt, BigDecimal grade,
+                      LocalDateTime gradedAt, int file) {
+            this.assignment = assignment;
+            this.student = student;
+            this.submittedAt = submittedAt;
+            this.grade = grade;
+            this.gradedAt = gradedAt;
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 지표 설정
+ * - 화면(컨트롤러 매핑)별 응답 시간은 스프링이 http.server.requests 로 기록한다 (uri 태그가 매핑 경로)
+ * - 서비스 메소드는 @Timed 로 기록한다 (태그: class, method, exception)
+ * - DB 커넥션 풀(hikaricp.*), Hibernate 통계(hibernate.*)는 자동 등록되며, 모두 /actuator/prometheus 로 수집한다
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * 요청 도착 시각 기록
+ * 세션 로딩, 업로드 입장 대기, 본문 수신보다 먼저 실행되어 요청이 서버에 도착한 시각을 남긴다.
+ * 마감 판정은 이 시각을 기준으로 하므로 마감 직전에 제출한 학생이 서버 대기 시간 때문에 마감을 놓치지 않는다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestArrivalFilter extends OncePerRequestFilter {
+
+    private static final String ARRIVED_AT_ATTRIBUTE = RequestArrivalFilter.class.getName() + ".arrivedAt";
+
+    /**
+     * 요청 도착 시각 (필터를 거치지 않은 요청이면 현재 시각)
+     */
+    public static LocalDateTime arrivedAt(HttpServletRequest request) {
+        if (request.getAttribute(ARRIVED_AT_ATTRIBUTE) instanceof LocalDateTime arrivedAt) {
+            return arrivedAt;
+        }
+        return LocalDateTime.now();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(ARRIVED_AT_ATTRIBUTE, LocalDateTime.now());
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,14 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업 설정
+ * 마감 타이머, SSE 연결 확인, 만료된 분할 업로드 정리, 집계 재검사는 모두 스프링이 만드는 TaskScheduler 하나에서 실행한다.
+ * (가상 스레드 모드에서는 작업마다 가상 스레드로 실행, 스레드 이름은 spring.task.scheduling.thread-name-prefix)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,26 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+/**
+ * JDBC 세션 저장소 설정
+ * 같은 세션의 요청 두 개가 동시에 새 속성(예: 리다이렉트 플래시 메시지)을 추가하면 기본 INSERT 는 키 중복으로 실패하므로,
+ * 이미 있으면 덮어쓰도록 H2 의 MERGE 로 바꾼다. (제출 버튼을 두 번 누른 경우 등)
+ */
+@Configuration
+public class SessionConfig {
+
+    private static final String CREATE_SESSION_ATTRIBUTE_QUERY = """
+            MERGE INTO %TABLE_NAME%_ATTRIBUTES (SESSION_PRIMARY_ID, ATTRIBUTE_NAME, ATTRIBUTE_BYTES)
+            KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME)
+            VALUES (?, ?, ?)
+            """;
+
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> sessionAttributeUpsertCustomizer() {
+        return sessionRepository -> sessionRepository.setCreateSessionAttributeQuery(CREATE_SESSION_ATTRIBUTE_QUERY);
+    }
+}
@@ -0,0 +1,136 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.ChunkedUploadService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.DeadlineIndex;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.UploadAdmissionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 업로드 요청 입장 제어
+ * 컨트롤러가 요청 본문을 읽기 전에 UploadAdmissionService 의 입장권을 받고, 요청 처리가 끝나면 반납한다.
+ * 입장하지 못하면 본문을 읽지 않고 503 + Retry-After 로 응답한다. (적용 경로는 WebConfig 참고)
+ * 과제 제출과 분할 업로드 조각은 대상 과제의 마감 시각을 함께 넘겨 마감이 임박한 업로드가 먼저 입장하게 한다.
+ * (마감 시각은 DeadlineIndex 에서 읽으므로 업로드마다 DB 를 조회하지 않는다)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = UploadAdmissionInterceptor.class.getName() + ".permit";
+    private static final String REJECTED_MESSAGE = "업로드 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
+    private final UploadAdmissionService uploadAdmissionService;
+    private final DeadlineIndex deadlineIndex;
+    private final ChunkedUploadService chunkedUploadService;
+    private final ITemplateEngine templateEngine;
+
+    @Value("${spring.servlet.multipart.max-request-size:100MB}")
+    private DataSize maxRequestSize;
+
+    @Value("${file.upload.admission.retry-after:15s}")
+    private Duration retryAfter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!"POST".equals(request.getMethod()) && !"PUT".equals(request.getMethod())) {
+            return true;
+        }
+
+        // 길이를 알 수 없는 요청(chunked 전송)은 허용되는 최대 크기로 계산
+        long contentLength = request.getContentLengthLong();
+        long bytes = contentLength >= 0 ? contentLength : maxRequestSize.toBytes();
+
+        Optional<UploadAdmissionService.Permit> permit =
+                uploadAdmissionService.tryAcquire(userKey(request), bytes, deadline(request));
+        if (permit.isEmpty()) {
+            reject(request, response);
+            return false;
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, permit.get());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof UploadAdmissionService.Permit permit) {
+            permit.close();
+        }
+    }
+
+    // 로그인 사용자 단위로 대기열을 나눈다 (세션이 없으면 컨트롤러가 로그인 화면으로 보내므로 한 대기열로 묶음)
+    private String userKey(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute("user") instanceof User user) {
+            return String.valueOf(user.getId());
+        }
+        return "anonymous";
+    }
+
+    // 업로드 대상 과제의 마감 시각 - 경로의 과제 ID 나 분할 업로드 세션으로 찾는다 (과제 첨부파일 등록, 마감된 과제 등은 없음)
+    private LocalDateTime deadline(HttpServletRequest request) {
+        if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)
+                || !request.getRequestURI().startsWith(request.getContextPath() + "/student/")) {
+            return null;
+        }
+
+        try {
+            Optional<Long> assignmentId = variables.get("uploadId") instanceof String uploadId
+                    ? chunkedUploadService.findAssignmentId(uploadId)
+                    : Optional.ofNullable((String) variables.get("assignmentId")).map(Long::valueOf);
+            return assignmentId.flatMap(deadlineIndex::findOpen).map(AssignmentDeadline::getDeadline).orElse(null);
+        } catch (NumberFormatException e) {
+            // 잘못된 과제 ID 는 컨트롤러가 처리하도록 우선순위 없이 입장시킨다
+            log.debug("업로드 대상 과제 마감 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // 화면에서 보낸 폼 제출이면 안내 문구를, 스크립트 요청(분할 업로드)이면 JSON 을 돌려준다
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.TEXT_HTML_VALUE)) {
+            response.setContentType(MediaType.TEXT_HTML_VALUE);
+            WebContext context = new WebContext(JakartaServletWebApplication
+                    .buildApplication(request.getServletContext())
+                    .buildExchange(request, response), Locale.KOREAN);
+            context.setVariable("message", REJECTED_MESSAGE);
+            context.setVariable("retryAfterSeconds", retryAfterSeconds);
+            templateEngine.process("error/upload_busy", context, response.getWriter());
+        } else {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"" + REJECTED_MESSAGE + "\"}");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UploadAdmissionInterceptor uploadAdmissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 요청 동안 EntityManager 를 열어 두어 화면에서 지연 로딩을 허용한다 (spring.jpa.open-in-view 대신 직접 등록)
+        // 실시간 알림(SSE)은 연결이 끝날 때까지 요청이 열려 있으므로 제외한다 - 포함하면 세션 조회에 쓴 DB 연결을 연결 내내 붙잡는다
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns("/student/notifications");
+
+        // 파일 본문을 받는 요청 (과제 제출, 분할 업로드 조각, 과제 첨부파일 등록/수정)
+        registry.addInterceptor(uploadAdmissionInterceptor)
+                .addPathPatterns(
+                        "/student/assignment/*/submit",
+                        "/student/uploads/*/chunks/*",
+                        "/professor/course/*/assignment/new",
+                        "/professor/assignment/*/edit");
+    }
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    // Expect: 100-continue 응답을 본문을 읽기 시작할 때 보낸다 - 입장이 거절된 클라이언트는 본문을 보내지 않고 503 을 받음
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> continueResponseTimingCustomizer() {
+        return factory -> factory.addConnectorCustomizers(
+                connector -> connector.setProperty("continueResponseTiming", "onRead"));
+    }
+}
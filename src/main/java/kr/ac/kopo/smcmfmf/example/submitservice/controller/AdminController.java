@@ -4,10 +4,6 @@ import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +19,9 @@ import java.util.List;
 @Slf4j
 public class AdminController {
 
+    // 사용자 목록 한 페이지 최대 크기
+    private static final int MAX_USER_PAGE_SIZE = 100;
+
     private final UserService userService;
 
     // 관리자 권한 확인 헬퍼 메서드
@@ -76,29 +75,30 @@ public class AdminController {
     }
 
     @GetMapping("/users")
-    public String listUsers(@RequestParam(defaultValue = "0") int page,
+    public String listUsers(@RequestParam(required = false) String cursor,
                             @RequestParam(defaultValue = "10") int size,
                             @RequestParam(defaultValue = "ALL") String status,
                             @RequestParam(defaultValue = "ALL") String role,
+                            @RequestParam(defaultValue = "false") boolean count,
                             HttpSession session,
                             Model model) {
 
-        log.debug("사용자 목록 조회 요청: page={}, size={}, status={}, role={}", page, size, status, role);
+        log.debug("사용자 목록 조회 요청: cursor={}, size={}, status={}, role={}, count={}", cursor, size, status, role, count);
 
         String redirect = checkAdminAuthAndRedirect(session);
         if (redirect != null) return redirect;
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<User> users = userService.findUsersWithFilters(status, role, pageable);
+        int pageSize = Math.max(1, Math.min(size, MAX_USER_PAGE_SIZE));
+        UserService.UserListPage users = userService.findUsersWithFilters(status, role, cursor, pageSize, count);
 
         model.addAttribute("users", users);
+        model.addAttribute("pageSize", pageSize);
         model.addAttribute("currentStatus", status);
         model.addAttribute("currentRole", role);
         model.addAttribute("statuses", User.AccountStatus.values());
         model.addAttribute("roles", User.Role.values());
 
-        log.debug("사용자 목록 로드 완료: 총 {} 페이지 중 {} 페이지, {} 건",
-                users.getTotalPages(), page + 1, users.getContent().size());
+        log.debug("사용자 목록 로드 완료: {} 건, 다음 페이지={}", users.getUsers().size(), users.getNextCursor() != null);
 
         return "admin/user_list";
     }
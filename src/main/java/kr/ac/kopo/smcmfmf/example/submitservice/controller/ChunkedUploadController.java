@@ -0,0 +1,131 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import kr.ac.kopo.smcmfmf.example.submitservice.config.RequestArrivalFilter;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.AssignmentService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.ChunkedUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 이어받기 가능한 분할 업로드 API (학생 과제 제출용)
+ * POST   /student/uploads                        업로드 시작 (assignmentId, fileName, fileSize)
+ * GET    /student/uploads/{uploadId}             받은 구간 조회
+ * PUT    /student/uploads/{uploadId}/chunks/{n}  n 번째 조각 전송 (요청 본문 = 조각 내용)
+ * POST   /student/uploads/{uploadId}/complete    업로드 완료 및 제출
+ * DELETE /student/uploads/{uploadId}             업로드 취소
+ */
+@RestController
+@RequestMapping("/student/uploads")
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final AssignmentService assignmentService;
+
+    @PostMapping
+    public ResponseEntity<?> start(@RequestParam Long assignmentId,
+                                   @RequestParam String fileName,
+                                   @RequestParam long fileSize,
+                                   HttpServletRequest request,
+                                   HttpSession session) throws IOException {
+        User student = getStudent(session);
+        if (student == null) return unauthorized();
+
+        Assignment assignment = assignmentService.getAssignmentById(assignmentId);
+        ChunkedUploadService.UploadStatus status = chunkedUploadService.start(assignment, student, fileName, fileSize,
+                RequestArrivalFilter.arrivedAt(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(status);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> status(@PathVariable String uploadId, HttpSession session) {
+        User student = getStudent(session);
+        if (student == null) return unauthorized();
+
+        return ResponseEntity.ok(chunkedUploadService.getStatus(uploadId, student));
+    }
+
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @PathVariable int index,
+                                         HttpServletRequest request,
+                                         HttpSession session) throws IOException {
+        User student = getStudent(session);
+        if (student == null) return unauthorized();
+
+        return ResponseEntity.ok(chunkedUploadService.writeChunk(uploadId, student, index, request.getInputStream(),
+                RequestArrivalFilter.arrivedAt(request)));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(@PathVariable String uploadId,
+                                      @RequestParam Long assignmentId,
+                                      HttpSession session) throws IOException {
+        User student = getStudent(session);
+        if (student == null) return unauthorized();
+
+        Assignment assignment = assignmentService.getAssignmentById(assignmentId);
+        Long submissionId = chunkedUploadService.complete(uploadId, student, assignment);
+        return ResponseEntity.ok(Map.of(
+                "submissionId", submissionId,
+                "redirectUrl", "/student/course/" + assignment.getCourse().getCourseId()));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> cancel(@PathVariable String uploadId, HttpSession session) {
+        User student = getStudent(session);
+        if (student == null) return unauthorized();
+
+        chunkedUploadService.cancel(uploadId, student);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        log.warn("분할 업로드 요청 오류: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException e) {
+        log.warn("분할 업로드 처리 불가: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<Map<String, String>> handleIOException(IOException e) {
+        log.error("분할 업로드 중 오류 발생", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "파일 업로드 중 오류가 발생했습니다."));
+    }
+
+    private User getStudent(HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null || user.getRole() != User.Role.STUDENT) {
+            log.warn("권한 없는 사용자의 분할 업로드 접근 시도");
+            return null;
+        }
+        return user;
+    }
+
+    private ResponseEntity<Map<String, String>> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "로그인이 필요합니다."));
+    }
+}
@@ -1,53 +1,55 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.FileDownloadService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.FileService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Optional;
 
 @Controller
 @RequestMapping("/files")
+@RequiredArgsConstructor
 @Slf4j
 public class FileController {
 
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+    private final FileService fileService;
+    private final FileDownloadService fileDownloadService;
 
+    // 파일 다운로드 (Range 요청과 ETag 조건부 요청 지원)
     @GetMapping("/download/{filename:.+}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String filename) {
+    public void downloadFile(@PathVariable String filename,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
         try {
-            Path filePath = Paths.get(uploadDir).resolve(filename).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+            Optional<FileService.StoredDownload> download = fileService.resolveDownload(filename);
 
-            if (resource.exists() && resource.isReadable()) {
-                // 파일명을 UTF-8로 인코딩하여 한글 파일명 지원
-                String encodedFilename = URLEncoder.encode(filename, StandardCharsets.UTF_8)
-                        .replaceAll("\\+", "%20");
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .header(HttpHeaders.CONTENT_DISPOSITION,
-                                "attachment; filename=\"" + filename + "\"; filename*=UTF-8''" + encodedFilename)
-                        .body(resource);
-            } else {
+            if (download.isEmpty()) {
                 log.warn("파일을 찾을 수 없음: {}", filename);
-                return ResponseEntity.notFound().build();
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
-        } catch (Exception e) {
+
+            // 저장소에 등록된 파일은 내용 해시를 ETag 로 사용
+            Path filePath = download.get().getPath();
+            String contentHash = download.get().getContentHash();
+            String etag = contentHash != null
+                    ? "\"" + contentHash + "\""
+                    : fileDownloadService.strongETag(filePath);
+            fileDownloadService.sendFile(filePath, filename, etag, request, response);
+        } catch (IOException e) {
             log.error("파일 다운로드 중 오류 발생: {}", filename, e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import jakarta.servlet.http.HttpSession;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 학생 실시간 알림 API
+ * GET /student/notifications  SSE 연결 (이벤트: deadline-extended, assignment-closed, grade-released)
+ */
+@RestController
+@RequestMapping("/student/notifications")
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null || user.getRole() != User.Role.STUDENT) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok()
+                // 프록시가 이벤트를 모아서 보내지 않도록
+                .header("X-Accel-Buffering", "no")
+                .body(notificationService.subscribe(user.getId()));
+    }
+
+    // 연결 유지 시간 만료나 브라우저 쪽 연결 끊김은 정상 종료 (전역 오류 처리로 넘기지 않음)
+    @ExceptionHandler({AsyncRequestTimeoutException.class, AsyncRequestNotUsableException.class})
+    public void handleDisconnect(Exception e) {
+        log.debug("알림 연결 종료: {}", e.getMessage());
+    }
+}
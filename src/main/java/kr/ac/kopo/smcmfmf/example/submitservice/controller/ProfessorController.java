@@ -1,26 +1,34 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.SubmissionView;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.AssignmentService;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.CourseService;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.FileService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.SubmissionArchiveService;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.SubmissionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/professor")
@@ -32,6 +40,7 @@ public class ProfessorController {
     private final AssignmentService assignmentService;
     private final SubmissionService submissionService;
     private final FileService fileService;
+    private final SubmissionArchiveService submissionArchiveService;
 
     // 교수 권한 체크 헬퍼 메서드
     private String checkProfessorAuthAndRedirect(HttpSession session) {
@@ -153,34 +162,36 @@ public class ProfessorController {
         return "professor/assignment_form";
     }
 
-    // 과제 생성
+    // 과제 생성 (첨부파일은 요청 본문을 스트리밍으로 읽어 바로 저장)
     @PostMapping("/course/{courseId}/assignment/new")
     public String createAssignment(@PathVariable Long courseId,
-                                   @ModelAttribute Assignment assignment,
-                                   @RequestParam(value = "attachmentFile", required = false) MultipartFile attachmentFile,
+                                   HttpServletRequest request,
                                    HttpSession session,
                                    Model model) {
         String redirect = checkProfessorAuthAndRedirect(session);
         if (redirect != null) return redirect;
 
         User professor = (User) session.getAttribute("user");
+        Assignment assignment = new Assignment();
+        FileService.StreamedUpload upload = null;
         try {
             Course course = courseService.getCourseById(courseId);
             assignment.setCourse(course);
 
-            if (attachmentFile != null && !attachmentFile.isEmpty()) {
-                String savedFileName = fileService.saveAssignmentAttachment(
-                        attachmentFile,
-                        professor.getName(),
-                        assignment.getTitle()
-                );
-                assignment.setAttachmentUrl("/files/download/" + savedFileName);
+            upload = fileService.saveAssignmentAttachment(request, professor.getName());
+            applyAssignmentFields(assignment, upload.getFields());
+
+            if (upload.hasFile()) {
+                assignment.setAttachmentUrl("/files/download/" + upload.getSavedFileName());
             }
 
             assignmentService.createAssignment(assignment);
             return "redirect:/professor/course/" + courseId;
         } catch (Exception e) {
             log.error("과제 생성 중 오류 발생", e);
+            if (upload != null && upload.hasFile()) {
+                fileService.deleteFile(upload.getSavedFileName());
+            }
             model.addAttribute("error", "과제 생성 중 오류가 발생했습니다.");
             model.addAttribute("assignment", assignment);
             model.addAttribute("courseId", courseId);
@@ -200,42 +211,61 @@ public class ProfessorController {
         return "professor/assignment_edit_form";
     }
 
-    // 과제 수정 처리
+    // 과제 수정 처리 (첨부파일은 요청 본문을 스트리밍으로 읽어 바로 저장)
     @PostMapping("/assignment/{assignmentId}/edit")
     public String updateAssignment(@PathVariable Long assignmentId,
-                                   @ModelAttribute Assignment assignmentForm,
-                                   @RequestParam(value = "attachmentFile", required = false) MultipartFile attachmentFile,
+                                   HttpServletRequest request,
                                    HttpSession session,
                                    Model model) {
         String redirect = checkProfessorAuthAndRedirect(session);
         if (redirect != null) return redirect;
 
         User professor = (User) session.getAttribute("user");
+        Assignment assignmentForm = new Assignment();
+        FileService.StreamedUpload upload = null;
         try {
             Assignment existingAssignment = assignmentService.getAssignmentById(assignmentId);
+
+            upload = fileService.saveAssignmentAttachment(request, professor.getName());
+            applyAssignmentFields(assignmentForm, upload.getFields());
+
             existingAssignment.setTitle(assignmentForm.getTitle());
             existingAssignment.setDescription(assignmentForm.getDescription());
             existingAssignment.setDeadline(assignmentForm.getDeadline());
 
-            if (attachmentFile != null && !attachmentFile.isEmpty()) {
-                String savedFileName = fileService.saveAssignmentAttachment(
-                        attachmentFile,
-                        professor.getName(),
-                        existingAssignment.getTitle()
-                );
-                existingAssignment.setAttachmentUrl("/files/download/" + savedFileName);
+            String previousAttachmentUrl = existingAssignment.getAttachmentUrl();
+            if (upload.hasFile()) {
+                existingAssignment.setAttachmentUrl("/files/download/" + upload.getSavedFileName());
             }
 
             assignmentService.updateAssignment(existingAssignment);
+
+            // 첨부파일이 교체되었으면 이전 첨부파일의 참조를 해제
+            if (upload.hasFile()) {
+                fileService.releaseFileUrl(previousAttachmentUrl);
+            }
             return "redirect:/professor/course/" + existingAssignment.getCourse().getCourseId();
         } catch (Exception e) {
             log.error("과제 수정 중 오류 발생", e);
+            if (upload != null && upload.hasFile()) {
+                fileService.deleteFile(upload.getSavedFileName());
+            }
             model.addAttribute("error", "과제 수정 중 오류가 발생했습니다.");
             model.addAttribute("assignment", assignmentForm);
             return "professor/assignment_edit_form";
         }
     }
 
+    // 스트리밍 업로드로 받은 폼 필드를 과제에 반영
+    // (@ModelAttribute 바인딩은 multipart 본문을 먼저 읽어버리므로 직접 바인딩한다)
+    private void applyAssignmentFields(Assignment assignment, Map<String, String> fields) {
+        assignment.setTitle(fields.get("title"));
+        assignment.setDescription(fields.get("description"));
+
+        String deadline = fields.get("deadline");
+        assignment.setDeadline(deadline == null || deadline.isBlank() ? null : LocalDateTime.parse(deadline));
+    }
+
     // 과제 삭제 확인
     @GetMapping("/assignment/{assignmentId}/delete-confirm")
     public String confirmDeleteAssignment(@PathVariable Long assignmentId,
@@ -252,9 +282,8 @@ public class ProfessorController {
                 redirectAttributes.addFlashAttribute("error", "해당 과제를 삭제할 권한이 없습니다.");
                 return "redirect:/professor/dashboard";
             }
-            List<Submission> submissions = submissionService.getSubmissionsByAssignment(assignment);
             model.addAttribute("assignment", assignment);
-            model.addAttribute("submissionCount", submissions.size());
+            model.addAttribute("submissionCount", submissionService.countSubmissionsByAssignment(assignment));
             return "professor/assignment_delete";
         } catch (Exception e) {
             log.error("과제 삭제 확인 페이지 로드 중 오류", e);
@@ -326,28 +355,20 @@ public class ProfessorController {
 
         try {
             Assignment assignment = assignmentService.getAssignmentById(assignmentId);
-            List<Submission> submissions = submissionService.getSubmissionsByAssignment(assignment);
-
-            long totalSubmissions = submissions.size();
-            long gradedCount = submissions.stream().filter(s -> Boolean.TRUE.equals(s.getIsGraded())).count();
-            long tempGradedCount = submissions.stream()
-                    .filter(s -> s.getGrade() != null && !Boolean.TRUE.equals(s.getIsGraded()))
-                    .count();
-            long pendingCount = submissions.stream().filter(s -> s.getGrade() == null).count();
-            long ungradedCount = totalSubmissions - gradedCount;
-            double averageScore = submissions.stream()
-                    .filter(s -> Boolean.TRUE.equals(s.getIsGraded()) && s.getGrade() != null)
-                    .mapToDouble(s -> s.getGrade().doubleValue())
-                    .average().orElse(0.0);
+            List<SubmissionView> submissions = submissionService.getSubmissionViewsByAssignment(assignment);
+
+            SubmissionService.SubmissionStatistics statistics = submissionService.getSubmissionStatistics(assignment);
 
             model.addAttribute("assignment", assignment);
             model.addAttribute("submissions", submissions);
-            model.addAttribute("totalSubmissions", totalSubmissions);
-            model.addAttribute("gradedCount", gradedCount);
-            model.addAttribute("tempGradedCount", tempGradedCount);
-            model.addAttribute("pendingCount", pendingCount);
-            model.addAttribute("ungradedCount", ungradedCount);
-            model.addAttribute("averageScore", String.format("%.1f", averageScore));
+            model.addAttribute("statistics", statistics);
+            model.addAttribute("totalSubmissions", statistics.getTotalCount());
+            model.addAttribute("gradedCount", statistics.getGradedCount());
+            model.addAttribute("tempGradedCount", statistics.getTempGradedCount());
+            model.addAttribute("pendingCount", statistics.getPendingCount());
+            model.addAttribute("ungradedCount", statistics.getUngradedCount());
+            model.addAttribute("averageScore", String.format("%.1f",
+                    statistics.getAverageGrade() != null ? statistics.getAverageGrade() : 0.0));
 
             return "professor/submissions";
         } catch (Exception e) {
@@ -357,6 +378,41 @@ public class ProfessorController {
         }
     }
 
+    // 과제 제출물 전체를 ZIP 으로 다운로드 (임시 파일 없이 응답으로 바로 스트리밍)
+    @GetMapping("/assignment/{assignmentId}/submissions/download")
+    public void downloadAllSubmissions(@PathVariable Long assignmentId,
+                                       HttpSession session,
+                                       HttpServletResponse response) throws IOException {
+        if (checkProfessorAuthAndRedirect(session) != null) {
+            response.sendRedirect("/login?error=unauthorized");
+            return;
+        }
+
+        User professor = (User) session.getAttribute("user");
+        Assignment assignment = assignmentService.getAssignmentById(assignmentId);
+        if (!assignment.getCourse().getProfessor().getId().equals(professor.getId())) {
+            log.warn("다른 교수의 제출물 묶음 다운로드 시도: assignmentId={}, professor={}", assignmentId, professor.getName());
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        List<SubmissionArchiveService.ArchiveEntry> entries = submissionArchiveService.collectEntries(assignment);
+        String archiveName = assignment.getTitle().replaceAll("[\\\\/:*?\"<>|]", "_") + "_제출물.zip";
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(archiveName, StandardCharsets.UTF_8).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        try {
+            submissionArchiveService.writeArchive(entries, response.getOutputStream());
+        } catch (IOException e) {
+            // 응답이 이미 전송 중이므로 상태 코드를 바꿀 수 없다 (클라이언트는 불완전한 ZIP 을 받게 됨)
+            log.error("제출물 묶음 다운로드 중 오류 발생: assignmentId={}", assignmentId, e);
+            throw e;
+        }
+    }
+
     // 점수 입력 폼
     @GetMapping("/submission/{submissionId}/grade")
     public String gradeForm(@PathVariable Long submissionId, HttpSession session,
@@ -365,10 +421,10 @@ public class ProfessorController {
         if (redirect != null) return redirect;
 
         try {
-            Submission submission = submissionService.getSubmissionById(submissionId);
+            SubmissionView submission = submissionService.getSubmissionViewById(submissionId);
             if (submission.getIsGraded()) {
                 redirectAttributes.addFlashAttribute("error", "이미 평가가 완료된 과제입니다.");
-                return "redirect:/professor/assignment/" + submission.getAssignment().getAssignmentId() + "/submissions";
+                return "redirect:/professor/assignment/" + submission.getAssignmentId() + "/submissions";
             }
             model.addAttribute("submission", submission);
             return "professor/grade_form";
@@ -1,24 +1,32 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import kr.ac.kopo.smcmfmf.example.submitservice.config.RequestArrivalFilter;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.SubmissionView;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.AssignmentService;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.CourseService;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.FileService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.IdempotencyKeyService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.StudentDashboardService;
 import kr.ac.kopo.smcmfmf.example.submitservice.service.SubmissionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/student")
@@ -26,10 +34,17 @@ import java.util.Optional;
 @Slf4j
 public class StudentController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String DEADLINE_PASSED_MESSAGE = "제출 마감일이 지난 과제입니다.";
+    // 대시보드에 마감 임박으로 표시할 기준 (시간)
+    private static final int UPCOMING_DEADLINE_HOURS = 72;
+
     private final CourseService courseService;
     private final AssignmentService assignmentService;
     private final SubmissionService submissionService;
     private final FileService fileService;
+    private final IdempotencyKeyService idempotencyKeyService;
+    private final StudentDashboardService studentDashboardService;
 
     // 학생 권한 체크 헬퍼 메서드
     private String checkStudentAuthAndRedirect(HttpSession session) {
@@ -41,14 +56,23 @@ public class StudentController {
         return null; // 권한이 있으면 null 반환
     }
 
+    // 제출 폼마다 새 멱등 키 발급 - 폼 action URL 에 담겨 같은 폼의 중복 전송을 구분한다
+    private String newIdempotencyKey() {
+        return UUID.randomUUID().toString();
+    }
+
     @GetMapping("/dashboard")
     public String dashboard(HttpSession session, Model model) {
         String redirect = checkStudentAuthAndRedirect(session);
         if (redirect != null) return redirect;
 
         User student = (User) session.getAttribute("user");
-        List<Course> courses = courseService.getStudentCourses(student);
-        model.addAttribute("courses", courses);
+        // 학생별로 미리 만들어 둔 대시보드 문서를 기본 키로 한 번 읽는다 (과목, 교수, 과제 마감일, 제출/평가 상태 포함)
+        StudentDashboardService.DashboardDocument dashboard = studentDashboardService.getDashboard(student);
+        model.addAttribute("courses", dashboard.getCourses());
+        model.addAttribute("upcomingAssignments",
+                dashboard.getUpcomingAssignments(Duration.ofHours(UPCOMING_DEADLINE_HOURS)));
+        model.addAttribute("upcomingDeadlineHours", UPCOMING_DEADLINE_HOURS);
         return "student/dashboard";
     }
 
@@ -196,6 +220,7 @@ public class StudentController {
             }
 
             model.addAttribute("assignment", assignment);
+            model.addAttribute("idempotencyKey", newIdempotencyKey());
             existingSubmission.ifPresent(submission -> model.addAttribute("existingSubmission", submission));
 
             boolean canResubmit = submissionService.canResubmit(assignment, student);
@@ -209,11 +234,11 @@ public class StudentController {
         }
     }
 
-    // 과제 제출 처리
+    // 과제 제출 처리 (요청 본문을 스트리밍으로 읽어 파일을 바로 저장)
     @PostMapping("/assignment/{assignmentId}/submit")
     public String submitAssignment(@PathVariable Long assignmentId,
                                    HttpSession session,
-                                   @RequestParam("file") MultipartFile file,
+                                   HttpServletRequest request,
                                    Model model,
                                    RedirectAttributes redirectAttributes) {
         String redirect = checkStudentAuthAndRedirect(session);
@@ -221,16 +246,12 @@ public class StudentController {
 
         User student = (User) session.getAttribute("user");
         try {
-            if (file.isEmpty()) {
-                model.addAttribute("error", "파일을 선택해주세요.");
-                Assignment assignment = assignmentService.getAssignmentById(assignmentId);
-                model.addAttribute("assignment", assignment);
-                return "student/submit_form";
-            }
-
             Assignment assignment = assignmentService.getAssignmentById(assignmentId);
 
-            if (!submissionService.canResubmit(assignment, student)) {
+            // 파일을 받기 전에 재제출 가능 여부를 먼저 확인하여 불필요한 디스크 기록을 막는다
+            Optional<Submission> previousSubmission =
+                    submissionService.getSubmissionByAssignmentAndStudent(assignment, student);
+            if (previousSubmission.isPresent() && previousSubmission.get().getIsGraded()) {
                 redirectAttributes.addFlashAttribute(
                         "error",
                         "이미 평가가 완료된 과제입니다. 재제출할 수 없습니다."
@@ -238,29 +259,66 @@ public class StudentController {
                 return "redirect:/student/assignment/" + assignmentId + "/my-submission";
             }
 
-            String savedFileName = fileService.saveStudentSubmission(file, student.getName());
-            String fileUrl = "/files/download/" + savedFileName;
+            // 마감 판정은 요청 도착 시각 기준 (입장 대기와 파일 수신에 걸린 시간은 학생 책임이 아님)
+            if (!submissionService.isSubmissionAllowed(assignment, RequestArrivalFilter.arrivedAt(request))) {
+                throw new IllegalStateException(DEADLINE_PASSED_MESSAGE);
+            }
 
-            submissionService.submitAssignment(assignment, student, fileUrl);
+            // 같은 멱등 키로 다시 온 요청(더블 클릭, 재전송)은 파일을 다시 받지 않고 처음 요청의 결과를 사용한다
+            idempotencyKeyService.execute(student.getId(), "submit:" + assignmentId, resolveIdempotencyKey(request),
+                    () -> saveSubmission(request, assignment, student));
 
             redirectAttributes.addFlashAttribute("success", "과제가 성공적으로 제출되었습니다!");
             return "redirect:/student/course/" + assignment.getCourse().getCourseId();
 
         } catch (IllegalStateException e) {
             log.warn("파일 업로드 실패: {}", e.getMessage());
-            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            model.addAttribute("error", e.getMessage());
             Assignment assignment = assignmentService.getAssignmentById(assignmentId);
             model.addAttribute("assignment", assignment);
+            model.addAttribute("idempotencyKey", newIdempotencyKey());
             return "student/submit_form";
         } catch (Exception e) {
             log.error("파일 업로드 중 오류 발생", e);
             model.addAttribute("error", "파일 업로드 중 오류가 발생했습니다.");
             Assignment assignment = assignmentService.getAssignmentById(assignmentId);
             model.addAttribute("assignment", assignment);
+            model.addAttribute("idempotencyKey", newIdempotencyKey());
             return "student/submit_form";
         }
     }
 
+    // 요청 본문의 파일을 저장하고 제출 기록을 남긴다
+    private Long saveSubmission(HttpServletRequest request, Assignment assignment, User student) throws IOException {
+        FileService.StreamedUpload upload = fileService.saveStudentSubmission(request, student.getName());
+
+        if (!upload.hasFile() || upload.getSize() == 0) {
+            if (upload.hasFile()) {
+                fileService.deleteFile(upload.getSavedFileName());
+            }
+            throw new IllegalStateException("파일을 선택해주세요.");
+        }
+
+        String fileUrl = "/files/download/" + upload.getSavedFileName();
+
+        try {
+            return submissionService.submitAssignment(assignment, student, fileUrl).getSubmissionId();
+        } catch (RuntimeException e) {
+            // 제출 기록에 실패하면 방금 저장한 파일은 참조되지 않으므로 정리한다
+            fileService.deleteFile(upload.getSavedFileName());
+            throw e;
+        }
+    }
+
+    // 멱등 키는 Idempotency-Key 헤더나 쿼리 문자열에서 읽는다 (multipart 본문을 파싱하지 않도록 getParameter 는 쓰지 않음)
+    private String resolveIdempotencyKey(HttpServletRequest request) {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key != null) {
+            return key;
+        }
+        return ServletUriComponentsBuilder.fromRequest(request).build().getQueryParams().getFirst("idempotencyKey");
+    }
+
     // 내 제출물 및 점수 확인
     @GetMapping("/submissions")
     public String viewMySubmissions(HttpSession session, Model model) {
@@ -268,7 +326,7 @@ public class StudentController {
         if (redirect != null) return redirect;
 
         User student = (User) session.getAttribute("user");
-        List<Submission> submissions = submissionService.getSubmissionsByStudent(student);
+        List<SubmissionView> submissions = submissionService.getSubmissionViewsByStudent(student);
         model.addAttribute("submissions", submissions);
         return "student/my_submissions";
     }
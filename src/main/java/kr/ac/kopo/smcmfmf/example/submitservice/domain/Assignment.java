@@ -7,20 +7,30 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assignments")
+@Table(name = "assignments", indexes = {
+        // 과목별 과제 목록과 마감일 범위 조회
+        @Index(name = "idx_assignments_course_deadline", columnList = "course_id, deadline"),
+        // 마감 인덱스 적재 (마감 전/후 과제 구분)
+        @Index(name = "idx_assignments_deadline", columnList = "deadline")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "assignment")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Assignment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignments_seq")
+    @SequenceGenerator(name = "assignments_seq", sequenceName = "assignments_seq", allocationSize = 50)
     private Long assignmentId;
 
     @ManyToOne(fetch = FetchType.LAZY)
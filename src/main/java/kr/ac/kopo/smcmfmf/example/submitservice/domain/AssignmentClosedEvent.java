@@ -0,0 +1,13 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 과제 마감 이벤트 - 마감 시각이 지나는 순간 DeadlineIndex 가 발행한다
+ */
+@Getter
+@AllArgsConstructor
+public class AssignmentClosedEvent {
+    private final AssignmentDeadline assignment;
+}
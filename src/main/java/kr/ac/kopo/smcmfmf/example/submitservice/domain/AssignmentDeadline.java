@@ -0,0 +1,25 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 과제 마감 정보 (마감 인덱스에 보관하는 최소 정보)
+ * 대시보드의 마감 임박 목록은 이 정보만으로 그리므로 과제 엔티티를 읽지 않는다.
+ * (AssignmentRepository 의 find...Deadlines 쿼리에서 생성자 표현식으로 만든다)
+ */
+@Data
+@AllArgsConstructor
+public class AssignmentDeadline {
+    private Long assignmentId;
+    private Long courseId;
+    private String title;
+    private LocalDateTime deadline;
+
+    public static AssignmentDeadline of(Assignment assignment) {
+        return new AssignmentDeadline(assignment.getAssignmentId(), assignment.getCourse().getCourseId(),
+                assignment.getTitle(), assignment.getDeadline());
+    }
+}
@@ -0,0 +1,27 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 과목별 집계 (과제 수, 수강생 수, 제출물 수)
+ * 과목 삭제 확인 화면이 COUNT 쿼리 대신 기본 키 조회 한 번으로 읽는다.
+ * 값은 CourseCounterService 가 쓰기와 같은 트랜잭션에서 증감하고, 어긋난 값은 CourseCounterReconciler 가 주기적으로 다시 센다.
+ */
+@Entity
+@Table(name = "course_counters")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class CourseCounter {
+    @Id
+    private Long courseId;
+
+    @Column(nullable = false)
+    private long assignmentCount;
+
+    @Column(nullable = false)
+    private long enrollmentCount;
+
+    @Column(nullable = false)
+    private long submissionCount;
+}
@@ -0,0 +1,43 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 적용이 끝난 데이터 보정 기록
+ * 버전이 기록된 보정은 다음 기동부터 다시 실행하지 않는다. (DataMigrationService 참고)
+ * 기록은 추가만 하므로 항상 새 엔티티로 취급한다. 버전(PK)을 직접 정하기 때문에 그렇지 않으면 save 가 기존 기록을 덮어써(merge)
+ * 다른 인스턴스가 먼저 적용한 보정을 중복 키 오류로 알아챌 수 없다.
+ */
+@Entity
+@Table(name = "data_migrations")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class DataMigration implements Persistable<String> {
+    @Id
+    @Column(length = 100)
+    private String version;
+
+    @Column(nullable = false)
+    private String description;
+
+    // 보정된 행 수
+    @Column(nullable = false)
+    private int affectedRows;
+
+    @Column(nullable = false)
+    private LocalDateTime appliedAt;
+
+    @Override
+    public String getId() {
+        return version;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 과제 마감일 연장 이벤트 - AssignmentService.extendDeadline 이 발행한다 (커밋 후 수강생에게 알림)
+ */
+@Getter
+@AllArgsConstructor
+public class DeadlineExtendedEvent {
+    private final AssignmentDeadline assignment;
+    private final LocalDateTime previousDeadline;
+}
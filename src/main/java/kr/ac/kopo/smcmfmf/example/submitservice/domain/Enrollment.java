@@ -8,12 +8,16 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"student_id", "course_id"})
+}, indexes = {
+        // 과목별 수강생 조회 (학생별 조회는 위 유니크 제약의 인덱스 사용)
+        @Index(name = "idx_enrollments_course", columnList = "course_id")
 })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class Enrollment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_seq", allocationSize = 50)
     private Long enrollmentId;
 
     @ManyToOne(fetch = FetchType.LAZY)
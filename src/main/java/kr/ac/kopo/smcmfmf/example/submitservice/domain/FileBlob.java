@@ -0,0 +1,36 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 기반(SHA-256) 으로 한 번만 저장되는 파일 본문
+ * 같은 내용의 파일이 여러 번 업로드되어도 디스크에는 하나만 남고 참조 수만 늘어난다.
+ */
+@Entity
+@Table(name = "file_blobs")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class FileBlob {
+    // SHA-256 해시 (16진수 64자)
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    // CRC-32 (ZIP 묶음 다운로드 시 무압축 항목 헤더에 사용)
+    @Column(nullable = false)
+    private long crc32;
+
+    // 이 본문을 참조하는 StoredFile 수
+    @Column(nullable = false)
+    private int referenceCount;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,19 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * 평가 완료 이벤트 - SubmissionService.completeGrading 이 발행한다 (커밋 후 제출한 학생에게 알림)
+ */
+@Getter
+@AllArgsConstructor
+public class GradeReleasedEvent {
+    private final Long submissionId;
+    private final Long assignmentId;
+    private final String assignmentTitle;
+    private final Long studentId;
+    private final BigDecimal grade;
+}
@@ -0,0 +1,31 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 다운로드 URL 에 쓰이는 파일명과 실제 파일 본문(FileBlob) 의 연결
+ * Submission.fileUrl, Assignment.attachmentUrl 의 "/files/download/{fileName}" 이 이 파일명을 가리킨다.
+ */
+@Entity
+@Table(name = "stored_files")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class StoredFile {
+    @Id
+    @Column(length = 255)
+    private String fileName;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_hash", nullable = false)
+    private FileBlob blob;
+
+    @Column(length = 255)
+    private String originalFilename;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
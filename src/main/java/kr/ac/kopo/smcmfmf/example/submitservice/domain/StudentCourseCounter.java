@@ -0,0 +1,38 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 학생-과목별 집계 (제출물 수, 평가 완료된 제출물 수)
+ * 수강 철회 확인 화면이 기본 키 조회 한 번으로 읽는다. 행은 수강 신청 때 만들고 수강 철회 때 지운다.
+ */
+@Entity
+@Table(name = "student_course_counters")
+@IdClass(StudentCourseCounter.Key.class)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class StudentCourseCounter {
+    // 과목 단위 갱신(과제 삭제, 과목 삭제, 재집계)이 기본 키 앞부분으로 찾도록 과목 ID 를 먼저 둔다
+    @Id
+    private Long courseId;
+
+    @Id
+    private Long studentId;
+
+    @Column(nullable = false)
+    private long submissionCount;
+
+    @Column(nullable = false)
+    private long gradedCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long courseId;
+        private Long studentId;
+    }
+}
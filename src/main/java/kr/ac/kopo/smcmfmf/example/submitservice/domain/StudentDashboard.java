@@ -0,0 +1,32 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 학생 대시보드 읽기 모델
+ * 학생 한 명의 대시보드에 필요한 내용(수강 과목, 담당 교수, 과제 마감일, 제출/평가 상태)을 JSON 한 덩어리로 미리 만들어 두어 기본 키 조회 한 번으로 그린다.
+ * 내용은 StudentDashboardService 가 제출/평가 완료, 수강 신청이 일어날 때 같은 트랜잭션에서 고치고,
+ * 여러 학생에 걸친 변경(과제 등록/수정/삭제, 과목 삭제 등)에는 행을 지워 다음 조회 때 다시 만든다.
+ */
+@Entity
+@Table(name = "student_dashboards")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class StudentDashboard {
+    @Id
+    private Long studentId;
+
+    // StudentDashboardService.DashboardDocument 의 JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 처음 만들 때 동시에 두 번 INSERT 되는 경우를 구분하고, 잠금 없이 고친 경우를 막기 위한 버전
+    @Version
+    private Long version;
+}
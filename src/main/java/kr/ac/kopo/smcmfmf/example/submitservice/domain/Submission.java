@@ -13,14 +13,21 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", uniqueConstraints = {
+        // 학생은 과제마다 제출물 하나 (재제출은 같은 행을 수정)
+        @UniqueConstraint(name = "uk_submissions_assignment_student", columnNames = {"assignment_id", "student_id"})
+}, indexes = {
+        // 학생별 제출 목록 (최근 제출순)
+        @Index(name = "idx_submissions_student_submitted_at", columnList = "student_id, submitted_at DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Submission {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "submissions_seq")
+    @SequenceGenerator(name = "submissions_seq", sequenceName = "submissions_seq", allocationSize = 50)
     private Long submissionId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -55,6 +62,10 @@ public class Submission {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // 낙관적 잠금 - 같은 제출물을 동시에 재제출하거나 재제출과 평가 완료가 겹치면 나중에 커밋하는 쪽이 실패한다
+    @Version
+    private Long version;
+
     // Boolean 타입에 대한 getter 메소드를 안전하게 처리
     public Boolean getIsGraded() {
         return this.isGraded != null ? this.isGraded : Boolean.FALSE;
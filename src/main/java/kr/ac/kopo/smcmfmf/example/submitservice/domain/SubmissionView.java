@@ -0,0 +1,38 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 제출물 화면 표시용 조회 모델
+ * 과제, 과목, 학생 정보를 한 번의 조인 쿼리로 함께 읽어오므로 목록을 그릴 때 행마다 지연 로딩이 일어나지 않는다.
+ * (SubmissionRepository 의 find...View 쿼리에서 생성자 표현식으로 만든다)
+ */
+@Data
+@AllArgsConstructor
+public class SubmissionView {
+    private Long submissionId;
+
+    private Long assignmentId;
+    private String assignmentTitle;
+
+    private Long courseId;
+    private String courseName;
+
+    private Long studentId;
+    private String studentName;
+
+    private String fileUrl;
+    private BigDecimal grade;
+    private String feedback;
+    private Boolean isGraded;
+    private LocalDateTime submittedAt;
+    private LocalDateTime gradedAt;
+
+    public Boolean getIsGraded() {
+        return this.isGraded != null ? this.isGraded : Boolean.FALSE;
+    }
+}
@@ -2,6 +2,8 @@ package kr.ac.kopo.smcmfmf.example.submitservice.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -12,12 +14,21 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // 관리자 사용자 목록의 키셋 페이지 조회용 (필터 조합별)
+        @Index(name = "idx_users_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_users_role_created_at_id", columnList = "role, created_at DESC, id DESC"),
+        @Index(name = "idx_users_status_created_at_id", columnList = "account_status, created_at DESC, id DESC"),
+        @Index(name = "idx_users_status_role_created_at_id", columnList = "account_status, role, created_at DESC, id DESC")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -1,6 +1,7 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.repository;
 
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
@@ -16,6 +18,10 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     // 기존 메소드
     List<Assignment> findByCourse(Course course);
 
+    // 여러 과목의 과제를 한 번에 조회 (학생 대시보드 재생성용)
+    @Query("SELECT a FROM Assignment a WHERE a.course.courseId IN :courseIds")
+    List<Assignment> findByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
     // 마감일 관련 쿼리 메소드들
 
     /**
@@ -39,30 +45,23 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByCourseOrderByDeadlineAsc(Course course);
 
     /**
-     * 임박한 과제 조회 (마감일이 현재부터 지정된 시간 내)
-     */
-    @Query("SELECT a FROM Assignment a WHERE a.course = :course AND a.deadline > :now AND a.deadline <= :threshold ORDER BY a.deadline ASC")
-    List<Assignment> findUpcomingAssignments(@Param("course") Course course,
-                                             @Param("now") LocalDateTime now,
-                                             @Param("threshold") LocalDateTime threshold);
-
-    /**
-     * 활성 과제 수 조회
+     * 마감 전 과제의 마감 정보 (마감 인덱스 적재용)
      */
-    @Query("SELECT COUNT(a) FROM Assignment a WHERE a.course = :course AND a.deadline > :now")
-    long countActiveAssignments(@Param("course") Course course, @Param("now") LocalDateTime now);
+    @Query("SELECT new kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline(" +
+            "a.assignmentId, a.course.courseId, a.title, a.deadline) " +
+            "FROM Assignment a WHERE a.deadline > :now")
+    List<AssignmentDeadline> findOpenDeadlines(@Param("now") LocalDateTime now);
 
     /**
-     * 마감된 과제 수 조회
+     * 과목별 마감된 과제 수 (마감 인덱스 적재용)
      */
-    @Query("SELECT COUNT(a) FROM Assignment a WHERE a.course = :course AND a.deadline <= :now")
-    long countExpiredAssignments(@Param("course") Course course, @Param("now") LocalDateTime now);
+    @Query("SELECT a.course.courseId AS courseId, COUNT(a) AS count " +
+            "FROM Assignment a WHERE a.deadline <= :now GROUP BY a.course.courseId")
+    List<CourseCount> countClosedByCourse(@Param("now") LocalDateTime now);
 
-    /**
-     * 마감일이 가장 가까운 과제 조회
-     */
-    @Query("SELECT a FROM Assignment a WHERE a.course = :course AND a.deadline > :now ORDER BY a.deadline ASC")
-    List<Assignment> findNextDeadlineAssignment(@Param("course") Course course, @Param("now") LocalDateTime now);
+    // 과제 삭제 - 삭제할 제출물의 파일 URL (커밋 후 파일 참조 해제용)
+    @Query("SELECT s.fileUrl FROM Submission s WHERE s.assignment.assignmentId = :assignmentId")
+    List<String> findSubmissionFileUrlsByAssignmentId(@Param("assignmentId") Long assignmentId);
 
     // 삭제 관련 쿼리 추가
     @Modifying
@@ -72,4 +71,11 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
 
     @Query("SELECT COUNT(s) FROM Submission s WHERE s.assignment.assignmentId = :assignmentId")
     long countSubmissionsByAssignmentId(@Param("assignmentId") Long assignmentId);
-}
\ No newline at end of file
+
+    // 과목별 과제 수
+    interface CourseCount {
+        Long getCourseId();
+
+        long getCount();
+    }
+}
@@ -0,0 +1,85 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.repository;
+
+import jakarta.persistence.LockModeType;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.CourseCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CourseCounterRepository extends JpaRepository<CourseCounter, Long> {
+
+    @Modifying
+    @Query("INSERT INTO CourseCounter (courseId, assignmentCount, enrollmentCount, submissionCount) VALUES (:courseId, 0, 0, 0)")
+    void insertEmpty(@Param("courseId") Long courseId);
+
+    // 증감은 읽지 않고 UPDATE 한 번으로 처리 (동시에 증감해도 값을 잃지 않음, 행이 없으면 0 을 반환하고 재집계에 맡긴다)
+    @Modifying
+    @Query("UPDATE CourseCounter c SET c.assignmentCount = c.assignmentCount + :delta WHERE c.courseId = :courseId")
+    int addAssignments(@Param("courseId") Long courseId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE CourseCounter c SET c.enrollmentCount = c.enrollmentCount + :delta WHERE c.courseId = :courseId")
+    int addEnrollments(@Param("courseId") Long courseId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE CourseCounter c SET c.submissionCount = c.submissionCount + :delta WHERE c.courseId = :courseId")
+    int addSubmissions(@Param("courseId") Long courseId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM CourseCounter c WHERE c.courseId = :courseId")
+    void deleteByCourseId(@Param("courseId") Long courseId);
+
+    // 재집계 - 집계 행이 없거나 실제 건수와 다른 과목
+    @Query(value = """
+            SELECT c.course_id
+            FROM courses c
+            LEFT JOIN course_counters cc ON cc.course_id = c.course_id
+            LEFT JOIN (SELECT course_id, COUNT(*) AS cnt FROM assignments GROUP BY course_id) a
+                   ON a.course_id = c.course_id
+            LEFT JOIN (SELECT course_id, COUNT(*) AS cnt FROM enrollments GROUP BY course_id) e
+                   ON e.course_id = c.course_id
+            LEFT JOIN (SELECT a.course_id, COUNT(*) AS cnt
+                       FROM submissions s JOIN assignments a ON a.assignment_id = s.assignment_id
+                       GROUP BY a.course_id) s
+                   ON s.course_id = c.course_id
+            WHERE cc.course_id IS NULL
+               OR cc.assignment_count <> COALESCE(a.cnt, 0)
+               OR cc.enrollment_count <> COALESCE(e.cnt, 0)
+               OR cc.submission_count <> COALESCE(s.cnt, 0)
+            ORDER BY c.course_id
+            """, nativeQuery = true)
+    List<Long> findDriftedCourseIds();
+
+    // 재집계 - 고치는 동안 같은 과목의 증감이 끼어들지 않도록 집계 행을 과목 ID 순으로 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CourseCounter c WHERE c.courseId IN :courseIds ORDER BY c.courseId")
+    List<CourseCounter> findAllForUpdate(@Param("courseIds") Collection<Long> courseIds);
+
+    @Modifying
+    @Query("DELETE FROM CourseCounter c WHERE c.courseId IN :courseIds")
+    int deleteByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    // 재집계 - 실제 건수로 다시 만든다
+    @Modifying
+    @Query(value = """
+            INSERT INTO course_counters (course_id, assignment_count, enrollment_count, submission_count)
+            SELECT c.course_id,
+                   (SELECT COUNT(*) FROM assignments a WHERE a.course_id = c.course_id),
+                   (SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.course_id),
+                   (SELECT COUNT(*) FROM submissions s JOIN assignments a ON a.assignment_id = s.assignment_id
+                    WHERE a.course_id = c.course_id)
+            FROM courses c
+            WHERE c.course_id IN (:courseIds)
+            """, nativeQuery = true)
+    int insertCounted(@Param("courseIds") Collection<Long> courseIds);
+
+    // 재집계 - 삭제된 과목의 집계 행
+    @Modifying
+    @Query("DELETE FROM CourseCounter c WHERE NOT EXISTS (SELECT 1 FROM Course co WHERE co.courseId = c.courseId)")
+    int deleteOrphans();
+}
@@ -1,10 +1,13 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.repository;
 
+import jakarta.persistence.QueryHint;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +25,18 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     // 교수의 과목 조회 - 생성일 기준 오름차순 정렬 (오래된 순)
     List<Course> findByProfessorOrderByCreatedAtAsc(User professor);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "course-query")
+    })
     Optional<Course> findByCode(String code); // 학생이 join할 때 과목 코드로 조회
 
     // 학생 수강 과목 조회 - 생성일 기준 내림차순 정렬
+    // 결과는 courses, enrollments 테이블이 바뀌면 Hibernate 가 자동으로 무효화한다
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "course-query")
+    })
     @Query("SELECT c FROM Course c " +
             "JOIN Enrollment e ON e.course = c " +
             "WHERE e.student = :student " +
@@ -48,10 +60,18 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("SELECT COUNT(s) FROM Submission s WHERE s.assignment.course.courseId = :courseId")
     long countSubmissionsByCourseId(@Param("courseId") Long courseId);
 
+    // 과목 삭제 - 삭제할 제출물과 과제 첨부파일의 URL (커밋 후 파일 참조 해제용)
+    @Query("SELECT s.fileUrl FROM Submission s WHERE s.assignment.course.courseId = :courseId")
+    List<String> findSubmissionFileUrlsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT a.attachmentUrl FROM Assignment a WHERE a.course.courseId = :courseId AND a.attachmentUrl IS NOT NULL")
+    List<String> findAttachmentUrlsByCourseId(@Param("courseId") Long courseId);
+
     // 강제 삭제용 쿼리들 (CASCADE가 작동하지 않을 때 사용)
     @Modifying
     @Transactional
-    @Query("DELETE FROM Submission s WHERE s.assignment.course.courseId = :courseId")
+    @Query("DELETE FROM Submission s WHERE s.assignment.assignmentId IN " +
+            "(SELECT a.assignmentId FROM Assignment a WHERE a.course.courseId = :courseId)")
     void deleteSubmissionsByCourseId(@Param("courseId") Long courseId);
 
     @Modifying
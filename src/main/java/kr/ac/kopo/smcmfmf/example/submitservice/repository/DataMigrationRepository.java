@@ -0,0 +1,18 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.repository;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.DataMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * 적용 기록과 데이터 보정 문장
+ * 보정 문장은 버전마다 한 번만 실행되므로 인덱스를 타지 않는 조건도 여기에 둔다.
+ */
+public interface DataMigrationRepository extends JpaRepository<DataMigration, String> {
+
+    // 기존 제출물의 isGraded 가 NULL 이면 false 로 설정
+    @Modifying
+    @Query("UPDATE Submission s SET s.isGraded = false WHERE s.isGraded IS NULL")
+    int fillNullIsGraded();
+}
@@ -4,10 +4,33 @@ import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Enrollment;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByStudent(User student);
     List<Enrollment> findByCourse(Course course);
     boolean existsByStudentAndCourse(User student, Course course);
+
+    // 일괄 수강 등록 시 이미 수강 중인 학생을 한 번에 걸러내기 위한 조회
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course = :course")
+    Set<Long> findStudentIdsByCourse(@Param("course") Course course);
+
+    // 과목 수강생에게 실시간 알림을 보낼 때 사용
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.courseId = :courseId")
+    Set<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+
+    // 수강 철회 - 요청한 학생 중 실제로 수강 중인 학생
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.courseId = :courseId AND e.student.id IN :studentIds")
+    Set<Long> findEnrolledStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    // 수강 철회 - 수강신청을 한 번에 삭제하고 삭제 건수를 돌려준다
+    @Modifying
+    @Query("DELETE FROM Enrollment e WHERE e.course.courseId = :courseId AND e.student.id IN :studentIds")
+    int deleteByCourseIdAndStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
 }
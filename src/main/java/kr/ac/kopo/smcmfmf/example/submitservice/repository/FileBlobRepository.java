@@ -0,0 +1,25 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.repository;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    // 참조 수 증가 (해당 해시의 본문이 없으면 0 반환)
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.referenceCount = b.referenceCount + 1 WHERE b.hash = :hash")
+    int incrementReferenceCount(@Param("hash") String hash);
+
+    // 참조 수 감소
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.referenceCount = b.referenceCount - 1 WHERE b.hash = :hash AND b.referenceCount > 0")
+    int decrementReferenceCount(@Param("hash") String hash);
+
+    // 더 이상 참조되지 않는 본문 삭제 (삭제되었으면 1 반환)
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.hash = :hash AND b.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
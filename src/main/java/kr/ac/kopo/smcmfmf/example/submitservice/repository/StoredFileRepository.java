@@ -0,0 +1,27 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.repository;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StoredFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // 다운로드 시 본문 정보까지 한 번에 조회
+    @Query("SELECT f FROM StoredFile f JOIN FETCH f.blob WHERE f.fileName = :fileName")
+    Optional<StoredFile> findWithBlobByFileName(@Param("fileName") String fileName);
+
+    // 여러 파일을 본문 정보와 함께 한 번에 조회 (제출물 묶음 다운로드용)
+    @Query("SELECT f FROM StoredFile f JOIN FETCH f.blob WHERE f.fileName IN :fileNames")
+    List<StoredFile> findWithBlobByFileNameIn(@Param("fileNames") Collection<String> fileNames);
+
+    // 파일명 참조 삭제 (본문 삭제 쿼리보다 먼저 실행되어야 하므로 바로 DELETE 문으로 실행)
+    @Modifying
+    @Query("DELETE FROM StoredFile f WHERE f.fileName = :fileName")
+    int deleteByFileName(@Param("fileName") String fileName);
+}
@@ -0,0 +1,92 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.repository;
+
+import jakarta.persistence.LockModeType;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StudentCourseCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StudentCourseCounterRepository extends JpaRepository<StudentCourseCounter, StudentCourseCounter.Key> {
+
+    // 수강 신청 - 수강 철회 시 제출물이 함께 삭제되므로 새로 등록된 학생은 0 에서 시작한다
+    @Modifying
+    @Query("INSERT INTO StudentCourseCounter (courseId, studentId, submissionCount, gradedCount) " +
+            "SELECT e.course.courseId, e.student.id, 0, 0 FROM Enrollment e " +
+            "WHERE e.course.courseId = :courseId AND e.student.id IN :studentIds")
+    int insertEmpty(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query("UPDATE StudentCourseCounter c SET c.submissionCount = c.submissionCount + :submitted, " +
+            "c.gradedCount = c.gradedCount + :graded " +
+            "WHERE c.courseId = :courseId AND c.studentId = :studentId")
+    int add(@Param("courseId") Long courseId, @Param("studentId") Long studentId,
+            @Param("submitted") long submitted, @Param("graded") long graded);
+
+    // 과제 삭제 - 제출물을 지우기 전에 그 과제에 제출한 학생들의 집계를 한 번에 줄인다
+    @Modifying
+    @Query("UPDATE StudentCourseCounter c SET c.submissionCount = c.submissionCount - 1 " +
+            "WHERE c.courseId = :courseId AND c.studentId IN " +
+            "(SELECT s.student.id FROM Submission s WHERE s.assignment.assignmentId = :assignmentId)")
+    int removeSubmissionsOf(@Param("courseId") Long courseId, @Param("assignmentId") Long assignmentId);
+
+    @Modifying
+    @Query("UPDATE StudentCourseCounter c SET c.gradedCount = c.gradedCount - 1 " +
+            "WHERE c.courseId = :courseId AND c.studentId IN " +
+            "(SELECT s.student.id FROM Submission s WHERE s.assignment.assignmentId = :assignmentId AND s.isGraded = true)")
+    int removeGradedOf(@Param("courseId") Long courseId, @Param("assignmentId") Long assignmentId);
+
+    @Modifying
+    @Query("DELETE FROM StudentCourseCounter c WHERE c.courseId = :courseId AND c.studentId IN :studentIds")
+    int deleteByCourseIdAndStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query("DELETE FROM StudentCourseCounter c WHERE c.courseId IN :courseIds")
+    int deleteByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    // 재집계 - 집계 행이 없거나 실제 건수와 다른 학생이 있는 과목
+    @Query(value = """
+            SELECT DISTINCT e.course_id
+            FROM enrollments e
+            LEFT JOIN student_course_counters sc
+                   ON sc.course_id = e.course_id AND sc.student_id = e.student_id
+            LEFT JOIN (SELECT a.course_id, s.student_id, COUNT(*) AS cnt,
+                              COUNT(*) FILTER (WHERE s.is_graded) AS graded
+                       FROM submissions s JOIN assignments a ON a.assignment_id = s.assignment_id
+                       GROUP BY a.course_id, s.student_id) s
+                   ON s.course_id = e.course_id AND s.student_id = e.student_id
+            WHERE sc.course_id IS NULL
+               OR sc.submission_count <> COALESCE(s.cnt, 0)
+               OR sc.graded_count <> COALESCE(s.graded, 0)
+            ORDER BY e.course_id
+            """, nativeQuery = true)
+    List<Long> findDriftedCourseIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM StudentCourseCounter c WHERE c.courseId IN :courseIds ORDER BY c.courseId, c.studentId")
+    List<StudentCourseCounter> findAllForUpdate(@Param("courseIds") Collection<Long> courseIds);
+
+    // 재집계 - 과목 수강생 전체의 집계를 실제 건수로 다시 만든다
+    @Modifying
+    @Query(value = """
+            INSERT INTO student_course_counters (course_id, student_id, submission_count, graded_count)
+            SELECT e.course_id, e.student_id,
+                   (SELECT COUNT(*) FROM submissions s JOIN assignments a ON a.assignment_id = s.assignment_id
+                    WHERE a.course_id = e.course_id AND s.student_id = e.student_id),
+                   (SELECT COUNT(*) FROM submissions s JOIN assignments a ON a.assignment_id = s.assignment_id
+                    WHERE a.course_id = e.course_id AND s.student_id = e.student_id AND s.is_graded)
+            FROM enrollments e
+            WHERE e.course_id IN (:courseIds)
+            """, nativeQuery = true)
+    int insertCounted(@Param("courseIds") Collection<Long> courseIds);
+
+    // 재집계 - 수강신청이 없는 집계 행
+    @Modifying
+    @Query("DELETE FROM StudentCourseCounter c WHERE NOT EXISTS " +
+            "(SELECT 1 FROM Enrollment e WHERE e.course.courseId = c.courseId AND e.student.id = c.studentId)")
+    int deleteOrphans();
+}
@@ -0,0 +1,31 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.repository;
+
+import jakarta.persistence.LockModeType;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StudentDashboard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StudentDashboardRepository extends JpaRepository<StudentDashboard, Long> {
+
+    // 대시보드 갱신용 조회 (학생 한 명의 제출/평가/수강 신청) - 같은 학생의 문서를 동시에 고쳐 변경이 사라지지 않게 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM StudentDashboard d WHERE d.studentId IN :studentIds ORDER BY d.studentId")
+    List<StudentDashboard> findAllForUpdate(@Param("studentIds") Collection<Long> studentIds);
+
+    // 대시보드 무효화 - 지운 문서는 다음 조회 때 테이블에서 다시 만든다
+    @Modifying
+    @Query("DELETE FROM StudentDashboard d WHERE d.studentId IN :studentIds")
+    int deleteAllByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    // 과목 수강생 전체의 대시보드 무효화 (과제 등록/수정/삭제)
+    @Modifying
+    @Query("DELETE FROM StudentDashboard d WHERE d.studentId IN " +
+            "(SELECT e.student.id FROM Enrollment e WHERE e.course.courseId = :courseId)")
+    int deleteAllByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,18 +1,28 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.repository;
 
+import jakarta.persistence.LockModeType;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.SubmissionView;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     List<Submission> findByAssignment(Assignment assignment);
     Optional<Submission> findByAssignmentAndStudent(Assignment assignment, User student);
+
+    // 제출 처리용 조회 - 행 잠금으로 같은 학생의 재제출을 순서대로 처리한다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Submission s WHERE s.assignment = :assignment AND s.student = :student")
+    Optional<Submission> findForUpdate(@Param("assignment") Assignment assignment, @Param("student") User student);
     List<Submission> findByStudent(User student);
 
     // 학생의 특정 과목 모든 제출물 조회
@@ -26,4 +36,82 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     // 학생의 특정 과목 평가 완료된 제출물 수 조회
     @Query("SELECT COUNT(s) FROM Submission s WHERE s.student = :student AND s.assignment.course.courseId = :courseId AND s.isGraded = true")
     long countGradedByStudentAndCourseId(@Param("student") User student, @Param("courseId") Long courseId);
-}
\ No newline at end of file
+
+    // 수강 철회 - 삭제할 제출물의 파일 URL (커밋 후 파일 참조 해제용)
+    @Query("SELECT s.fileUrl FROM Submission s WHERE s.student.id IN :studentIds AND s.assignment.course.courseId = :courseId")
+    List<String> findFileUrlsByStudentIdsAndCourseId(@Param("studentIds") Collection<Long> studentIds,
+                                                     @Param("courseId") Long courseId);
+
+    // 수강 철회 - 학생들의 특정 과목 제출물을 한 번에 삭제하고 삭제 건수를 돌려준다
+    @Modifying
+    @Query("DELETE FROM Submission s WHERE s.student.id IN :studentIds AND s.assignment.assignmentId IN " +
+            "(SELECT a.assignmentId FROM Assignment a WHERE a.course.courseId = :courseId)")
+    int deleteByStudentIdsAndCourseId(@Param("studentIds") Collection<Long> studentIds, @Param("courseId") Long courseId);
+
+    // 화면 표시용 조회 - 과제, 과목, 학생을 한 번에 조인하여 행마다 지연 로딩이 일어나지 않도록 한다
+    String SUBMISSION_VIEW_SELECT = "SELECT new kr.ac.kopo.smcmfmf.example.submitservice.domain.SubmissionView("
+            + "s.submissionId, a.assignmentId, a.title, c.courseId, c.name, u.id, u.name, "
+            + "s.fileUrl, s.grade, s.feedback, s.isGraded, s.submittedAt, s.gradedAt) "
+            + "FROM Submission s JOIN s.assignment a JOIN a.course c JOIN s.student u ";
+
+    // 과제별 제출물 목록 (교수 제출물 관리 화면)
+    @Query(SUBMISSION_VIEW_SELECT + "WHERE a = :assignment ORDER BY s.submissionId")
+    List<SubmissionView> findViewsByAssignment(@Param("assignment") Assignment assignment);
+
+    // 학생별 제출물 목록 (학생 내 제출물 화면)
+    @Query(SUBMISSION_VIEW_SELECT + "WHERE u = :student ORDER BY s.submittedAt DESC")
+    List<SubmissionView> findViewsByStudent(@Param("student") User student);
+
+    // 제출물 한 건 (채점 화면)
+    @Query(SUBMISSION_VIEW_SELECT + "WHERE s.submissionId = :submissionId")
+    Optional<SubmissionView> findViewById(@Param("submissionId") Long submissionId);
+
+    long countByAssignment(Assignment assignment);
+
+    // 과제별 제출 현황과 점수 통계를 한 번의 집계 쿼리로 계산 (점수 통계와 분포는 평가 완료된 제출물 기준)
+    @Query(value = """
+            SELECT COUNT(*) AS totalCount,
+                   COUNT(*) FILTER (WHERE s.is_graded) AS gradedCount,
+                   COUNT(*) FILTER (WHERE s.grade IS NOT NULL AND NOT s.is_graded) AS tempGradedCount,
+                   COUNT(*) FILTER (WHERE s.grade IS NULL) AS pendingCount,
+                   AVG(s.grade) FILTER (WHERE s.is_graded) AS averageGrade,
+                   MIN(s.grade) FILTER (WHERE s.is_graded) AS minGrade,
+                   MAX(s.grade) FILTER (WHERE s.is_graded) AS maxGrade,
+                   PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY s.grade) FILTER (WHERE s.is_graded) AS medianGrade,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade < 10) AS bucket0,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 10 AND s.grade < 20) AS bucket1,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 20 AND s.grade < 30) AS bucket2,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 30 AND s.grade < 40) AS bucket3,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 40 AND s.grade < 50) AS bucket4,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 50 AND s.grade < 60) AS bucket5,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 60 AND s.grade < 70) AS bucket6,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 70 AND s.grade < 80) AS bucket7,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 80 AND s.grade < 90) AS bucket8,
+                   COUNT(*) FILTER (WHERE s.is_graded AND s.grade >= 90) AS bucket9
+            FROM submissions s
+            WHERE s.assignment_id = :assignmentId
+            """, nativeQuery = true)
+    GradeStatistics getGradeStatistics(@Param("assignmentId") Long assignmentId);
+
+    // getGradeStatistics 결과 (bucketN 은 N*10 ~ N*10+9 점 구간의 인원, 90점 이상은 bucket9)
+    interface GradeStatistics {
+        Long getTotalCount();
+        Long getGradedCount();
+        Long getTempGradedCount();
+        Long getPendingCount();
+        Double getAverageGrade();
+        Double getMinGrade();
+        Double getMaxGrade();
+        Double getMedianGrade();
+        Long getBucket0();
+        Long getBucket1();
+        Long getBucket2();
+        Long getBucket3();
+        Long getBucket4();
+        Long getBucket5();
+        Long getBucket6();
+        Long getBucket7();
+        Long getBucket8();
+        Long getBucket9();
+    }
+}
@@ -1,8 +1,11 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.repository;
 
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -18,13 +21,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByAccountStatus(User.AccountStatus status);
 
     // 역할별 조회
-    Page<User> findByRoleOrderByCreatedAtDesc(User.Role role, Pageable pageable);
     boolean existsByRole(User.Role role);
-
-    // 복합 조건 조회
-    Page<User> findByAccountStatusOrderByCreatedAtDesc(User.AccountStatus status, Pageable pageable);
-    Page<User> findByAccountStatusAndRoleOrderByCreatedAtDesc(User.AccountStatus status, User.Role role, Pageable pageable);
-    Page<User> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    long countByRole(User.Role role);
+    long countByAccountStatusAndRole(User.AccountStatus status, User.Role role);
+
+    // 사용자 목록 키셋 페이지 조회 - (createdAt, id) 기준 최신순, 필터 조합마다 같은 순서의 인덱스를 사용
+    Window<User> findAllByOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
+    Window<User> findByRoleOrderByCreatedAtDescIdDesc(User.Role role, ScrollPosition position, Limit limit);
+    Window<User> findByAccountStatusOrderByCreatedAtDescIdDesc(User.AccountStatus status, ScrollPosition position, Limit limit);
+    Window<User> findByAccountStatusAndRoleOrderByCreatedAtDescIdDesc(User.AccountStatus status, User.Role role,
+                                                                      ScrollPosition position, Limit limit);
 
     // 최근 신청자 조회 (최대 5개) - H2 호환성을 위해 Pageable 사용
     @Query("SELECT u FROM User u WHERE u.accountStatus = :status ORDER BY u.createdAt DESC")
@@ -1,17 +1,28 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.service;
 
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.DeadlineExtendedEvent;
 import kr.ac.kopo.smcmfmf.example.submitservice.repository.AssignmentRepository;
 import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,13 +31,22 @@ import java.util.List;
 public class AssignmentService {
     private final AssignmentRepository assignmentRepository;
     private final SubmissionRepository submissionRepository;
+    private final DeadlineIndex deadlineIndex;
+    private final StudentDashboardService studentDashboardService;
+    private final CourseCounterService courseCounterService;
+    private final FileService fileService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Assignment createAssignment(Assignment assignment) {
         // 마감일 검증
         validateDeadline(assignment.getDeadline());
 
         log.info("과제 생성: {} (마감일: {})", assignment.getTitle(), assignment.getDeadline());
-        return assignmentRepository.save(assignment);
+        Assignment saved = assignmentRepository.save(assignment);
+        courseCounterService.assignmentCreated(saved.getCourse().getCourseId());
+        deadlineIndex.add(saved);
+        studentDashboardService.assignmentSaved(saved);
+        return saved;
     }
 
     public Assignment updateAssignment(Assignment assignment) {
@@ -34,7 +54,10 @@ public class AssignmentService {
         validateDeadline(assignment.getDeadline());
 
         log.info("과제 수정: {} (마감일: {})", assignment.getTitle(), assignment.getDeadline());
-        return assignmentRepository.save(assignment);
+        Assignment saved = assignmentRepository.save(assignment);
+        deadlineIndex.put(saved);
+        studentDashboardService.assignmentSaved(saved);
+        return saved;
     }
 
     /**
@@ -126,6 +149,7 @@ public class AssignmentService {
 
     /**
      * 과제 삭제 (관련된 제출물도 함께 삭제)
+     * 제출 파일과 첨부파일의 참조는 커밋된 뒤에 해제한다.
      */
     @Transactional
     public void deleteAssignment(Long assignmentId) {
@@ -139,16 +163,26 @@ public class AssignmentService {
             // 제출물 수 확인
             long submissionCount = assignmentRepository.countSubmissionsByAssignmentId(assignmentId);
             log.info("삭제할 제출물 수: {}", submissionCount);
+            // 제출한 학생들의 집계는 제출물을 지우기 전에 줄인다
+            courseCounterService.assignmentDeleting(assignment.getCourse().getCourseId(), assignmentId, submissionCount);
 
-            // 1단계: 제출물 삭제
+            // 1단계: 제출물 삭제 (지우기 전에 파일 URL 을 받아 둔다)
+            List<String> fileUrls = new ArrayList<>();
             if (submissionCount > 0) {
+                fileUrls.addAll(assignmentRepository.findSubmissionFileUrlsByAssignmentId(assignmentId));
                 assignmentRepository.deleteSubmissionsByAssignmentId(assignmentId);
                 log.info("제출물 {} 개 삭제 완료", submissionCount);
             }
+            if (assignment.getAttachmentUrl() != null) {
+                fileUrls.add(assignment.getAttachmentUrl());
+            }
 
             // 2단계: 과제 삭제
             assignmentRepository.deleteById(assignmentId);
             assignmentRepository.flush(); // 즉시 DB 반영
+            deadlineIndex.remove(assignment);
+            studentDashboardService.assignmentDeleted(assignment.getCourse().getCourseId());
+            fileService.releaseFileUrlsAfterCommit(fileUrls);
 
             log.info("===== 과제 삭제 완료: '{}' =====", assignment.getTitle());
 
@@ -180,7 +214,23 @@ public class AssignmentService {
         log.info("과제 마감일 연장: {} ({} -> {})",
                 assignment.getTitle(), originalDeadline, newDeadline);
 
-        return assignmentRepository.save(assignment);
+        Assignment saved = assignmentRepository.save(assignment);
+        deadlineIndex.put(saved);
+        studentDashboardService.assignmentSaved(saved);
+        eventPublisher.publishEvent(new DeadlineExtendedEvent(AssignmentDeadline.of(saved), originalDeadline));
+        return saved;
+    }
+
+    /**
+     * 마감일이 임박한 과제 조회 (마감 인덱스 사용, SQL 없음)
+     * @param courses 과목 목록
+     * @param hours 임박 기준 시간
+     * @return 임박한 과제 목록 (마감일 순)
+     */
+    @Transactional(readOnly = true)
+    public List<AssignmentDeadline> getUpcomingAssignments(Collection<Course> courses, int hours) {
+        List<Long> courseIds = courses.stream().map(Course::getCourseId).toList();
+        return deadlineIndex.findUpcoming(courseIds, Duration.ofHours(hours));
     }
 
     /**
@@ -189,11 +239,42 @@ public class AssignmentService {
      * @param hours 임박 기준 시간
      * @return 임박한 과제 목록
      */
+    @Transactional(readOnly = true)
     public List<Assignment> getUpcomingAssignments(Course course, int hours) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime threshold = now.plusHours(hours);
+        List<Long> assignmentIds = getUpcomingAssignments(List.of(course), hours).stream()
+                .map(AssignmentDeadline::getAssignmentId)
+                .toList();
+        // 한 번에 조회한 뒤 인덱스의 마감일 순서대로 정렬
+        Map<Long, Assignment> assignments = assignmentRepository.findAllById(assignmentIds).stream()
+                .collect(Collectors.toMap(Assignment::getAssignmentId, Function.identity()));
+        return assignmentIds.stream()
+                .map(assignments::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 활성(마감 전) 과제 수
+     */
+    @Transactional(readOnly = true)
+    public long countActiveAssignments(Course course) {
+        return deadlineIndex.countOpen(course.getCourseId());
+    }
 
-        return assignmentRepository.findUpcomingAssignments(course, now, threshold);
+    /**
+     * 마감된 과제 수
+     */
+    @Transactional(readOnly = true)
+    public long countExpiredAssignments(Course course) {
+        return deadlineIndex.countClosed(course.getCourseId());
+    }
+
+    /**
+     * 마감일이 가장 가까운 과제
+     */
+    @Transactional(readOnly = true)
+    public Optional<AssignmentDeadline> getNextDeadlineAssignment(Course course) {
+        return deadlineIndex.findNext(course.getCourseId());
     }
 
     /**
@@ -0,0 +1,439 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이어받기가 가능한 분할 업로드
+ * 1. 시작: 파일 크기만큼 미리 할당한 (sparse) 임시 파일과 업로드 세션을 만든다.
+ * 2. 조각 전송: 각 조각을 파일의 해당 위치에 바로 기록하므로 조각은 순서와 관계없이 여러 연결로 동시에 보낼 수 있다.
+ * 3. 상태 조회: 이미 받은 구간을 알려주어 끊긴 업로드는 빠진 조각만 다시 보내면 된다.
+ * 4. 완료: 모든 조각이 도착하면 임시 파일을 저장소로 옮기고 제출 기록을 남긴다. 제출 기록에 실패하면 파일도 되돌린다.
+ *    마감 판정은 마지막 조각 요청이 도착한 시각 기준이므로, 마감 전에 모든 조각을 보냈다면 완료 요청은 마감 뒤에 와도 된다.
+ *    완료 요청은 업로드 ID 를 멱등 키로 사용하므로 재시도해도 파일이 두 번 저장되지 않는다.
+ * 업로드 세션은 메모리에 보관하므로 서버가 재시작되면 진행 중인 업로드는 처음부터 다시 해야 한다.
+ * 오래 사용되지 않은 세션과 임시 파일은 file.upload.chunk-purge-interval 마다 정리한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadService {
+
+    private static final String DOWNLOAD_URL_PREFIX = "/files/download/";
+    private static final String DEADLINE_PASSED_MESSAGE = "제출 마감일이 지난 과제입니다.";
+
+    private final FileService fileService;
+    private final SubmissionService submissionService;
+    private final UploadBufferPool bufferPool;
+    private final IdempotencyKeyService idempotencyKeyService;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Value("${spring.servlet.multipart.max-file-size:100MB}")
+    private DataSize maxFileSize;
+
+    @Value("${file.upload.chunk-size:8MB}")
+    private DataSize chunkSize;
+
+    @Value("${file.upload.chunk-session-timeout:6h}")
+    private Duration sessionTimeout;
+
+    // 학생 한 명이 동시에 진행할 수 있는 업로드 세션 수 (미리 할당되는 디스크 공간 제한)
+    @Value("${file.upload.chunk-max-sessions-per-student:3}")
+    private int maxSessionsPerStudent;
+
+    /**
+     * 업로드 세션 시작
+     * @param arrivedAt 요청 도착 시각 (마감 판정 기준)
+     */
+    public UploadStatus start(Assignment assignment, User student, String originalFilename, long fileSize,
+                              LocalDateTime arrivedAt) throws IOException {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            throw new IllegalArgumentException("파일을 선택해주세요.");
+        }
+        if (fileSize <= 0) {
+            throw new IllegalArgumentException("빈 파일은 제출할 수 없습니다.");
+        }
+        if (fileSize > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException(
+                    String.format("파일 크기는 최대 %dMB까지 업로드할 수 있습니다.", maxFileSize.toMegabytes()));
+        }
+        if (!submissionService.isSubmissionAllowed(assignment, arrivedAt)) {
+            throw new IllegalStateException(DEADLINE_PASSED_MESSAGE);
+        }
+        checkResubmittable(assignment, student);
+
+        // 만료되었지만 아직 정리되지 않은 세션은 세지 않는다
+        long activeSessions = sessions.values().stream()
+                .filter(session -> session.studentId.equals(student.getId()))
+                .filter(session -> !session.isExpired(sessionTimeout))
+                .count();
+        if (activeSessions >= maxSessionsPerStudent) {
+            throw new IllegalStateException("진행 중인 업로드가 너무 많습니다. 기존 업로드를 완료하거나 취소해주세요.");
+        }
+
+        Path directory = Paths.get(uploadDir, "chunks");
+        Files.createDirectories(directory);
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Path partFile = directory.resolve(uploadId + ".part");
+
+        // 파일 크기만큼 미리 할당 (마지막 바이트만 기록하여 지원하는 파일 시스템에서는 sparse 파일로 생성)
+        try (FileChannel channel = FileChannel.open(partFile,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+            channel.write(ByteBuffer.wrap(new byte[1]), fileSize - 1);
+        }
+
+        UploadSession session = new UploadSession(uploadId, student.getId(), assignment.getAssignmentId(),
+                originalFilename, fileSize, chunkSize.toBytes(), partFile);
+        sessions.put(uploadId, session);
+
+        log.info("분할 업로드 시작: uploadId={}, student={}, file={} ({} bytes, 조각 {}개)",
+                uploadId, student.getName(), originalFilename, fileSize, session.chunkCount);
+        return session.toStatus();
+    }
+
+    /**
+     * 조각 하나를 파일의 해당 위치에 기록
+     * 같은 조각을 다시 보내면 덮어쓴다 (재전송 허용). 전송이 중간에 실패한 조각은 받지 않은 것으로 되돌린다.
+     * 같은 조각을 아직 받고 있는 중에 온 요청은 거절한다.
+     * @param arrivedAt 요청 도착 시각 (기록된 조각 중 가장 늦은 도착 시각으로 마감을 판정)
+     */
+    public UploadStatus writeChunk(String uploadId, User student, int index, InputStream body,
+                                   LocalDateTime arrivedAt) throws IOException {
+        UploadSession session = getSession(uploadId, student);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new IllegalArgumentException("잘못된 조각 번호입니다: " + index);
+        }
+
+        long position = index * session.chunkSize;
+        long expectedLength = Math.min(session.chunkSize, session.totalSize - position);
+
+        session.beginChunk(index);
+        boolean written = false;
+        ByteBuffer buffer = bufferPool.acquire();
+        try (ReadableByteChannel source = Channels.newChannel(body);
+             FileChannel channel = FileChannel.open(session.partFile, StandardOpenOption.WRITE)) {
+            long received = 0;
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                received += buffer.remaining();
+                if (received > expectedLength) {
+                    throw new IllegalArgumentException(
+                            String.format("조각 %d 의 크기가 예상(%d bytes)보다 큽니다.", index, expectedLength));
+                }
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                buffer.clear();
+            }
+            if (received != expectedLength) {
+                throw new IllegalArgumentException(
+                        String.format("조각 %d 의 크기가 맞지 않습니다. (예상 %d bytes, 수신 %d bytes)",
+                                index, expectedLength, received));
+            }
+            written = true;
+        } finally {
+            bufferPool.release(buffer);
+            session.endChunk(index, written, arrivedAt);
+        }
+
+        return session.toStatus();
+    }
+
+    /**
+     * 지금까지 받은 구간 조회
+     */
+    public UploadStatus getStatus(String uploadId, User student) {
+        return getSession(uploadId, student).toStatus();
+    }
+
+    /**
+     * 업로드 완료 - 조립된 파일을 저장소에 등록하고 제출 기록을 남긴다
+     * 완료 응답을 받지 못한 클라이언트가 다시 요청하면 (업로드 세션은 이미 정리되었더라도) 같은 제출물 ID 를 돌려준다.
+     * @return 제출물 ID
+     */
+    public Long complete(String uploadId, User student, Assignment assignment) throws IOException {
+        return idempotencyKeyService.execute(student.getId(), "chunked-upload", uploadId,
+                () -> completeUpload(uploadId, student, assignment));
+    }
+
+    private Long completeUpload(String uploadId, User student, Assignment assignment) throws IOException {
+        UploadSession session = getSession(uploadId, student);
+        if (!session.assignmentId.equals(assignment.getAssignmentId())) {
+            throw new IllegalArgumentException("다른 과제의 업로드입니다.");
+        }
+
+        // 전송 중인 조각이 없고 모든 조각이 도착한 경우에만 완료 상태로 전환 (완료는 한 번만 실행됨)
+        session.beginComplete();
+
+        String savedFileName = null;
+        try {
+            if (!submissionService.isSubmissionAllowed(assignment, session.getLastChunkArrivedAt())) {
+                throw new IllegalStateException(DEADLINE_PASSED_MESSAGE);
+            }
+            checkResubmittable(assignment, student);
+
+            savedFileName = fileService.saveLocalFile(session.partFile, session.originalFilename, student.getName());
+            String fileUrl = DOWNLOAD_URL_PREFIX + savedFileName;
+
+            Submission submission = submissionService.submitAssignment(assignment, student, fileUrl);
+            sessions.remove(uploadId);
+
+            log.info("분할 업로드 완료: uploadId={}, file={}", uploadId, savedFileName);
+            return submission.getSubmissionId();
+        } catch (IOException | RuntimeException e) {
+            if (savedFileName != null) {
+                // 제출 기록에 실패했으므로 저장한 파일을 되돌리고, 임시 파일은 이미 이동되었으므로 세션도 정리한다
+                fileService.deleteFile(savedFileName);
+                sessions.remove(uploadId);
+            } else {
+                session.abortComplete();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 업로드 대상 과제 ID (업로드 입장 제어의 마감 우선순위 계산용)
+     */
+    public Optional<Long> findAssignmentId(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        return session != null ? Optional.of(session.assignmentId) : Optional.empty();
+    }
+
+    /**
+     * 업로드 취소
+     */
+    public void cancel(String uploadId, User student) {
+        UploadSession session = getSession(uploadId, student);
+        sessions.remove(uploadId);
+        deletePartFile(session);
+        log.info("분할 업로드 취소: uploadId={}", uploadId);
+    }
+
+    private UploadSession getSession(String uploadId, User student) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || session.isExpired(sessionTimeout)) {
+            throw new NoSuchElementException("업로드를 찾을 수 없습니다. 처음부터 다시 업로드해주세요.");
+        }
+        if (!session.studentId.equals(student.getId())) {
+            log.warn("다른 사용자의 업로드 접근 시도: uploadId={}, student={}", uploadId, student.getName());
+            throw new NoSuchElementException("업로드를 찾을 수 없습니다. 처음부터 다시 업로드해주세요.");
+        }
+        session.touch();
+        return session;
+    }
+
+    private void checkResubmittable(Assignment assignment, User student) {
+        Optional<Submission> existingSubmission =
+                submissionService.getSubmissionByAssignmentAndStudent(assignment, student);
+        if (existingSubmission.isPresent() && existingSubmission.get().getIsGraded()) {
+            throw new IllegalStateException("이미 평가가 완료된 과제입니다. 재제출할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 오래 사용되지 않은 세션과 임시 파일 정리 (처리 중인 세션은 건너뛴다)
+     */
+    @Scheduled(fixedDelayString = "${file.upload.chunk-purge-interval:10m}",
+            initialDelayString = "${file.upload.chunk-purge-interval:10m}")
+    public void purgeExpiredSessions() {
+        sessions.values().removeIf(session -> {
+            if (!session.isExpired(sessionTimeout) || !session.tryExpire()) {
+                return false;
+            }
+            deletePartFile(session);
+            log.info("만료된 분할 업로드 정리: uploadId={}", session.uploadId);
+            return true;
+        });
+    }
+
+    private void deletePartFile(UploadSession session) {
+        try {
+            Files.deleteIfExists(session.partFile);
+        } catch (IOException e) {
+            log.warn("분할 업로드 임시 파일 삭제 실패: {}", session.partFile, e);
+        }
+    }
+
+    // 업로드 세션 - 받은 조각 목록과 진행 중인 조각 수를 관리
+    private static class UploadSession {
+        private final String uploadId;
+        private final Long studentId;
+        private final Long assignmentId;
+        private final String originalFilename;
+        private final long totalSize;
+        private final long chunkSize;
+        private final int chunkCount;
+        private final Path partFile;
+
+        private final BitSet receivedChunks = new BitSet();
+        private final BitSet writingChunks = new BitSet();
+        private int chunksInFlight;
+        private boolean completing;
+        private LocalDateTime lastChunkArrivedAt;
+        private volatile Instant lastAccess = Instant.now();
+
+        UploadSession(String uploadId, Long studentId, Long assignmentId, String originalFilename,
+                      long totalSize, long chunkSize, Path partFile) {
+            this.uploadId = uploadId;
+            this.studentId = studentId;
+            this.assignmentId = assignmentId;
+            this.originalFilename = originalFilename;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.chunkCount = Math.toIntExact((totalSize + chunkSize - 1) / chunkSize);
+            this.partFile = partFile;
+        }
+
+        // 같은 조각을 두 연결이 동시에 쓰면 어느 쪽 내용이 남을지 알 수 없으므로 나중 요청은 거절한다
+        synchronized void beginChunk(int index) {
+            if (completing) {
+                throw new IllegalStateException("이미 완료 처리 중인 업로드입니다.");
+            }
+            if (writingChunks.get(index)) {
+                throw new IllegalStateException(
+                        String.format("조각 %d 을(를) 이미 받고 있습니다. 전송이 끝난 뒤 다시 시도해주세요.", index));
+            }
+            writingChunks.set(index);
+            chunksInFlight++;
+        }
+
+        synchronized void endChunk(int index, boolean written, LocalDateTime arrivedAt) {
+            writingChunks.clear(index);
+            chunksInFlight--;
+            if (written) {
+                receivedChunks.set(index);
+                if (lastChunkArrivedAt == null || arrivedAt.isAfter(lastChunkArrivedAt)) {
+                    lastChunkArrivedAt = arrivedAt;
+                }
+            } else {
+                // 재전송이 중간에 실패하면 이전에 받은 내용도 일부 덮어쓰였으므로 다시 받아야 한다
+                receivedChunks.clear(index);
+            }
+        }
+
+        synchronized LocalDateTime getLastChunkArrivedAt() {
+            return lastChunkArrivedAt;
+        }
+
+        synchronized void beginComplete() {
+            if (completing) {
+                throw new IllegalStateException("이미 완료 처리 중인 업로드입니다.");
+            }
+            if (chunksInFlight > 0 || receivedChunks.cardinality() < chunkCount) {
+                throw new IllegalStateException("아직 받지 못한 조각이 있습니다.");
+            }
+            completing = true;
+        }
+
+        synchronized void abortComplete() {
+            completing = false;
+        }
+
+        // 진행 중인 작업이 없을 때만 만료 처리
+        synchronized boolean tryExpire() {
+            if (completing || chunksInFlight > 0) {
+                return false;
+            }
+            completing = true;
+            return true;
+        }
+
+        void touch() {
+            lastAccess = Instant.now();
+        }
+
+        boolean isExpired(Duration timeout) {
+            return lastAccess.plus(timeout).isBefore(Instant.now());
+        }
+
+        synchronized UploadStatus toStatus() {
+            List<ReceivedRange> ranges = new ArrayList<>();
+            List<Integer> missing = new ArrayList<>();
+            long receivedBytes = 0;
+
+            int index = 0;
+            while (index < chunkCount) {
+                if (!receivedChunks.get(index)) {
+                    missing.add(index++);
+                    continue;
+                }
+                int end = Math.min(receivedChunks.nextClearBit(index), chunkCount);
+                long start = index * chunkSize;
+                long last = Math.min(end * chunkSize, totalSize) - 1;
+                ranges.add(ReceivedRange.builder().start(start).end(last).build());
+                receivedBytes += last - start + 1;
+                index = end;
+            }
+
+            return UploadStatus.builder()
+                    .uploadId(uploadId)
+                    .assignmentId(assignmentId)
+                    .fileName(originalFilename)
+                    .totalSize(totalSize)
+                    .chunkSize(chunkSize)
+                    .chunkCount(chunkCount)
+                    .receivedBytes(receivedBytes)
+                    .receivedRanges(ranges)
+                    .missingChunks(missing)
+                    .build();
+        }
+    }
+
+    // 업로드 진행 상태
+    @lombok.Builder
+    @lombok.Data
+    public static class UploadStatus {
+        private String uploadId;
+        private Long assignmentId;
+        private String fileName;
+        private long totalSize;
+        private long chunkSize;
+        private int chunkCount;
+        private long receivedBytes;
+        private List<ReceivedRange> receivedRanges;
+        private List<Integer> missingChunks;
+    }
+
+    // 받은 바이트 구간 (끝 포함)
+    @lombok.Builder
+    @lombok.Data
+    public static class ReceivedRange {
+        private long start;
+        private long end;
+    }
+}
@@ -0,0 +1,60 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * 집계 재검사 작업
+ * 애플리케이션 준비가 끝나면(초기 데이터 적재 이후) 한 번 돌려 집계 행이 없는 과목을 채우고, 이후 counter.reconcile-interval 마다 어긋난 집계를 고친다.
+ * 고친 과목 수는 /actuator/metrics/course.counter.repaired 로 확인 (0 이 아니면 집계를 빠뜨린 쓰기 경로가 있다는 뜻)
+ */
+@Component
+@Slf4j
+public class CourseCounterReconciler {
+
+    private final CourseCounterService courseCounterService;
+    private final Counter repairedCourses;
+    private final Counter repairedStudentCourses;
+    private final TaskScheduler taskScheduler;
+
+    public CourseCounterReconciler(CourseCounterService courseCounterService,
+                                   MeterRegistry meterRegistry,
+                                   TaskScheduler taskScheduler) {
+        this.courseCounterService = courseCounterService;
+        this.taskScheduler = taskScheduler;
+        this.repairedCourses = Counter.builder("course.counter.repaired")
+                .description("재검사에서 다시 센 과목 수")
+                .tag("level", "course")
+                .register(meterRegistry);
+        this.repairedStudentCourses = Counter.builder("course.counter.repaired")
+                .description("재검사에서 다시 센 과목 수")
+                .tag("level", "student")
+                .register(meterRegistry);
+    }
+
+    // 첫 실행은 초기 데이터 적재가 끝난 뒤 (주기 실행은 그보다 먼저 등록되므로 한 주기 뒤부터 시작)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.schedule(this::run, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${counter.reconcile-interval:1h}", initialDelayString = "${counter.reconcile-interval:1h}")
+    public void run() {
+        try {
+            CourseCounterService.ReconcileResult result = courseCounterService.reconcile();
+            repairedCourses.increment(result.getRepairedCourses().size());
+            repairedStudentCourses.increment(result.getRepairedStudentCourses().size());
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도
+            log.error("집계 재검사 중 오류 발생", e);
+        }
+    }
+}
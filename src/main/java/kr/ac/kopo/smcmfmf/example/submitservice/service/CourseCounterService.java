@@ -0,0 +1,173 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.CourseCounter;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StudentCourseCounter;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.CourseCounterRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.StudentCourseCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 과목별, 학생-과목별 집계 관리
+ * 과목 삭제/수강 철회 확인 화면의 건수를 COUNT 쿼리 대신 집계 행 하나로 읽도록, 과제/수강신청/제출물을 바꾸는 쓰기와 같은 트랜잭션에서 집계를 증감한다.
+ * - 증감은 UPDATE ... SET x = x + ? 한 번이라 동시에 들어와도 값을 잃지 않는다. (행 잠금 순서: 과목 집계 -> 학생-과목 집계)
+ * - 집계 행이 없으면(초기 데이터, 대량 적재) 증감은 건너뛰고, 화면은 COUNT 쿼리로 대신 센다. 행은 reconcile() 이 만든다.
+ * - reconcile() 은 실제 건수와 다른 과목만 찾아 그 과목의 집계를 잠그고 다시 센다. (CourseCounterReconciler 가 주기적으로 호출)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseCounterService {
+
+    private final CourseCounterRepository courseCounterRepository;
+    private final StudentCourseCounterRepository studentCourseCounterRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Transactional(readOnly = true)
+    public Optional<CourseCounter> getCourseCounter(Long courseId) {
+        return courseCounterRepository.findById(courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StudentCourseCounter> getStudentCourseCounter(Long studentId, Long courseId) {
+        return studentCourseCounterRepository.findById(new StudentCourseCounter.Key(courseId, studentId));
+    }
+
+    @Transactional
+    public void courseCreated(Long courseId) {
+        courseCounterRepository.insertEmpty(courseId);
+    }
+
+    @Transactional
+    public void courseDeleted(Long courseId) {
+        courseCounterRepository.deleteByCourseId(courseId);
+        studentCourseCounterRepository.deleteByCourseIds(List.of(courseId));
+    }
+
+    @Transactional
+    public void assignmentCreated(Long courseId) {
+        courseCounterRepository.addAssignments(courseId, 1);
+    }
+
+    /**
+     * 과제 삭제 반영 - 제출물을 지우기 전에 호출해야 제출한 학생들의 집계를 찾을 수 있다
+     */
+    @Transactional
+    public void assignmentDeleting(Long courseId, Long assignmentId, long submissionCount) {
+        courseCounterRepository.addAssignments(courseId, -1);
+        if (submissionCount > 0) {
+            courseCounterRepository.addSubmissions(courseId, -submissionCount);
+            studentCourseCounterRepository.removeSubmissionsOf(courseId, assignmentId);
+            studentCourseCounterRepository.removeGradedOf(courseId, assignmentId);
+        }
+    }
+
+    /**
+     * 수강 신청 반영 (수강신청 행이 저장된 뒤 호출)
+     */
+    @Transactional
+    public void studentsEnrolled(Long courseId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        courseCounterRepository.addEnrollments(courseId, studentIds.size());
+        studentCourseCounterRepository.insertEmpty(courseId, studentIds);
+    }
+
+    /**
+     * 수강 철회 반영 - 건수는 일괄 삭제가 돌려준 삭제 행 수를 그대로 받는다
+     */
+    @Transactional
+    public void studentsWithdrawn(Long courseId, Collection<Long> studentIds, long withdrawn, long deletedSubmissions) {
+        if (withdrawn == 0) {
+            return;
+        }
+        courseCounterRepository.addEnrollments(courseId, -withdrawn);
+        if (deletedSubmissions > 0) {
+            courseCounterRepository.addSubmissions(courseId, -deletedSubmissions);
+        }
+        studentCourseCounterRepository.deleteByCourseIdAndStudentIds(courseId, studentIds);
+    }
+
+    /**
+     * 새 제출 반영 (재제출은 건수가 바뀌지 않음)
+     */
+    @Transactional
+    public void submissionCreated(Long studentId, Long courseId) {
+        courseCounterRepository.addSubmissions(courseId, 1);
+        studentCourseCounterRepository.add(courseId, studentId, 1, 0);
+    }
+
+    @Transactional
+    public void gradingCompleted(Long studentId, Long courseId) {
+        studentCourseCounterRepository.add(courseId, studentId, 0, 1);
+    }
+
+    @Transactional
+    public void gradingCancelled(Long studentId, Long courseId) {
+        studentCourseCounterRepository.add(courseId, studentId, 0, -1);
+    }
+
+    /**
+     * 집계 재검사 및 복구
+     * 과목 집계와 학생-과목 집계를 따로 (각자의 트랜잭션에서) 고치므로 쓰기 쪽과 잠금 순서가 엇갈리지 않는다.
+     * 고칠 과목의 집계 행을 먼저 잠근 뒤 다시 세므로, 그 사이 커밋된 쓰기는 새로 센 값에 들어가고 이후 쓰기는 새 행에 증감된다.
+     */
+    public ReconcileResult reconcile() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        ReconcileResult result = new ReconcileResult();
+        transaction.executeWithoutResult(status -> {
+            List<Long> drifted = courseCounterRepository.findDriftedCourseIds();
+            if (!drifted.isEmpty()) {
+                courseCounterRepository.findAllForUpdate(drifted);
+                courseCounterRepository.deleteByCourseIds(drifted);
+                courseCounterRepository.insertCounted(drifted);
+            }
+            result.setRepairedCourses(drifted);
+            result.setRemovedCourseCounters(courseCounterRepository.deleteOrphans());
+        });
+        transaction.executeWithoutResult(status -> {
+            List<Long> drifted = studentCourseCounterRepository.findDriftedCourseIds();
+            if (!drifted.isEmpty()) {
+                studentCourseCounterRepository.findAllForUpdate(drifted);
+                studentCourseCounterRepository.deleteByCourseIds(drifted);
+                studentCourseCounterRepository.insertCounted(drifted);
+            }
+            result.setRepairedStudentCourses(drifted);
+            result.setRemovedStudentCourseCounters(studentCourseCounterRepository.deleteOrphans());
+        });
+
+        if (result.hasRepairs()) {
+            log.warn("집계 불일치 복구: 과목 집계 {}개 과목 {}, 학생-과목 집계 {}개 과목 {}, 남은 행 삭제 {}/{}",
+                    result.getRepairedCourses().size(), result.getRepairedCourses(),
+                    result.getRepairedStudentCourses().size(), result.getRepairedStudentCourses(),
+                    result.getRemovedCourseCounters(), result.getRemovedStudentCourseCounters());
+        } else {
+            log.debug("집계 재검사: 불일치 없음");
+        }
+        return result;
+    }
+
+    // 집계 재검사 결과 (다시 센 과목 ID, 지운 집계 행 수)
+    @lombok.Data
+    public static class ReconcileResult {
+        private List<Long> repairedCourses = List.of();
+        private List<Long> repairedStudentCourses = List.of();
+        private int removedCourseCounters;
+        private int removedStudentCourseCounters;
+
+        public boolean hasRepairs() {
+            return !repairedCourses.isEmpty() || !repairedStudentCourses.isEmpty()
+                    || removedCourseCounters > 0 || removedStudentCourseCounters > 0;
+        }
+    }
+}
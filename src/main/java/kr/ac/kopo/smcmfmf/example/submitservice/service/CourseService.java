@@ -1,11 +1,11 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.service;
 
+import io.micrometer.core.annotation.Timed;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.CourseCounter;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Enrollment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StudentCourseCounter;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
-import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
-import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
-import kr.ac.kopo.smcmfmf.example.submitservice.repository.AssignmentRepository;
 import kr.ac.kopo.smcmfmf.example.submitservice.repository.CourseRepository;
 import kr.ac.kopo.smcmfmf.example.submitservice.repository.EnrollmentRepository;
 import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
@@ -14,7 +14,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,12 +27,19 @@ import java.util.List;
 public class CourseService {
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final AssignmentRepository assignmentRepository;
     private final SubmissionRepository submissionRepository;
+    private final BulkInsertService bulkInsertService;
+    private final StudentDashboardService studentDashboardService;
+    private final CourseCounterService courseCounterService;
+    private final FileService fileService;
+    private final DeadlineIndex deadlineIndex;
 
     // 과목 생성
+    @Transactional
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        courseCounterService.courseCreated(saved.getCourseId());
+        return saved;
     }
 
     /**
@@ -65,6 +77,8 @@ public class CourseService {
     /**
      * 수강 신청 처리
      */
+    @Transactional
+    @Timed(value = "course.enroll", description = "수강 신청 처리 시간", histogram = true)
     public boolean enrollStudent(User student, String courseCode) {
         Course course = courseRepository.findByCode(courseCode)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid course code"));
@@ -78,10 +92,39 @@ public class CourseService {
                 .course(course)
                 .build();
         enrollmentRepository.save(enrollment);
+        courseCounterService.studentsEnrolled(course.getCourseId(), List.of(student.getId()));
+        studentDashboardService.courseEnrolled(course, List.of(student.getId()));
         log.info("학생 수강 신청 완료: {} -> {}", student.getName(), course.getName());
         return true;
     }
 
+    /**
+     * 일괄 수강 등록 (명단 가져오기용) - 이미 수강 중인 학생은 건너뛴다
+     * @return 새로 등록된 학생 수
+     */
+    @Transactional
+    @Timed(value = "course.enroll", description = "수강 신청 처리 시간", histogram = true)
+    public int enrollStudents(Course course, List<User> students) {
+        Set<Long> enrolledStudentIds = enrollmentRepository.findStudentIdsByCourse(course);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Enrollment> enrollments = students.stream()
+                .filter(student -> enrolledStudentIds.add(student.getId()))
+                .map(student -> Enrollment.builder()
+                        .student(student)
+                        .course(course)
+                        .enrolledAt(now)
+                        .build())
+                .toList();
+
+        int enrolled = bulkInsertService.insertAll(enrollments);
+        List<Long> enrolledIds = enrollments.stream().map(enrollment -> enrollment.getStudent().getId()).toList();
+        courseCounterService.studentsEnrolled(course.getCourseId(), enrolledIds);
+        studentDashboardService.courseEnrolled(course, enrolledIds);
+        log.info("일괄 수강 등록 완료: 과목={}, 요청={}, 신규={}", course.getName(), students.size(), enrolled);
+        return enrolled;
+    }
+
     public Course getCourseById(Long courseId) {
         return courseRepository.findById(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
@@ -101,19 +144,24 @@ public class CourseService {
     public CourseWithdrawInfo getCourseWithdrawInfo(User student, Course course) {
         log.info("수강 철회 정보 조회: student={}, course={}", student.getName(), course.getName());
 
-        // 과제 목록 조회
-        List<Assignment> assignments = assignmentRepository.findByCourse(course);
+        // 집계 행에서 읽는다 (집계 행이 아직 없으면 COUNT 쿼리로 센다)
+        long totalAssignments = courseCounterService.getCourseCounter(course.getCourseId())
+                .map(CourseCounter::getAssignmentCount)
+                .orElseGet(() -> courseRepository.countAssignmentsByCourseId(course.getCourseId()));
 
-        // 학생의 제출물 정보 수집 - 새로운 메소드 사용
-        int totalSubmissions = (int) submissionRepository.countByStudentAndCourseId(student, course.getCourseId());
-        int gradedSubmissions = (int) submissionRepository.countGradedByStudentAndCourseId(student, course.getCourseId());
+        Optional<StudentCourseCounter> counter =
+                courseCounterService.getStudentCourseCounter(student.getId(), course.getCourseId());
+        long totalSubmissions = counter.map(StudentCourseCounter::getSubmissionCount)
+                .orElseGet(() -> submissionRepository.countByStudentAndCourseId(student, course.getCourseId()));
+        long gradedSubmissions = counter.map(StudentCourseCounter::getGradedCount)
+                .orElseGet(() -> submissionRepository.countGradedByStudentAndCourseId(student, course.getCourseId()));
 
         CourseWithdrawInfo info = CourseWithdrawInfo.builder()
                 .courseName(course.getName())
                 .courseCode(course.getCode())
-                .totalAssignments(assignments.size())
-                .submittedAssignments(totalSubmissions)
-                .gradedSubmissions(gradedSubmissions)
+                .totalAssignments((int) totalAssignments)
+                .submittedAssignments((int) totalSubmissions)
+                .gradedSubmissions((int) gradedSubmissions)
                 .hasGradedSubmissions(gradedSubmissions > 0)
                 .build();
 
@@ -127,67 +175,81 @@ public class CourseService {
      * 수강 철회 실행
      */
     @Transactional
+    @Timed(value = "course.withdraw", description = "수강 철회 처리 시간", histogram = true)
     public CourseWithdrawResult withdrawStudent(User student, Course course) {
         log.info("===== 수강 철회 프로세스 시작 =====");
         log.info("student: {}, course: {}", student.getName(), course.getName());
 
-        // 수강 여부 확인
-        if (!isStudentEnrolled(student, course)) {
+        BulkWithdrawResult result = withdrawStudents(course, List.of(student.getId()));
+
+        // 삭제된 수강신청이 없으면 수강하지 않은 과목 (롤백할 변경도 없다)
+        if (result.getWithdrawnCount() == 0) {
             throw new IllegalStateException("수강하지 않은 과목입니다.");
         }
 
+        log.info("===== 수강 철회 완료: {} - {} =====", student.getName(), course.getName());
+        return CourseWithdrawResult.builder()
+                .courseName(course.getName())
+                .deletedSubmissions(result.getDeletedSubmissions())
+                .success(true)
+                .build();
+    }
+
+    /**
+     * 일괄 수강 철회 - 여러 학생을 한 트랜잭션에서 철회한다 (수강하지 않은 학생은 건너뛴다)
+     * 엔티티를 읽어 하나씩 지우지 않고 (학생, 과목) 조건의 DELETE 문 한 번씩으로 제출물과 수강신청을 지우며,
+     * 집계는 DELETE 가 돌려준 삭제 건수로 고친다. 제출 파일의 참조는 커밋된 뒤에 해제한다.
+     */
+    @Transactional
+    @Timed(value = "course.withdraw", description = "수강 철회 처리 시간", histogram = true)
+    public BulkWithdrawResult withdrawStudents(Course course, Collection<Long> studentIds) {
+        Long courseId = course.getCourseId();
+        log.info("일괄 수강 철회 시작: 과목={}, 요청={}", course.getName(), studentIds.size());
+
+        Set<Long> enrolledIds = studentIds.isEmpty()
+                ? Set.of()
+                : enrollmentRepository.findEnrolledStudentIds(courseId, studentIds);
+        if (enrolledIds.isEmpty()) {
+            return BulkWithdrawResult.builder()
+                    .courseName(course.getName())
+                    .requestedCount(studentIds.size())
+                    .build();
+        }
+
         try {
-            // 1단계: 해당 학생의 제출물 삭제
-            int deletedSubmissions = deleteStudentSubmissions(student, course);
+            // 1단계: 제출물 삭제 (지우기 전에 파일 URL 을 받아 둔다)
+            List<String> fileUrls = submissionRepository.findFileUrlsByStudentIdsAndCourseId(enrolledIds, courseId);
+            int deletedSubmissions = submissionRepository.deleteByStudentIdsAndCourseId(enrolledIds, courseId);
             log.info("제출물 삭제 완료: {} 개", deletedSubmissions);
 
             // 2단계: 수강신청 삭제
-            List<Enrollment> enrollments = enrollmentRepository.findByStudent(student);
-            Enrollment targetEnrollment = enrollments.stream()
-                    .filter(e -> e.getCourse().getCourseId().equals(course.getCourseId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("수강신청 정보를 찾을 수 없습니다."));
+            int withdrawn = enrollmentRepository.deleteByCourseIdAndStudentIds(courseId, enrolledIds);
+            log.info("수강신청 삭제 완료: {} 건", withdrawn);
 
-            enrollmentRepository.delete(targetEnrollment);
-            enrollmentRepository.flush(); // 즉시 DB 반영
-            log.info("수강신청 삭제 완료");
+            courseCounterService.studentsWithdrawn(courseId, enrolledIds, withdrawn, deletedSubmissions);
+            studentDashboardService.courseWithdrawn(enrolledIds, courseId);
+            fileService.releaseFileUrlsAfterCommit(fileUrls);
 
-            CourseWithdrawResult result = CourseWithdrawResult.builder()
+            log.info("일괄 수강 철회 완료: 과목={}, 요청={}, 철회={}, 삭제된 제출물={}",
+                    course.getName(), studentIds.size(), withdrawn, deletedSubmissions);
+            return BulkWithdrawResult.builder()
                     .courseName(course.getName())
+                    .requestedCount(studentIds.size())
+                    .withdrawnCount(withdrawn)
                     .deletedSubmissions(deletedSubmissions)
-                    .success(true)
                     .build();
 
-            log.info("===== 수강 철회 완료: {} - {} =====", student.getName(), course.getName());
-            return result;
-
         } catch (Exception e) {
             log.error("수강 철회 중 오류 발생: ", e);
             throw new RuntimeException("수강 철회 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
 
-    /**
-     * 특정 학생의 특정 과목 제출물 모두 삭제
-     */
-    private int deleteStudentSubmissions(User student, Course course) {
-        List<Submission> submissions = submissionRepository.findByStudentAndCourseId(student, course.getCourseId());
-        int deletedCount = submissions.size();
-
-        if (!submissions.isEmpty()) {
-            submissionRepository.deleteAll(submissions);
-            submissionRepository.flush(); // 즉시 DB 반영
-            log.info("학생 {} 의 과목 {} 제출물 {} 개 삭제 완료",
-                    student.getName(), course.getName(), deletedCount);
-        }
-
-        return deletedCount;
-    }
-
     /**
      * 과목 삭제 (단계별로 안전하게 삭제) - 교수용
      */
     @Transactional
+    @Timed(value = "course.delete", description = "과목 삭제 처리 시간", histogram = true)
     public void deleteCourse(Long courseId, User professor) {
         log.info("===== 과목 삭제 프로세스 시작 =====");
         log.info("courseId: {}, professor: {}", courseId, professor.getName());
@@ -202,6 +264,11 @@ public class CourseService {
         }
 
         log.info("과목 삭제 시작: '{}'", course.getName());
+        // 수강신청을 지우기 전에 대시보드를 고칠 수강생 목록을 받아 둔다
+        Set<Long> studentIds = enrollmentRepository.findStudentIdsByCourseId(courseId);
+        // 제출물과 과제를 지우기 전에 제출 파일과 첨부파일의 URL 을 받아 둔다 (커밋 후 참조 해제)
+        List<String> fileUrls = new ArrayList<>(courseRepository.findSubmissionFileUrlsByCourseId(courseId));
+        fileUrls.addAll(courseRepository.findAttachmentUrlsByCourseId(courseId));
 
         try {
             // 단계 1: 제출물부터 삭제 (가장 하위 레벨)
@@ -220,6 +287,10 @@ public class CourseService {
             log.info("4단계: 과목 삭제");
             courseRepository.deleteById(courseId);
             courseRepository.flush(); // 즉시 DB 반영
+            courseCounterService.courseDeleted(courseId);
+            studentDashboardService.courseDeleted(courseId, studentIds);
+            deadlineIndex.removeCourse(courseId);
+            fileService.releaseFileUrlsAfterCommit(fileUrls);
 
             log.info("===== 과목 삭제 완료: '{}' =====", course.getName());
 
@@ -233,9 +304,17 @@ public class CourseService {
     public CourseDeleteInfo getCourseDeleteInfo(Long courseId) {
         Course course = getCourseById(courseId);
 
-        long assignmentCount = courseRepository.countAssignmentsByCourseId(courseId);
-        long enrollmentCount = courseRepository.countEnrollmentsByCourseId(courseId);
-        long submissionCount = courseRepository.countSubmissionsByCourseId(courseId);
+        // 집계 행 하나로 읽는다 (집계 행이 아직 없으면 COUNT 쿼리로 센다)
+        CourseCounter counter = courseCounterService.getCourseCounter(courseId)
+                .orElseGet(() -> CourseCounter.builder()
+                        .courseId(courseId)
+                        .assignmentCount(courseRepository.countAssignmentsByCourseId(courseId))
+                        .enrollmentCount(courseRepository.countEnrollmentsByCourseId(courseId))
+                        .submissionCount(courseRepository.countSubmissionsByCourseId(courseId))
+                        .build());
+        long assignmentCount = counter.getAssignmentCount();
+        long enrollmentCount = counter.getEnrollmentCount();
+        long submissionCount = counter.getSubmissionCount();
 
         log.info("과목 '{}' 삭제 정보 - 과제: {}, 수강신청: {}, 제출물: {}",
                 course.getName(), assignmentCount, enrollmentCount, submissionCount);
@@ -276,4 +355,13 @@ public class CourseService {
         private int deletedSubmissions;
         private boolean success;
     }
+
+    @lombok.Builder
+    @lombok.Data
+    public static class BulkWithdrawResult {
+        private String courseName;
+        private int requestedCount;
+        private int withdrawnCount;
+        private int deletedSubmissions;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.DataMigration;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.DataMigrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * 기동 시 데이터 보정
+ * 엔티티를 읽어 고치지 않고 보정마다 UPDATE 한 번으로 처리하며, 적용한 버전을 data_migrations 에 남겨 다음 기동부터는 테이블을 다시 보지 않는다.
+ * - 보정 문장과 적용 기록은 같은 트랜잭션에서 커밋된다. (실패하면 기록도 남지 않아 다음 기동 때 다시 시도)
+ * - 애플리케이션 준비가 끝난 뒤 applicationTaskExecutor 에서 실행하므로 요청 처리와 기동을 막지 않는다.
+ * - 새 보정은 migrations() 끝에 새 버전으로 추가한다. (이미 적용된 버전의 내용은 바꾸지 않는다)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataMigrationService {
+
+    private final DataMigrationRepository dataMigrationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    private List<Migration> migrations() {
+        return List.of(
+                new Migration("2025.01-submission-is-graded", "제출물 isGraded NULL 값을 false 로 수정",
+                        dataMigrationRepository::fillNullIsGraded));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        applicationTaskExecutor.execute(this::applyPending);
+    }
+
+    /**
+     * 아직 적용하지 않은 보정 실행
+     * @return 이번에 적용한 버전
+     */
+    public List<String> applyPending() {
+        List<String> applied = new ArrayList<>();
+        for (Migration migration : migrations()) {
+            if (dataMigrationRepository.existsById(migration.version)) {
+                continue;
+            }
+            try {
+                int affectedRows = apply(migration);
+                applied.add(migration.version);
+                log.info("데이터 보정 적용: {} ({}) - {}개 행", migration.version, migration.description, affectedRows);
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스가 같은 보정을 먼저 적용함
+                log.info("데이터 보정이 이미 적용됨: {}", migration.version);
+            } catch (RuntimeException e) {
+                // 이후 보정은 앞선 보정을 전제로 할 수 있으므로 멈추고 다음 기동 때 다시 시도
+                log.error("데이터 보정 중 오류 발생: {}", migration.version, e);
+                break;
+            }
+        }
+        return applied;
+    }
+
+    private int apply(Migration migration) {
+        Integer affectedRows = new TransactionTemplate(transactionManager).execute(status -> {
+            int rows = migration.fixup.getAsInt();
+            dataMigrationRepository.saveAndFlush(DataMigration.builder()
+                    .version(migration.version)
+                    .description(migration.description)
+                    .affectedRows(rows)
+                    .appliedAt(LocalDateTime.now())
+                    .build());
+            return rows;
+        });
+        return affectedRows != null ? affectedRows : 0;
+    }
+
+    @RequiredArgsConstructor
+    private static class Migration {
+        private final String version;
+        private final String description;
+        private final IntSupplier fixup;
+    }
+}
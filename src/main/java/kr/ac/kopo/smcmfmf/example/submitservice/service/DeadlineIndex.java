@@ -0,0 +1,342 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentClosedEvent;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.AssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 과제 마감 인덱스
+ * 마감 전 과제를 마감일 순으로 메모리에 들고 있어 대시보드의 마감 관련 조회(임박 과제, 활성/마감 과제 수, 다음 마감)를 SQL 없이 처리한다.
+ * - 과목별 정렬 집합에서 범위를 잘라 읽으므로 조회는 O(log n + 결과 수)
+ * - 전체 정렬 집합의 맨 앞(가장 이른 마감)에 공용 TaskScheduler 로 타이머 하나만 걸어 두고, 마감 시각이 되면 마감 처리 후 AssignmentClosedEvent 를 발행한다.
+ * 마감된 과제는 과목별 개수만 들고 있다 (적재할 때 GROUP BY 로 센다).
+ * 애플리케이션 준비가 끝나면(초기 데이터 적재 이후) DB 에서 한 번 적재하고, 이후에는 AssignmentService 의 생성/수정/연장/삭제와 CourseService 의 과목 삭제가 커밋될 때 갱신한다.
+ * AssignmentService 를 거치지 않고 과제를 직접 넣은 경우(대량 적재 등)에는 reload() 로 다시 적재한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineIndex {
+
+    private static final Comparator<AssignmentDeadline> BY_DEADLINE =
+            Comparator.comparing(AssignmentDeadline::getDeadline).thenComparing(AssignmentDeadline::getAssignmentId);
+
+    private final AssignmentRepository assignmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 마감 전 과제 - 전체(타이머용), 과목별(조회용), ID 별(갱신용)
+    private final NavigableSet<AssignmentDeadline> timeline = new TreeSet<>(BY_DEADLINE);
+    private final Map<Long, NavigableSet<AssignmentDeadline>> openByCourse = new HashMap<>();
+    private final Map<Long, AssignmentDeadline> openById = new HashMap<>();
+    // 마감된 과제는 과목별 개수만 센다 (마감 전 과제에 없는 과제는 마감된 과제)
+    private final Map<Long, Integer> closedCountByCourse = new HashMap<>();
+
+    private ScheduledFuture<?> scheduledClose;
+    private LocalDateTime scheduledAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AssignmentDeadline> open = assignmentRepository.findOpenDeadlines(now);
+        List<AssignmentRepository.CourseCount> closed = assignmentRepository.countClosedByCourse(now);
+
+        lock.writeLock().lock();
+        try {
+            timeline.clear();
+            openByCourse.clear();
+            openById.clear();
+            closedCountByCourse.clear();
+            open.forEach(this::addOpen);
+            closed.forEach(count -> closedCountByCourse.put(count.getCourseId(), Math.toIntExact(count.getCount())));
+            reschedule();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("마감 인덱스 적재: 마감 전 과제 {}개, 마감된 과제가 있는 과목 {}개", open.size(), closed.size());
+    }
+
+    /**
+     * 과제 등록 반영 (트랜잭션 안이면 커밋된 뒤 반영)
+     */
+    public void add(Assignment assignment) {
+        AssignmentDeadline deadline = AssignmentDeadline.of(assignment);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                addEntry(deadline);
+                reschedule();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 등록된 과제의 제목/마감일 변경 반영 (트랜잭션 안이면 커밋된 뒤 반영)
+     */
+    public void put(Assignment assignment) {
+        AssignmentDeadline deadline = AssignmentDeadline.of(assignment);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(deadline.getAssignmentId(), deadline.getCourseId());
+                addEntry(deadline);
+                reschedule();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 과제 삭제 반영 (트랜잭션 안이면 커밋된 뒤 반영)
+     */
+    public void remove(Assignment assignment) {
+        Long assignmentId = assignment.getAssignmentId();
+        Long courseId = assignment.getCourse().getCourseId();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(assignmentId, courseId);
+                reschedule();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 과목 삭제 반영 - 과목의 과제를 모두 뺀다 (트랜잭션 안이면 커밋된 뒤 반영)
+     */
+    public void removeCourse(Long courseId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                NavigableSet<AssignmentDeadline> open = openByCourse.remove(courseId);
+                if (open != null) {
+                    for (AssignmentDeadline deadline : open) {
+                        timeline.remove(deadline);
+                        openById.remove(deadline.getAssignmentId());
+                    }
+                }
+                closedCountByCourse.remove(courseId);
+                reschedule();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 지금부터 within 안에 마감되는 과제 (마감일 순)
+     */
+    public List<AssignmentDeadline> findUpcoming(Collection<Long> courseIds, Duration within) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime threshold = now.plus(within);
+        List<AssignmentDeadline> upcoming = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Long courseId : courseIds) {
+                NavigableSet<AssignmentDeadline> deadlines = openByCourse.get(courseId);
+                if (deadlines == null) {
+                    continue;
+                }
+                // 타이머가 아직 마감 처리하지 않은 과제(마감 시각 <= now)는 범위에서 빠진다
+                upcoming.addAll(deadlines.subSet(probe(now), false, probe(threshold), true));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        upcoming.sort(BY_DEADLINE);
+        return upcoming;
+    }
+
+    /**
+     * 과목의 다음 마감 과제
+     */
+    public Optional<AssignmentDeadline> findNext(Long courseId) {
+        LocalDateTime now = LocalDateTime.now();
+        lock.readLock().lock();
+        try {
+            NavigableSet<AssignmentDeadline> deadlines = openByCourse.get(courseId);
+            if (deadlines == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(deadlines.higher(probe(now)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 마감 전 과제의 마감 정보 (마감됐거나 없는 과제면 빈 값)
+     */
+    public Optional<AssignmentDeadline> findOpen(Long assignmentId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(openById.get(assignmentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 과목의 마감 전 과제 수
+     */
+    public int countOpen(Long courseId) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<AssignmentDeadline> deadlines = openByCourse.get(courseId);
+            return deadlines != null ? deadlines.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 과목의 마감된 과제 수
+     */
+    public int countClosed(Long courseId) {
+        lock.readLock().lock();
+        try {
+            return closedCountByCourse.getOrDefault(courseId, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 마감 시각이 지난 과제를 마감 처리하고 다음 마감에 타이머를 다시 건다
+    private void closeDue() {
+        List<AssignmentDeadline> closedNow = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            scheduledClose = null;
+            scheduledAt = null;
+            LocalDateTime now = LocalDateTime.now();
+            while (!timeline.isEmpty() && !timeline.first().getDeadline().isAfter(now)) {
+                AssignmentDeadline deadline = timeline.first();
+                removeOpen(deadline);
+                addClosed(deadline.getCourseId());
+                closedNow.add(deadline);
+            }
+            reschedule();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        for (AssignmentDeadline deadline : closedNow) {
+            log.info("과제 마감: assignmentId={}, title={}, deadline={}",
+                    deadline.getAssignmentId(), deadline.getTitle(), deadline.getDeadline());
+            try {
+                eventPublisher.publishEvent(new AssignmentClosedEvent(deadline));
+            } catch (RuntimeException e) {
+                log.error("과제 마감 이벤트 처리 중 오류 발생: assignmentId={}", deadline.getAssignmentId(), e);
+            }
+        }
+    }
+
+    // 가장 이른 마감에 타이머가 걸려 있지 않으면 다시 건다 (write lock 을 잡은 상태에서 호출)
+    private void reschedule() {
+        LocalDateTime next = timeline.isEmpty() ? null : timeline.first().getDeadline();
+        if (next != null && next.equals(scheduledAt)) {
+            return;
+        }
+        if (scheduledClose != null) {
+            scheduledClose.cancel(false);
+            scheduledClose = null;
+            scheduledAt = null;
+        }
+        if (next == null) {
+            return;
+        }
+
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), next).toMillis());
+        scheduledClose = taskScheduler.schedule(this::closeDue, Instant.now().plusMillis(delayMillis));
+        scheduledAt = next;
+    }
+
+    private void addEntry(AssignmentDeadline deadline) {
+        if (deadline.getDeadline().isAfter(LocalDateTime.now())) {
+            addOpen(deadline);
+        } else {
+            addClosed(deadline.getCourseId());
+        }
+    }
+
+    // 마감 전 과제에 없으면 마감된 과제이므로 그 과목의 마감 과제 수를 줄인다
+    private void removeEntry(Long assignmentId, Long courseId) {
+        AssignmentDeadline open = openById.get(assignmentId);
+        if (open != null) {
+            removeOpen(open);
+        } else {
+            closedCountByCourse.computeIfPresent(courseId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void addOpen(AssignmentDeadline deadline) {
+        timeline.add(deadline);
+        openByCourse.computeIfAbsent(deadline.getCourseId(), courseId -> new TreeSet<>(BY_DEADLINE)).add(deadline);
+        openById.put(deadline.getAssignmentId(), deadline);
+    }
+
+    private void removeOpen(AssignmentDeadline deadline) {
+        openById.remove(deadline.getAssignmentId());
+        timeline.remove(deadline);
+        NavigableSet<AssignmentDeadline> deadlines = openByCourse.get(deadline.getCourseId());
+        deadlines.remove(deadline);
+        if (deadlines.isEmpty()) {
+            openByCourse.remove(deadline.getCourseId());
+        }
+    }
+
+    private void addClosed(Long courseId) {
+        closedCountByCourse.merge(courseId, 1, Integer::sum);
+    }
+
+    // 정렬 집합의 범위 검색 기준 - 같은 마감 시각의 과제보다 항상 뒤에 놓인다
+    private static AssignmentDeadline probe(LocalDateTime deadline) {
+        return new AssignmentDeadline(Long.MAX_VALUE, null, null, deadline);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,310 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import io.micrometer.core.annotation.Timed;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.FileBlob;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StoredFile;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.FileBlobRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.StoredFileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 내용 주소 기반(SHA-256) 파일 저장소
+ * - 업로드 스트림을 기록하면서 해시를 계산하고, 같은 해시의 본문이 이미 있으면 새로 쓰지 않고 참조 수만 늘린다.
+ * - 본문은 uploads/blobs/ab/cd/abcd... 형태로 해시 앞 4자리로 나눈 디렉토리에 저장한다.
+ * - 파일명(StoredFile) 을 지우면 참조 수가 줄고, 마지막 참조가 사라질 때 본문 파일을 삭제한다.
+ * 같은 해시에 대한 등록/해제는 노드 내에서 잠금으로 직렬화한다 (DB 에서는 해시 PK 가 중복을 막는다).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileBlobStore {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final FileBlobRepository fileBlobRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final UploadBufferPool bufferPool;
+    private final PlatformTransactionManager transactionManager;
+    private final UploadMetrics uploadMetrics;
+
+    private final ReentrantLock[] locks = createLocks();
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Value("${spring.servlet.multipart.max-file-size:100MB}")
+    private DataSize maxFileSize;
+
+    /**
+     * 스트림 내용을 저장하고 fileName 으로 참조를 등록
+     * @return 등록된 파일 정보 (본문 정보 포함)
+     */
+    @Timed(value = "file.save", description = "파일 저장 시간", histogram = true)
+    public StoredFile store(InputStream inputStream, String fileName, String originalFilename) throws IOException {
+        Path tempPath = tempDirectory().resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        CRC32 crc = new CRC32();
+        long size;
+
+        try {
+            size = writeAndHash(inputStream, tempPath, digest, crc);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+
+        return register(tempPath, HexFormat.of().formatHex(digest.digest()), crc.getValue(), size,
+                fileName, originalFilename);
+    }
+
+    /**
+     * 이미 디스크에 기록된 파일을 저장소로 옮기고 fileName 으로 참조를 등록 (분할 업로드 조립 결과 등)
+     * 원본 파일은 본문 위치로 이동되거나, 같은 내용이 이미 있으면 삭제된다.
+     * source 는 업로드 디렉토리와 같은 파일 시스템에 있어야 한다.
+     */
+    @Timed(value = "file.save", description = "파일 저장 시간", histogram = true)
+    public StoredFile storeFile(Path source, String fileName, String originalFilename) throws IOException {
+        long size = Files.size(source);
+        if (size > maxFileSize.toBytes()) {
+            Files.deleteIfExists(source);
+            throw new IllegalStateException(
+                    String.format("파일 크기는 최대 %dMB까지 업로드할 수 있습니다.", maxFileSize.toMegabytes()));
+        }
+
+        MessageDigest digest = sha256();
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = bufferPool.acquire();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        } finally {
+            bufferPool.release(buffer);
+        }
+
+        return register(source, HexFormat.of().formatHex(digest.digest()), crc.getValue(), size,
+                fileName, originalFilename);
+    }
+
+    /**
+     * 파일명에 연결된 본문 조회
+     */
+    public Optional<StoredFile> find(String fileName) {
+        return storedFileRepository.findWithBlobByFileName(fileName);
+    }
+
+    /**
+     * 여러 파일명에 연결된 본문을 한 번에 조회
+     */
+    public List<StoredFile> findAll(Collection<String> fileNames) {
+        if (fileNames.isEmpty()) {
+            return List.of();
+        }
+        return storedFileRepository.findWithBlobByFileNameIn(fileNames);
+    }
+
+    /**
+     * 파일명 참조를 제거하고, 마지막 참조였다면 본문 파일도 삭제
+     * @return 저장소가 관리하는 파일이었으면 true
+     */
+    public boolean release(String fileName) {
+        Optional<StoredFile> storedFile = storedFileRepository.findWithBlobByFileName(fileName);
+        if (storedFile.isEmpty()) {
+            return false;
+        }
+
+        String hash = storedFile.get().getBlob().getHash();
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            Boolean blobDeleted = transactionTemplate().execute(status -> {
+                storedFileRepository.deleteByFileName(fileName);
+                fileBlobRepository.decrementReferenceCount(hash);
+                return fileBlobRepository.deleteIfUnreferenced(hash) > 0;
+            });
+
+            if (Boolean.TRUE.equals(blobDeleted)) {
+                Files.deleteIfExists(blobPath(hash));
+                log.info("파일 삭제 완료: {} (마지막 참조, 본문 {} 삭제)", fileName, hash);
+            } else {
+                log.info("파일 참조 해제: {} (본문 {} 유지)", fileName, hash);
+            }
+        } catch (IOException e) {
+            log.error("파일 본문 삭제 중 오류 발생: {}", hash, e);
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    public Path blobPath(String hash) {
+        return Paths.get(uploadDir, "blobs", hash.substring(0, 2), hash.substring(2, 4), hash);
+    }
+
+    // 해시가 계산된 임시 파일을 본문으로 등록 (같은 해시가 있으면 참조 수만 증가)
+    private StoredFile register(Path tempPath, String hash, long crc32, long size,
+                                String fileName, String originalFilename) {
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            StoredFile storedFile = transactionTemplate().execute(status -> {
+                FileBlob blob;
+                if (fileBlobRepository.incrementReferenceCount(hash) > 0) {
+                    // 이미 같은 내용이 저장되어 있으므로 새로 기록한 파일은 버린다
+                    deleteQuietly(tempPath);
+                    blob = fileBlobRepository.findById(hash).orElseThrow();
+                    log.info("중복 파일 업로드 - 기존 본문 재사용: {} -> {}", fileName, hash);
+                } else {
+                    Path blobPath = blobPath(hash);
+                    moveIntoPlace(tempPath, blobPath);
+                    deleteOnRollback(blobPath);
+                    blob = fileBlobRepository.save(FileBlob.builder()
+                            .hash(hash)
+                            .size(size)
+                            .crc32(crc32)
+                            .referenceCount(1)
+                            .build());
+                }
+
+                return storedFileRepository.save(StoredFile.builder()
+                        .fileName(fileName)
+                        .blob(blob)
+                        .originalFilename(originalFilename)
+                        .build());
+            });
+
+            // 참조 수가 1보다 크면 기존 본문을 재사용한 경우 (같은 해시의 등록/해제는 잠금으로 직렬화됨)
+            uploadMetrics.recordUpload(size, storedFile.getBlob().getReferenceCount() > 1);
+            log.info("파일 저장 완료: {} -> {} ({} bytes, sha256={})", originalFilename, fileName, size, hash);
+            return storedFile;
+        } finally {
+            deleteQuietly(tempPath);
+            lock.unlock();
+        }
+    }
+
+    private long writeAndHash(InputStream inputStream, Path target, MessageDigest digest, CRC32 crc) throws IOException {
+        long limit = maxFileSize.toBytes();
+        long written = 0;
+
+        ByteBuffer buffer = bufferPool.acquire();
+        try (ReadableByteChannel source = Channels.newChannel(inputStream);
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (written > limit) {
+                    throw new IllegalStateException(
+                            String.format("파일 크기는 최대 %dMB까지 업로드할 수 있습니다.", maxFileSize.toMegabytes()));
+                }
+
+                buffer.mark();
+                digest.update(buffer);
+                buffer.reset();
+                crc.update(buffer);
+                buffer.reset();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            bufferPool.release(buffer);
+        }
+
+        return written;
+    }
+
+    private void moveIntoPlace(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("파일 본문 저장 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 본문 파일은 트랜잭션 안에서 옮겨지므로, 본문/파일명 행이 롤백되면 남은 본문 파일을 지운다
+    private void deleteOnRollback(Path blobPath) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteQuietly(blobPath);
+                    log.warn("파일 등록 롤백 - 본문 파일 삭제: {}", blobPath);
+                }
+            }
+        });
+    }
+
+    private Path tempDirectory() throws IOException {
+        Path tempDir = Paths.get(uploadDir, "blobs", "tmp");
+        Files.createDirectories(tempDir);
+        return tempDir;
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private ReentrantLock lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 저장된 파일을 HTTP 로 내려보내는 다운로드 엔진
+ * - ETag / Last-Modified 조건부 요청에 304 응답
+ * - Range 요청 (단일 / 다중 구간) 에 206 응답 (겹치는 다중 구간은 무시하고 200 으로 전체 전송)
+ * - 톰캣 sendfile 을 쓸 수 있으면 커널에서 바로 전송하고, 아니면 FileChannel.transferTo 로 전송
+ */
+@Service
+@Slf4j
+public class FileDownloadService {
+
+    // 톰캣이 sendfile 지원 여부와 전송 구간을 주고받는 요청 속성
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    // 이보다 작은 구간은 sendfile 설정 비용이 더 크므로 직접 전송 (톰캣 DefaultServlet 기본값과 동일)
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    /**
+     * 파일을 응답으로 전송
+     * @param file         전송할 파일
+     * @param downloadName 사용자에게 보여줄 파일명
+     * @param etag         파일 내용이 같을 때만 같은 값을 갖는 강한 ETag (따옴표 포함)
+     */
+    public void sendFile(Path file, String downloadName, String etag,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        // If-None-Match / If-Modified-Since 처리 (304), ETag 와 Last-Modified 헤더도 함께 설정됨
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            log.debug("파일 변경 없음 (304): {}", downloadName);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(downloadName));
+
+        List<long[]> ranges;
+        try {
+            ranges = resolveRanges(request, etag, lastModified, length);
+        } catch (IllegalArgumentException e) {
+            log.debug("처리할 수 없는 Range 요청: {} ({})", request.getHeader(HttpHeaders.RANGE), e.getMessage());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        boolean headOnly = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(length);
+            if (!headOnly) {
+                sendRegion(file, 0, length, request, response);
+            }
+        } else if (ranges.size() == 1) {
+            long start = ranges.get(0)[0];
+            long end = ranges.get(0)[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, end, length));
+            response.setContentLengthLong(end - start + 1);
+            if (!headOnly) {
+                sendRegion(file, start, end - start + 1, request, response);
+            }
+        } else {
+            sendMultipleRanges(file, ranges, length, headOnly, response);
+        }
+    }
+
+    /**
+     * 강한 ETag 생성 - 업로드된 파일은 저장 후 내용이 바뀌지 않으므로 크기와 수정 시각으로 식별 가능
+     */
+    public String strongETag(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return "\"" + Long.toHexString(attributes.size()) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+    }
+
+    // Range 헤더를 [시작, 끝] (끝 포함) 구간 목록으로 변환. 전체 전송이면 빈 목록
+    private List<long[]> resolveRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || length == 0) {
+            return List.of();
+        }
+
+        // If-Range 가 현재 파일과 맞지 않으면 Range 를 무시하고 전체를 보낸다
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRangeMatches(ifRange, etag, lastModified)) {
+            return List.of();
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        for (HttpRange range : HttpRange.parseRanges(rangeHeader)) {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            if (start > end) {
+                throw new IllegalArgumentException("잘못된 구간: " + range);
+            }
+            ranges.add(new long[]{start, end});
+        }
+
+        // 겹치는 구간이 있으면 (예: bytes=0-,0-,0-...) 파일 크기보다 많이 보내게 되므로 Range 를 무시하고 전체를 한 번 보낸다
+        if (ranges.size() > 1 && hasOverlap(ranges)) {
+            log.debug("겹치는 Range 요청 - 전체 파일로 응답: {}", rangeHeader);
+            return List.of();
+        }
+        return ranges;
+    }
+
+    // 구간이 서로 겹치지 않으면 합계도 파일 크기를 넘지 않는다
+    private boolean hasOverlap(List<long[]> ranges) {
+        List<long[]> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(range -> range[0]));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i)[0] <= sorted.get(i - 1)[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range 는 강한 비교만 허용
+            return ifRange.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified / 1000 == since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private void sendMultipleRanges(Path file, List<long[]> ranges, long length,
+                                    boolean headOnly, HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + MediaType.APPLICATION_OCTET_STREAM_VALUE + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range[0], range[1], length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + (range[1] - range[0] + 1);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (headOnly) {
+            return;
+        }
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                outputStream.write(partHeaders.get(i));
+                transfer(source, range[0], range[1] - range[0] + 1, target);
+            }
+        }
+        outputStream.write(closing);
+        outputStream.flush();
+    }
+
+    private void sendRegion(Path file, long position, long count,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (count >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // 톰캣이 응답 본문을 sendfile 로 직접 전송 (사용자 공간 복사 없음)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, position);
+            request.setAttribute(SENDFILE_END_ATTR, position + count);
+            return;
+        }
+
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(source, position, count, Channels.newChannel(response.getOutputStream()));
+        }
+        response.flushBuffer();
+    }
+
+    private void transfer(FileChannel source, long position, long count, WritableByteChannel target) throws IOException {
+        long end = position + count;
+        while (position < end) {
+            long sent = source.transferTo(position, end - position, target);
+            if (sent <= 0) {
+                throw new IOException("파일 전송이 중단되었습니다.");
+            }
+            position += sent;
+        }
+    }
+
+    private String contentRange(long start, long end, long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+
+    private String contentDisposition(String filename) {
+        // 파일명을 UTF-8로 인코딩하여 한글 파일명 지원
+        String encodedFilename = URLEncoder.encode(filename, StandardCharsets.UTF_8)
+                .replaceAll("\\+", "%20");
+        return "attachment; filename=\"" + filename + "\"; filename*=UTF-8''" + encodedFilename;
+    }
+}
@@ -1,58 +1,132 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StoredFile;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class FileService {
 
+    // 폼 필드 하나에 허용하는 최대 크기 (과제 설명 2000자 기준 여유있게 설정)
+    private static final int MAX_FORM_FIELD_BYTES = 64 * 1024;
+
+    private static final String DOWNLOAD_URL_PREFIX = "/files/download/";
+
+    private final FileBlobStore fileBlobStore;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
     public String saveFile(MultipartFile file, String prefix) throws IOException {
-        // 업로드 디렉토리 생성
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-            log.info("업로드 디렉토리 생성: {}", uploadPath.toAbsolutePath());
+        try (InputStream inputStream = file.getInputStream()) {
+            return saveStream(inputStream, file.getOriginalFilename(), prefix);
         }
+    }
 
-        // 파일명 생성 (중복 방지를 위해 타임스탬프와 UUID 사용)
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
+    /**
+     * 입력 스트림을 저장소에 기록하고 다운로드용 파일명을 반환
+     * 내용이 같은 파일이 이미 저장되어 있으면 본문은 다시 쓰지 않고 새 파일명만 연결된다. (FileBlobStore 참고)
+     */
+    public String saveStream(InputStream inputStream, String originalFilename, String prefix) throws IOException {
+        return store(inputStream, originalFilename, prefix).getFileName();
+    }
 
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        }
+    /**
+     * 디스크에 이미 조립된 파일을 저장소로 옮기고 다운로드용 파일명을 반환 (분할 업로드 완료 시 사용)
+     * 본문을 다시 복사하지 않고 이동하므로 source 는 업로드 디렉토리 아래에 있어야 한다.
+     */
+    public String saveLocalFile(Path source, String originalFilename, String prefix) throws IOException {
+        return fileBlobStore.storeFile(source, generateFileName(originalFilename, prefix), originalFilename).getFileName();
+    }
 
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
-        String fileName = String.format("%s_%s_%s%s",
-                prefix.replaceAll("[^a-zA-Z0-9가-힣_]", "_"),
-                timestamp,
-                uniqueId,
-                extension);
+    /**
+     * multipart/form-data 요청 본문을 직접 읽어 파일 파트를 바로 저장소에 기록
+     * 스프링 multipart 처리를 거치지 않으므로 요청 본문이 메모리나 임시 파일에 한 번 더 쌓이지 않는다.
+     * 폼 필드는 파일 파트보다 앞에 있는 것만 prefixResolver 에 전달된다.
+     *
+     * @param request        multipart 요청
+     * @param fileFieldName  저장할 파일 파트 이름
+     * @param prefixResolver 앞서 읽은 폼 필드로 파일명 접두사를 만드는 함수
+     * @return 저장 결과 (파일이 없으면 savedFileName 이 null)
+     */
+    public StreamedUpload saveMultipartStream(HttpServletRequest request,
+                                              String fileFieldName,
+                                              Function<Map<String, String>, String> prefixResolver) throws IOException {
+        if (!MultipartStreamParser.isMultipartContent(request)) {
+            throw new IllegalArgumentException("multipart/form-data 요청이 아닙니다.");
+        }
 
-        Path filePath = uploadPath.resolve(fileName);
+        MultipartStreamParser parser = new MultipartStreamParser();
+        Map<String, String> fields = new LinkedHashMap<>();
+        String savedFileName = null;
+        String originalFilename = null;
+        long size = 0L;
 
-        // 파일 저장
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            FileItemInputIterator items = parser.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
 
-        log.info("파일 저장 완료: {} -> {}", originalFilename, fileName);
+                if (item.isFormField()) {
+                    try (InputStream inputStream = item.getInputStream()) {
+                        fields.put(item.getFieldName(), readFormField(item.getFieldName(), inputStream));
+                    }
+                } else if (fileFieldName.equals(item.getFieldName())
+                        && savedFileName == null
+                        && item.getName() != null
+                        && !item.getName().isEmpty()) {
+                    originalFilename = item.getName();
+                    try (InputStream inputStream = item.getInputStream()) {
+                        StoredFile storedFile = store(inputStream, originalFilename, prefixResolver.apply(fields));
+                        savedFileName = storedFile.getFileName();
+                        size = storedFile.getBlob().getSize();
+                    }
+                }
+                // 그 외 파트는 읽지 않고 건너뛴다 (다음 파트로 넘어갈 때 남은 내용이 버려짐)
+            }
+        } catch (IOException | RuntimeException e) {
+            if (savedFileName != null) {
+                deleteFile(savedFileName);
+            }
+            throw e;
+        }
 
-        return fileName; // 저장된 파일명 반환
+        return StreamedUpload.builder()
+                .savedFileName(savedFileName)
+                .originalFilename(originalFilename)
+                .size(size)
+                .fields(fields)
+                .build();
     }
 
     // 학생 제출물용 편의 메소드
@@ -60,13 +134,31 @@ public class FileService {
         return saveFile(file, studentName);
     }
 
+    // 학생 제출물 스트리밍 업로드용 편의 메소드
+    public StreamedUpload saveStudentSubmission(HttpServletRequest request, String studentName) throws IOException {
+        return saveMultipartStream(request, "file", fields -> studentName);
+    }
+
     // 교수 과제 첨부파일용 편의 메소드
     public String saveAssignmentAttachment(MultipartFile file, String professorName, String assignmentTitle) throws IOException {
-        String prefix = String.format("%s_assignment_%s", professorName, assignmentTitle);
-        return saveFile(file, prefix);
+        return saveFile(file, assignmentAttachmentPrefix(professorName, assignmentTitle));
+    }
+
+    // 교수 과제 첨부파일 스트리밍 업로드용 편의 메소드 (과제 제목은 폼의 title 필드 사용)
+    public StreamedUpload saveAssignmentAttachment(HttpServletRequest request, String professorName) throws IOException {
+        return saveMultipartStream(request, "attachmentFile",
+                fields -> assignmentAttachmentPrefix(professorName, fields.getOrDefault("title", "")));
     }
 
+    /**
+     * 파일 삭제 - 저장소가 관리하는 파일은 참조만 해제하고, 마지막 참조일 때 본문이 삭제된다.
+     */
+    @Timed(value = "file.delete", description = "파일 삭제 시간", histogram = true)
     public boolean deleteFile(String fileName) {
+        if (fileBlobStore.release(fileName)) {
+            return true;
+        }
+
         try {
             Path filePath = Paths.get(uploadDir).resolve(fileName);
             boolean deleted = Files.deleteIfExists(filePath);
@@ -80,9 +172,91 @@ public class FileService {
         }
     }
 
+    /**
+     * 더 이상 쓰이지 않는 다운로드 URL 의 파일 참조 해제 (재제출, 첨부파일 교체 시 사용)
+     * 저장소 도입 이전의 파일은 여러 곳에서 같은 파일을 가리킬 수 있으므로 건드리지 않는다.
+     * 응답과 무관한 정리 작업이므로 요청 스레드를 붙잡지 않고 applicationTaskExecutor 에서 처리한다.
+     * (spring.threads.virtual.enabled=true 이면 가상 스레드, 아니면 스레드 풀)
+     */
+    public void releaseFileUrl(String fileUrl) {
+        if (fileUrl == null || !fileUrl.startsWith(DOWNLOAD_URL_PREFIX)) {
+            return;
+        }
+
+        String fileName = fileUrl.substring(DOWNLOAD_URL_PREFIX.length());
+        releaseInBackground(() -> releaseQuietly(fileName));
+    }
+
+    /**
+     * 삭제된 행들이 가리키던 다운로드 URL 의 파일 참조 해제 (수강 철회 등 일괄 삭제 시 사용)
+     * 롤백되면 행이 되살아나므로 트랜잭션이 커밋된 뒤에 한 작업으로 모아 해제한다. (트랜잭션 밖이면 바로 해제)
+     */
+    public void releaseFileUrlsAfterCommit(Collection<String> fileUrls) {
+        List<String> fileNames = fileUrls.stream()
+                .filter(fileUrl -> fileUrl != null && fileUrl.startsWith(DOWNLOAD_URL_PREFIX))
+                .map(fileUrl -> fileUrl.substring(DOWNLOAD_URL_PREFIX.length()))
+                .toList();
+        if (fileNames.isEmpty()) {
+            return;
+        }
+
+        Runnable release = () -> fileNames.forEach(this::releaseQuietly);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseInBackground(release);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseInBackground(release);
+            }
+        });
+    }
+
+    private void releaseInBackground(Runnable release) {
+        try {
+            applicationTaskExecutor.execute(release);
+        } catch (TaskRejectedException e) {
+            // 종료 중이거나 작업이 밀려 있으면 지금 스레드에서 처리
+            release.run();
+        }
+    }
+
+    private void releaseQuietly(String fileName) {
+        try {
+            fileBlobStore.release(fileName);
+        } catch (RuntimeException e) {
+            log.error("파일 참조 해제 중 오류 발생: {}", fileName, e);
+        }
+    }
+
+    /**
+     * 다운로드할 파일 경로 조회
+     * 저장소에 등록된 파일은 해시 본문 경로를, 그 외에는 업로드 디렉토리의 파일을 반환한다.
+     */
+    public Optional<Path> resolveFile(String fileName) {
+        return resolveDownload(fileName).map(StoredDownload::getPath);
+    }
+
+    /**
+     * 다운로드할 파일 경로와 내용 해시(다운로드 ETag 용)를 한 번의 조회로 확인
+     * 저장소 도입 이전 파일은 내용 해시가 null 이다.
+     */
+    public Optional<StoredDownload> resolveDownload(String fileName) {
+        Optional<StoredFile> storedFile = fileBlobStore.find(fileName);
+        if (storedFile.isPresent()) {
+            String hash = storedFile.get().getBlob().getHash();
+            Path blobPath = fileBlobStore.blobPath(hash);
+            return Files.isReadable(blobPath)
+                    ? Optional.of(StoredDownload.builder().path(blobPath).contentHash(hash).build())
+                    : Optional.empty();
+        }
+
+        return resolveLegacyFile(fileName).map(path -> StoredDownload.builder().path(path).build());
+    }
+
     public boolean fileExists(String fileName) {
-        Path filePath = Paths.get(uploadDir).resolve(fileName);
-        return Files.exists(filePath);
+        return resolveFile(fileName).isPresent();
     }
 
     public String getFileDisplayName(String fileName) {
@@ -101,4 +275,77 @@ public class FileService {
         }
         return "첨부파일";
     }
-}
\ No newline at end of file
+
+    private StoredFile store(InputStream inputStream, String originalFilename, String prefix) throws IOException {
+        return fileBlobStore.store(inputStream, generateFileName(originalFilename, prefix), originalFilename);
+    }
+
+    /**
+     * 저장소 도입 이전에 업로드 디렉토리에 바로 저장된 파일 경로 조회 (저장소 조회 없이 디스크만 확인)
+     * 업로드 디렉토리 밖을 가리키는 파일명(../ 등)은 거부한다.
+     */
+    public Optional<Path> resolveLegacyFile(String fileName) {
+        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path filePath = uploadPath.resolve(fileName).normalize();
+
+        if (!filePath.startsWith(uploadPath)) {
+            log.warn("업로드 디렉토리 밖의 파일 접근 시도: {}", fileName);
+            return Optional.empty();
+        }
+        if (!Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+            return Optional.empty();
+        }
+        return Optional.of(filePath);
+    }
+
+    private String generateFileName(String originalFilename, String prefix) {
+        // 파일명 생성 (중복 방지를 위해 타임스탬프와 UUID 사용)
+        String extension = "";
+
+        if (originalFilename != null && originalFilename.contains(".")) {
+            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
+        return String.format("%s_%s_%s%s",
+                prefix.replaceAll("[^a-zA-Z0-9가-힣_]", "_"),
+                timestamp,
+                uniqueId,
+                extension);
+    }
+
+    private String assignmentAttachmentPrefix(String professorName, String assignmentTitle) {
+        return String.format("%s_assignment_%s", professorName, assignmentTitle);
+    }
+
+    private String readFormField(String fieldName, InputStream inputStream) throws IOException {
+        byte[] bytes = inputStream.readNBytes(MAX_FORM_FIELD_BYTES + 1);
+        if (bytes.length > MAX_FORM_FIELD_BYTES) {
+            throw new IllegalArgumentException("폼 필드가 너무 큽니다: " + fieldName);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 다운로드할 파일 (contentHash 는 저장소에 등록된 파일만 있음)
+    @lombok.Builder
+    @lombok.Data
+    public static class StoredDownload {
+        private Path path;
+        private String contentHash;
+    }
+
+    // 스트리밍 업로드 결과
+    @lombok.Builder
+    @lombok.Data
+    public static class StreamedUpload {
+        private String savedFileName;
+        private String originalFilename;
+        private long size;
+        private Map<String, String> fields;
+
+        public boolean hasFile() {
+            return savedFileName != null;
+        }
+    }
+}
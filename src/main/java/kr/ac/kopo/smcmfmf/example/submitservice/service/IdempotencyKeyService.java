@@ -0,0 +1,110 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * 멱등 키 처리
+ * 클라이언트가 같은 키로 다시 보낸 요청(더블 클릭, 네트워크 재시도)은 작업을 다시 실행하지 않고 처음 요청의 결과를 돌려준다.
+ * - 처음 요청이 아직 처리 중이면 끝날 때까지 기다렸다가 같은 결과를 받는다.
+ * - 처음 요청이 실패하면 키를 지우므로 같은 키로 다시 시도할 수 있다.
+ * 키는 사용자별로 구분하며 메모리에 보관하므로 서버가 재시작되면 이전 키는 사라진다.
+ * 키는 이 노드의 메모리에만 있으므로 여러 노드로 늘리면 다른 노드로 간 재시도는 중복으로 걸러지지 않는다.
+ * 그때는 키를 공유 저장소(DB 유일 제약 등)로 옮겨야 한다. 제출 자체는 (과제, 학생) 유일 제약이 중복 행을 막는다.
+ * 보관 기간(idempotency.key-ttl)이 지난 키는 Caffeine 캐시가 요청마다 조금씩 정리하므로 전체 키를 훑지 않는다.
+ */
+@Service
+@Slf4j
+public class IdempotencyKeyService {
+
+    // 클라이언트가 만든 UUID 등을 받으므로 URL 에 그대로 쓸 수 있는 짧은 문자열만 허용
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+
+    private final Map<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyKeyService(@Value("${idempotency.key-ttl:24h}") Duration keyTtl,
+                                 @Value("${idempotency.wait-timeout:60s}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(keyTtl)
+                .<String, Entry>build()
+                .asMap();
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * 키가 처음이면 작업을 실행하고, 이미 처리했거나 처리 중인 키면 그 결과를 돌려준다.
+     * 키가 없으면 중복 확인 없이 작업을 실행한다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Long userId, String scope, String key, Action<T> action) throws IOException {
+        if (key == null || key.isBlank()) {
+            return action.run();
+        }
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("잘못된 멱등 키입니다.");
+        }
+
+        String entryKey = userId + ":" + scope + ":" + key;
+        Entry entry = new Entry();
+        Entry existing = entries.putIfAbsent(entryKey, entry);
+        if (existing != null) {
+            log.info("중복 요청, 처음 요청의 결과를 사용: user={}, scope={}", userId, scope);
+            return (T) existing.await(waitTimeout);
+        }
+
+        try {
+            T result = action.run();
+            entry.result.complete(result);
+            return result;
+        } catch (IOException | RuntimeException | Error e) {
+            // 실패한 요청은 기억하지 않는다 - 기다리던 중복 요청에는 같은 예외를 전달
+            entries.remove(entryKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 멱등 키로 보호할 작업
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws IOException;
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Object await(Duration timeout) throws IOException {
+            try {
+                return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw (Error) cause;
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("같은 요청을 아직 처리하고 있습니다. 잠시 후 다시 확인해주세요.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("중복 요청 대기 중 인터럽트 발생", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload2.core.AbstractFileUpload;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadException;
+import org.apache.commons.fileupload2.core.RequestContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * multipart/form-data 요청 본문을 파트 단위로 순서대로 읽어들이는 스트리밍 파서
+ * 파트를 메모리나 임시 파일에 모아두지 않으므로 iterator 방식만 제공한다.
+ */
+class MultipartStreamParser {
+
+    private final ServletFileUpload upload = new ServletFileUpload();
+
+    // 파일 크기 제한은 FileService 에서 기록하면서 직접 검사한다
+    MultipartStreamParser() {
+        upload.setHeaderCharset(StandardCharsets.UTF_8);
+    }
+
+    static boolean isMultipartContent(HttpServletRequest request) {
+        return "POST".equalsIgnoreCase(request.getMethod())
+                && AbstractFileUpload.isMultipartContent(new ServletRequestContext(request));
+    }
+
+    FileItemInputIterator getItemIterator(HttpServletRequest request) throws FileUploadException, IOException {
+        return upload.getItemIterator(request);
+    }
+
+    // 서블릿 요청을 RequestContext 로 감싸 fileupload 의 공통 구현에 넘긴다
+    private static class ServletFileUpload extends AbstractFileUpload<HttpServletRequest, DiskFileItem, DiskFileItemFactory> {
+
+        @Override
+        public FileItemInputIterator getItemIterator(HttpServletRequest request) throws FileUploadException, IOException {
+            return getItemIterator(new ServletRequestContext(request));
+        }
+
+        @Override
+        public Map<String, List<DiskFileItem>> parseParameterMap(HttpServletRequest request) throws FileUploadException {
+            return parseParameterMap(new ServletRequestContext(request));
+        }
+
+        @Override
+        public List<DiskFileItem> parseRequest(HttpServletRequest request) throws FileUploadException {
+            return parseRequest(new ServletRequestContext(request));
+        }
+    }
+
+    private static class ServletRequestContext implements RequestContext {
+        private final HttpServletRequest request;
+
+        ServletRequestContext(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return request.getCharacterEncoding();
+        }
+
+        @Override
+        public long getContentLength() {
+            return request.getContentLengthLong();
+        }
+
+        @Override
+        public String getContentType() {
+            return request.getContentType();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return request.getInputStream();
+        }
+
+        @Override
+        public boolean isMultipartRelated() {
+            String contentType = request.getContentType();
+            return contentType != null && contentType.toLowerCase().startsWith("multipart/related");
+        }
+    }
+}
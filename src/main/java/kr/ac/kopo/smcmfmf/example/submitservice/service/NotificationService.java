@@ -0,0 +1,216 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import jakarta.annotation.PreDestroy;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentClosedEvent;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.DeadlineExtendedEvent;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.GradeReleasedEvent;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.EnrollmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 실시간 알림 (Server-Sent Events)
+ * 로그인한 사용자마다 SSE 연결을 열어 두고 마감일 연장, 과제 마감, 평가 완료를 바로 보내 준다. 학생이 목록 화면을 반복해서 새로고침하지 않아도 된다.
+ * - 대기 중인 연결은 비동기 요청이라 요청 스레드를 잡지 않는다. 전송은 이벤트가 있을 때만 applicationTaskExecutor 에서 연결마다 따로 한다. (느린 연결이 다른 연결을 막지 않음)
+ * - 연결이 살아 있는지 주기적으로 빈 주석을 보내 확인하고, 끊긴 연결은 목록에서 뺀다. 연결 유지 시간이 지나면 서버가 닫고 브라우저가 자동으로 다시 연결한다.
+ * - 알림은 트랜잭션이 커밋된 뒤에 보낸다. 연결은 이 노드의 메모리에만 있으므로 여러 노드로 늘리면 노드 사이 전달이 필요하다.
+ */
+@Service
+@Slf4j
+public class NotificationService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final Duration timeout;
+    private final int maxConnectionsPerUser;
+
+    // 사용자 ID -> 열린 연결 (탭마다 하나, 먼저 연 순서)
+    private final Map<Long, Queue<SseEmitter>> connections = new ConcurrentHashMap<>();
+
+    public NotificationService(EnrollmentRepository enrollmentRepository,
+                               AsyncTaskExecutor applicationTaskExecutor,
+                               @Value("${notification.sse.timeout:30m}") Duration timeout,
+                               @Value("${notification.sse.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.timeout = timeout;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    /**
+     * 알림 연결 열기 - 사용자당 연결 수를 넘으면 가장 오래된 연결을 닫는다
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        // 마지막 연결이 끊기며 목록이 지워지는 것과 겹치지 않도록 같은 키의 compute 안에서 추가
+        Queue<SseEmitter> userConnections = connections.compute(userId, (id, existing) -> {
+            Queue<SseEmitter> queue = existing != null ? existing : new ConcurrentLinkedQueue<>();
+            queue.add(emitter);
+            return queue;
+        });
+
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unregister(userId, emitter));
+
+        while (userConnections.size() > maxConnectionsPerUser) {
+            SseEmitter oldest = userConnections.poll();
+            if (oldest != null) {
+                oldest.complete();
+            }
+        }
+
+        // 연결 직후 한 번 보내 프록시가 응답 헤더를 바로 내려보내게 한다
+        send(userId, emitter, SseEmitter.event().name("connected").data("ok"));
+        return emitter;
+    }
+
+    public int getConnectionCount() {
+        return connections.values().stream().mapToInt(Collection::size).sum();
+    }
+
+    /**
+     * 마감일 연장 - 과목 수강생에게 알림
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeadlineExtended(DeadlineExtendedEvent event) {
+        AssignmentDeadline assignment = event.getAssignment();
+        notifyCourse(assignment.getCourseId(), "deadline-extended", DeadlineNotification.builder()
+                .assignmentId(assignment.getAssignmentId())
+                .courseId(assignment.getCourseId())
+                .title(assignment.getTitle())
+                .deadline(assignment.getDeadline())
+                .previousDeadline(event.getPreviousDeadline())
+                .build());
+    }
+
+    /**
+     * 과제 마감 - 과목 수강생에게 알림 (마감 인덱스의 타이머에서 호출됨)
+     */
+    @EventListener
+    public void onAssignmentClosed(AssignmentClosedEvent event) {
+        AssignmentDeadline assignment = event.getAssignment();
+        notifyCourse(assignment.getCourseId(), "assignment-closed", DeadlineNotification.builder()
+                .assignmentId(assignment.getAssignmentId())
+                .courseId(assignment.getCourseId())
+                .title(assignment.getTitle())
+                .deadline(assignment.getDeadline())
+                .build());
+    }
+
+    /**
+     * 평가 완료 - 제출한 학생에게 알림
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeReleased(GradeReleasedEvent event) {
+        notifyUser(event.getStudentId(), "grade-released", GradeNotification.builder()
+                .submissionId(event.getSubmissionId())
+                .assignmentId(event.getAssignmentId())
+                .assignmentTitle(event.getAssignmentTitle())
+                .grade(event.getGrade())
+                .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(SseEmitter::complete));
+        connections.clear();
+    }
+
+    // 연결된 사용자가 없으면 수강생 조회도 하지 않는다
+    private void notifyCourse(Long courseId, String name, Object data) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        execute(() -> {
+            Set<Long> studentIds = enrollmentRepository.findStudentIdsByCourseId(courseId);
+            studentIds.forEach(studentId -> notifyUser(studentId, name, data));
+        });
+    }
+
+    private void notifyUser(Long userId, String name, Object data) {
+        Queue<SseEmitter> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (SseEmitter emitter : userConnections) {
+            execute(() -> send(userId, emitter, SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.sse.heartbeat-interval:30s}",
+            initialDelayString = "${notification.sse.heartbeat-interval:30s}")
+    public void sendHeartbeats() {
+        connections.forEach((userId, userConnections) -> {
+            for (SseEmitter emitter : userConnections) {
+                execute(() -> send(userId, emitter, SseEmitter.event().comment("ping")));
+            }
+        });
+    }
+
+    // 실패한 연결은 목록에서만 빼고, 응답 정리는 서블릿 컨테이너의 오류 처리(onError)에 맡긴다
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("알림 연결 끊김: userId={}, {}", userId, e.getMessage());
+            unregister(userId, emitter);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            applicationTaskExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            log.warn("알림 전송 작업을 실행할 수 없습니다: {}", e.getMessage());
+        }
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        connections.computeIfPresent(userId, (id, userConnections) -> {
+            userConnections.remove(emitter);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    // 마감일 연장/과제 마감 알림 내용
+    @lombok.Builder
+    @lombok.Data
+    public static class DeadlineNotification {
+        private Long assignmentId;
+        private Long courseId;
+        private String title;
+        private LocalDateTime deadline;
+        private LocalDateTime previousDeadline;
+    }
+
+    // 평가 완료 알림 내용
+    @lombok.Builder
+    @lombok.Data
+    public static class GradeNotification {
+        private Long submissionId;
+        private Long assignmentId;
+        private String assignmentTitle;
+        private BigDecimal grade;
+    }
+}
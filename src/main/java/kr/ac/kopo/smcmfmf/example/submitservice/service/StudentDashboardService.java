@@ -0,0 +1,392 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StudentDashboard;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.AssignmentRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.CourseRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.StudentDashboardRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 학생 대시보드 읽기 모델 관리
+ * 대시보드는 학생이 가장 자주 여는 화면이라, 필요한 내용을 학생별 JSON 문서(student_dashboards)로 미리 만들어 두고 기본 키 조회 한 번으로 읽는다.
+ * - 학생 한 명에게만 해당하는 변경(제출/평가 완료/평가 취소, 수강 신청)은 그 트랜잭션 안에서 그 학생의 문서를 고친다.
+ * - 여러 학생에 걸친 변경(과제 등록/수정/삭제, 일괄 수강 신청/철회, 과목 삭제)은 문서를 지우기만 하고, 학생이 다음에 조회할 때 다시 만든다.
+ *   교수의 트랜잭션이 수강생 수만큼 문서를 읽고 고쳐 쓰며 잠그지 않게 하기 위해서다.
+ * - 과제 수는 과제별 마감일로 화면을 그릴 때 계산하므로, 마감 시각이 지나는 것만으로는 문서를 고치지 않는다.
+ * - 문서가 없는 학생(초기 데이터, 대량 적재, 무효화된 문서)은 갱신을 건너뛰고, 처음 조회할 때 테이블에서 만들어 저장한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentDashboardService {
+
+    private final StudentDashboardRepository studentDashboardRepository;
+    private final CourseRepository courseRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 대시보드 조회 (기본 키 조회 1회, 문서가 없으면 만들어 저장)
+     */
+    public DashboardDocument getDashboard(User student) {
+        Optional<StudentDashboard> dashboard = studentDashboardRepository.findById(student.getId());
+        if (dashboard.isPresent()) {
+            return read(dashboard.get());
+        }
+
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> rebuild(student));
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            // 같은 학생의 첫 조회가 동시에 들어와 다른 요청이 먼저 저장한 경우
+            log.debug("대시보드 문서를 다른 요청이 먼저 만듦: studentId={}", student.getId());
+            return studentDashboardRepository.findById(student.getId())
+                    .map(this::read)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * 신규 학생 계정의 빈 대시보드 생성
+     */
+    @Transactional
+    public void initialize(Long studentId) {
+        save(studentId, new DashboardDocument());
+    }
+
+    /**
+     * 학생 대시보드를 테이블에서 다시 만든다 (문서가 없거나 어긋났을 때)
+     */
+    @Transactional
+    public DashboardDocument rebuild(User student) {
+        List<Course> courses = courseRepository.findStudentCoursesOrderByCreatedAtDesc(student);
+        Map<Long, Submission> submissions = submissionRepository.findByStudent(student).stream()
+                .collect(Collectors.toMap(s -> s.getAssignment().getAssignmentId(), Function.identity()));
+
+        Map<Long, List<Assignment>> assignments = courses.isEmpty() ? Map.of()
+                : assignmentRepository.findByCourseIds(courses.stream().map(Course::getCourseId).toList()).stream()
+                .collect(Collectors.groupingBy(a -> a.getCourse().getCourseId()));
+
+        DashboardDocument document = new DashboardDocument();
+        for (Course course : courses) {
+            document.putCourse(toCourse(course, assignments.getOrDefault(course.getCourseId(), List.of()), submissions));
+        }
+        save(student.getId(), document);
+        log.info("대시보드 문서 생성: studentId={}, 과목 {}개", student.getId(), courses.size());
+        return document;
+    }
+
+    /**
+     * 수강 신청 반영 - 수강 철회 시 제출물이 함께 삭제되므로 새로 등록된 학생은 이 과목에 제출물이 없다
+     * 일괄 수강 신청은 문서를 무효화한다.
+     */
+    @Transactional
+    public void courseEnrolled(Course course, Collection<Long> studentIds) {
+        if (studentIds.size() != 1) {
+            invalidate(studentIds);
+            return;
+        }
+        DashboardCourse entry = toCourse(course, assignmentRepository.findByCourse(course), Map.of());
+        update(studentIds, document -> document.putCourse(entry));
+    }
+
+    /**
+     * 수강 철회 반영
+     */
+    @Transactional
+    public void courseWithdrawn(Collection<Long> studentIds, Long courseId) {
+        if (studentIds.size() != 1) {
+            invalidate(studentIds);
+            return;
+        }
+        update(studentIds, document -> document.removeCourse(courseId));
+    }
+
+    /**
+     * 과목 삭제 반영 (수강생 ID 는 수강신청을 지우기 전에 조회해 둔다)
+     */
+    @Transactional
+    public void courseDeleted(Long courseId, Collection<Long> studentIds) {
+        invalidate(studentIds);
+    }
+
+    /**
+     * 과제 등록/수정/마감일 연장 반영 - 과목 수강생 모두의 문서를 무효화한다 (DELETE 한 번)
+     */
+    @Transactional
+    public void assignmentSaved(Assignment assignment) {
+        invalidateCourse(assignment.getCourse().getCourseId());
+    }
+
+    /**
+     * 과제 삭제 반영
+     */
+    @Transactional
+    public void assignmentDeleted(Long courseId) {
+        invalidateCourse(courseId);
+    }
+
+    /**
+     * 제출/재제출/평가 완료/평가 취소 반영 - 임시 저장한 점수는 학생에게 보이지 않으므로 평가 완료된 경우에만 점수를 담는다
+     */
+    @Transactional
+    public void submissionChanged(Submission submission) {
+        Long assignmentId = submission.getAssignment().getAssignmentId();
+        Long courseId = submission.getAssignment().getCourse().getCourseId();
+        SubmissionStatus status = submission.isGradingCompleted() ? SubmissionStatus.GRADED : SubmissionStatus.SUBMITTED;
+        BigDecimal grade = status == SubmissionStatus.GRADED ? submission.getGrade() : null;
+
+        update(List.of(submission.getStudent().getId()), document -> document.findCourse(courseId)
+                .flatMap(course -> course.findAssignment(assignmentId))
+                .ifPresent(assignment -> {
+                    assignment.setStatus(status);
+                    assignment.setGrade(grade);
+                }));
+    }
+
+    // 문서가 있는 학생만 잠그고 고친다 (변경 감지로 커밋 때 반영)
+    private void update(Collection<Long> studentIds, Consumer<DashboardDocument> change) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (StudentDashboard dashboard : studentDashboardRepository.findAllForUpdate(studentIds)) {
+            DashboardDocument document = read(dashboard);
+            change.accept(document);
+            dashboard.setContent(write(document));
+            dashboard.setUpdatedAt(now);
+        }
+    }
+
+    private void invalidate(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        int deleted = studentDashboardRepository.deleteAllByStudentIds(studentIds);
+        log.debug("대시보드 문서 무효화: 학생 {}명, 문서 {}개", studentIds.size(), deleted);
+    }
+
+    private void invalidateCourse(Long courseId) {
+        int deleted = studentDashboardRepository.deleteAllByCourseId(courseId);
+        log.debug("대시보드 문서 무효화: courseId={}, 문서 {}개", courseId, deleted);
+    }
+
+    private void save(Long studentId, DashboardDocument document) {
+        StudentDashboard dashboard = studentDashboardRepository.findAllForUpdate(List.of(studentId)).stream()
+                .findFirst()
+                .orElseGet(() -> StudentDashboard.builder().studentId(studentId).build());
+        dashboard.setContent(write(document));
+        dashboard.setUpdatedAt(LocalDateTime.now());
+        studentDashboardRepository.saveAndFlush(dashboard);
+    }
+
+    private DashboardCourse toCourse(Course course, List<Assignment> assignments, Map<Long, Submission> submissions) {
+        DashboardCourse entry = DashboardCourse.builder()
+                .courseId(course.getCourseId())
+                .name(course.getName())
+                .code(course.getCode())
+                .professorName(course.getProfessor().getName())
+                .createdAt(course.getCreatedAt())
+                .build();
+        for (Assignment assignment : assignments) {
+            DashboardAssignment item = entry.putAssignment(assignment);
+            Submission submission = submissions.get(assignment.getAssignmentId());
+            if (submission != null) {
+                item.setStatus(submission.isGradingCompleted() ? SubmissionStatus.GRADED : SubmissionStatus.SUBMITTED);
+                item.setGrade(submission.isGradingCompleted() ? submission.getGrade() : null);
+            }
+        }
+        return entry;
+    }
+
+    private DashboardDocument read(StudentDashboard dashboard) {
+        try {
+            return objectMapper.readValue(dashboard.getContent(), DashboardDocument.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("대시보드 문서를 읽을 수 없습니다: studentId=" + dashboard.getStudentId(), e);
+        }
+    }
+
+    private String write(DashboardDocument document) {
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("대시보드 문서를 저장할 수 없습니다.", e);
+        }
+    }
+
+    public enum SubmissionStatus {
+        NOT_SUBMITTED("미제출"),
+        SUBMITTED("제출 완료"),
+        GRADED("평가 완료");
+
+        private final String displayName;
+
+        SubmissionStatus(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    // 학생 대시보드 문서 (수강 과목은 과목 생성일 최신순)
+    @lombok.Data
+    public static class DashboardDocument {
+        private static final Comparator<DashboardCourse> COURSE_ORDER = Comparator
+                .comparing(DashboardCourse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(DashboardCourse::getCourseId, Comparator.reverseOrder());
+
+        private List<DashboardCourse> courses = new ArrayList<>();
+
+        /**
+         * 지금부터 within 안에 마감되는 과제 (마감일 순)
+         */
+        public List<UpcomingAssignment> getUpcomingAssignments(Duration within) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime threshold = now.plus(within);
+            return courses.stream()
+                    .flatMap(course -> course.getAssignments().stream()
+                            .filter(a -> a.getDeadline().isAfter(now) && !a.getDeadline().isAfter(threshold))
+                            .map(a -> UpcomingAssignment.builder()
+                                    .assignmentId(a.getAssignmentId())
+                                    .courseId(course.getCourseId())
+                                    .courseName(course.getName())
+                                    .title(a.getTitle())
+                                    .deadline(a.getDeadline())
+                                    .status(a.getStatus())
+                                    .build()))
+                    .sorted(Comparator.comparing(UpcomingAssignment::getDeadline))
+                    .toList();
+        }
+
+        Optional<DashboardCourse> findCourse(Long courseId) {
+            return courses.stream().filter(c -> c.getCourseId().equals(courseId)).findFirst();
+        }
+
+        void putCourse(DashboardCourse course) {
+            removeCourse(course.getCourseId());
+            courses.add(course);
+            courses.sort(COURSE_ORDER);
+        }
+
+        void removeCourse(Long courseId) {
+            courses.removeIf(c -> c.getCourseId().equals(courseId));
+        }
+    }
+
+    // 수강 과목 (과제는 마감일 순)
+    @lombok.Builder
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class DashboardCourse {
+        private Long courseId;
+        private String name;
+        private String code;
+        private String professorName;
+        private LocalDateTime createdAt;
+        @lombok.Builder.Default
+        private List<DashboardAssignment> assignments = new ArrayList<>();
+
+        // 마감 전 과제 수
+        @JsonIgnore
+        public long getOpenAssignmentCount() {
+            LocalDateTime now = LocalDateTime.now();
+            return assignments.stream().filter(a -> a.getDeadline().isAfter(now)).count();
+        }
+
+        // 마감일이 가장 가까운 마감 전 과제 (없으면 null)
+        @JsonIgnore
+        public DashboardAssignment getNextAssignment() {
+            LocalDateTime now = LocalDateTime.now();
+            return assignments.stream().filter(a -> a.getDeadline().isAfter(now)).findFirst().orElse(null);
+        }
+
+        @JsonIgnore
+        public long getSubmittedCount() {
+            return assignments.stream().filter(a -> a.getStatus() != SubmissionStatus.NOT_SUBMITTED).count();
+        }
+
+        @JsonIgnore
+        public long getGradedCount() {
+            return assignments.stream().filter(a -> a.getStatus() == SubmissionStatus.GRADED).count();
+        }
+
+        Optional<DashboardAssignment> findAssignment(Long assignmentId) {
+            return assignments.stream().filter(a -> a.getAssignmentId().equals(assignmentId)).findFirst();
+        }
+
+        // 과제 추가 또는 제목/마감일 갱신 (제출 상태는 유지)
+        DashboardAssignment putAssignment(Assignment assignment) {
+            DashboardAssignment item = findAssignment(assignment.getAssignmentId()).orElseGet(() -> {
+                DashboardAssignment created = DashboardAssignment.builder()
+                        .assignmentId(assignment.getAssignmentId())
+                        .status(SubmissionStatus.NOT_SUBMITTED)
+                        .build();
+                assignments.add(created);
+                return created;
+            });
+            item.setTitle(assignment.getTitle());
+            item.setDeadline(assignment.getDeadline());
+            assignments.sort(Comparator.comparing(DashboardAssignment::getDeadline)
+                    .thenComparing(DashboardAssignment::getAssignmentId));
+            return item;
+        }
+    }
+
+    // 과제와 학생의 제출 상태 (점수는 평가 완료된 경우에만)
+    @lombok.Builder
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class DashboardAssignment {
+        private Long assignmentId;
+        private String title;
+        private LocalDateTime deadline;
+        private SubmissionStatus status;
+        private BigDecimal grade;
+    }
+
+    // 마감 임박 과제 (대시보드 표시용)
+    @lombok.Builder
+    @lombok.Data
+    public static class UpcomingAssignment {
+        private Long assignmentId;
+        private Long courseId;
+        private String courseName;
+        private String title;
+        private LocalDateTime deadline;
+        private SubmissionStatus status;
+    }
+}
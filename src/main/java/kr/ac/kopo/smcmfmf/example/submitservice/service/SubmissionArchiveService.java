@@ -0,0 +1,207 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StoredFile;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.SubmissionView;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 과제 제출물 전체를 ZIP 으로 묶어 바로 응답에 쓰는 서비스
+ * 임시 압축 파일을 만들지 않고 파일을 하나씩 읽어 스트림에 기록하므로 학생 수와 관계없이 메모리 사용량이 일정하다.
+ * 이미 압축된 형식(pdf, docx, zip, 이미지 등)은 다시 압축해도 줄지 않으므로 무압축(STORED)으로 넣는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionArchiveService {
+
+    private static final String DOWNLOAD_URL_PREFIX = "/files/download/";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // 압축해도 크기가 거의 줄지 않는 확장자
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "zip", "7z", "rar", "gz", "tgz", "bz2", "xz", "jar", "war", "egg", "alz",
+            "pdf", "docx", "xlsx", "pptx", "hwpx", "odt", "ods", "odp",
+            "jpg", "jpeg", "png", "gif", "webp", "heic",
+            "mp3", "m4a", "aac", "ogg", "mp4", "mov", "avi", "mkv", "webm");
+
+    private final SubmissionRepository submissionRepository;
+    private final FileBlobStore fileBlobStore;
+    private final FileService fileService;
+
+    /**
+     * 과제의 제출 파일 목록 구성 (파일이 없는 제출물은 건너뜀)
+     * 학생 이름은 제출물 조회 모델로 한 번에 읽어 제출물마다 학생을 따로 불러오지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public List<ArchiveEntry> collectEntries(Assignment assignment) {
+        List<SubmissionView> submissions = submissionRepository.findViewsByAssignment(assignment);
+
+        List<String> fileNames = submissions.stream()
+                .map(SubmissionView::getFileUrl)
+                .filter(url -> url != null && url.startsWith(DOWNLOAD_URL_PREFIX))
+                .map(url -> url.substring(DOWNLOAD_URL_PREFIX.length()))
+                .toList();
+        Map<String, StoredFile> storedFiles = fileBlobStore.findAll(fileNames).stream()
+                .collect(Collectors.toMap(StoredFile::getFileName, Function.identity()));
+
+        List<ArchiveEntry> entries = new ArrayList<>(submissions.size());
+        Set<String> usedNames = new HashSet<>();
+        for (SubmissionView submission : submissions) {
+            String fileUrl = submission.getFileUrl();
+            if (fileUrl == null || !fileUrl.startsWith(DOWNLOAD_URL_PREFIX)) {
+                continue;
+            }
+            String fileName = fileUrl.substring(DOWNLOAD_URL_PREFIX.length());
+            StoredFile storedFile = storedFiles.get(fileName);
+
+            ArchiveEntry.ArchiveEntryBuilder entry = ArchiveEntry.builder()
+                    .lastModified(submission.getSubmittedAt());
+
+            if (storedFile != null) {
+                entry.path(fileBlobStore.blobPath(storedFile.getBlob().getHash()))
+                        .size(storedFile.getBlob().getSize())
+                        .crc32(storedFile.getBlob().getCrc32());
+            } else {
+                // 저장소 도입 이전 파일은 크기만 확인하고 CRC 는 기록할 때 계산
+                Optional<Path> legacyPath = fileService.resolveLegacyFile(fileName);
+                if (legacyPath.isEmpty()) {
+                    log.warn("묶음 다운로드 - 파일 없음: submissionId={}, file={}", submission.getSubmissionId(), fileName);
+                    continue;
+                }
+                entry.path(legacyPath.get()).size(-1);
+            }
+
+            String originalFilename = storedFile != null && storedFile.getOriginalFilename() != null
+                    ? storedFile.getOriginalFilename()
+                    : fileName;
+            String entryName = uniqueName(usedNames, String.format("%s_%d_%s",
+                    submission.getStudentName(), submission.getStudentId(), originalFilename));
+            entries.add(entry.name(entryName).stored(isCompressed(originalFilename)).build());
+        }
+        return entries;
+    }
+
+    /**
+     * ZIP 스트림 기록 - 호출한 쪽에서 out 을 닫는다
+     * 목록을 만든 뒤 삭제된 파일(재제출, 제출물 삭제)은 경고만 남기고 건너뛴다. 응답이 이미 나가는 중이므로 중간에 실패하면 ZIP 이 잘린다.
+     */
+    public void writeArchive(List<ArchiveEntry> entries, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, COPY_BUFFER_SIZE));
+        // 서버 CPU 보다 전송이 병목인 경우가 대부분이므로 가장 빠른 압축 수준 사용
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int skipped = 0;
+        for (ArchiveEntry entry : entries) {
+            ZipEntry zipEntry = new ZipEntry(entry.getName());
+            if (entry.getLastModified() != null) {
+                zipEntry.setLastModifiedTime(FileTime.from(entry.getLastModified().atZone(ZoneId.systemDefault()).toInstant()));
+            }
+
+            // 항목을 시작하기 전에 파일을 열어 둔다 (연 뒤에 삭제되어도 끝까지 읽을 수 있다)
+            InputStream in;
+            try {
+                if (entry.isStored()) {
+                    long size = entry.getSize() >= 0 ? entry.getSize() : Files.size(entry.getPath());
+                    long crc32 = entry.getCrc32() != null ? entry.getCrc32() : crc32(entry.getPath(), buffer);
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(size);
+                    zipEntry.setCompressedSize(size);
+                    zipEntry.setCrc(crc32);
+                } else {
+                    zipEntry.setMethod(ZipEntry.DEFLATED);
+                }
+                in = Files.newInputStream(entry.getPath());
+            } catch (NoSuchFileException e) {
+                log.warn("묶음 다운로드 - 기록 중 파일이 삭제되어 건너뜀: {} ({})", entry.getName(), entry.getPath());
+                skipped++;
+                continue;
+            }
+
+            zip.putNextEntry(zipEntry);
+            try (in) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+            zip.closeEntry();
+        }
+
+        zip.finish();
+        zip.flush();
+        log.info("제출물 묶음 다운로드 완료: 파일 {}개, 건너뜀 {}개", entries.size() - skipped, skipped);
+    }
+
+    private long crc32(Path path, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = new CheckedInputStream(Files.newInputStream(path), crc)) {
+            while (in.read(buffer) != -1) {
+                // CRC 계산만 수행
+            }
+        }
+        return crc.getValue();
+    }
+
+    private boolean isCompressed(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    // ZIP 안에서 경로로 해석되지 않도록 구분자를 바꾸고, 이름이 겹치면 번호를 붙인다
+    private String uniqueName(Set<String> usedNames, String name) {
+        String safeName = name.replaceAll("[/\\\\:*?\"<>|]", "_");
+        String candidate = safeName;
+        int dot = safeName.lastIndexOf('.');
+        for (int i = 2; !usedNames.add(candidate); i++) {
+            candidate = dot > 0
+                    ? safeName.substring(0, dot) + "(" + i + ")" + safeName.substring(dot)
+                    : safeName + "(" + i + ")";
+        }
+        return candidate;
+    }
+
+    // ZIP 에 넣을 파일 하나
+    @lombok.Builder
+    @lombok.Data
+    public static class ArchiveEntry {
+        private String name;
+        private Path path;
+        // 알 수 없으면 -1
+        private long size;
+        // 알 수 없으면 null
+        private Long crc32;
+        private boolean stored;
+        private LocalDateTime lastModified;
+    }
+}
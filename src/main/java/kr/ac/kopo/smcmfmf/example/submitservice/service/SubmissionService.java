@@ -1,31 +1,76 @@
 package kr.ac.kopo.smcmfmf.example.submitservice.service;
 
+import io.micrometer.core.annotation.Timed;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.GradeReleasedEvent;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.SubmissionView;
 import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
 import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SubmissionService {
 
+    // 동시 제출 충돌 시 최대 시도 횟수 (첫 제출 INSERT 경합은 한 번 더 시도하면 재제출로 처리됨)
+    private static final int MAX_SUBMIT_ATTEMPTS = 3;
+
     private final SubmissionRepository submissionRepository;
+    private final FileService fileService;
+    private final StudentDashboardService studentDashboardService;
+    private final CourseCounterService courseCounterService;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
+    /**
+     * 과제 제출 (재제출이면 기존 제출물을 새 파일로 교체)
+     * 기존 제출물은 행 잠금을 걸고 읽으므로 같은 학생의 재제출은 차례로 처리된다.
+     * 첫 제출이 동시에 들어오면 유니크 제약(과제, 학생)으로 한쪽 INSERT 가 실패하고, 실패한 쪽은 새 트랜잭션에서 재제출로 처리한다.
+     * 교체된 이전 파일은 커밋된 뒤에 한 번만 참조를 해제한다.
+     */
+    @Timed(value = "submission.submit", description = "과제 제출 처리 시간", histogram = true)
     public Submission submitAssignment(Assignment assignment, User student, String fileUrl) {
         log.info("과제 제출 처리: assignment={}, student={}", assignment.getTitle(), student.getName());
 
-        Optional<Submission> existingSubmission = submissionRepository.findByAssignmentAndStudent(assignment, student);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                SubmitResult result = transactionTemplate().execute(status -> saveSubmission(assignment, student, fileUrl));
+
+                // 재제출이면 이전 제출 파일의 참조를 해제한다 (같은 내용이면 본문은 그대로 유지됨)
+                if (result.replacedFileUrl != null && !result.replacedFileUrl.equals(fileUrl)) {
+                    fileService.releaseFileUrl(result.replacedFileUrl);
+                }
+                return result.submission;
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                if (attempt >= MAX_SUBMIT_ATTEMPTS) {
+                    log.warn("동시 제출 충돌로 제출 실패: assignment={}, student={}", assignment.getTitle(), student.getName());
+                    throw new IllegalStateException("같은 과제의 제출이 동시에 처리되고 있습니다. 잠시 후 다시 시도해주세요.", e);
+                }
+                log.info("동시 제출 충돌, 다시 시도: assignment={}, student={}, attempt={}",
+                        assignment.getTitle(), student.getName(), attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private SubmitResult saveSubmission(Assignment assignment, User student, String fileUrl) {
+        Optional<Submission> existingSubmission = submissionRepository.findForUpdate(assignment, student);
 
         if (existingSubmission.isPresent()) {
             // 기존 제출물이 있는 경우 - 재제출
@@ -36,10 +81,13 @@ public class SubmissionService {
                 throw new IllegalStateException("이미 평가가 완료된 과제입니다. 재제출할 수 없습니다.");
             }
 
-            // 재제출 처리
+            // 재제출 처리 (평가 완료 등 잠금 없이 수정된 경우는 @Version 으로 충돌을 확인)
+            String previousFileUrl = submission.getFileUrl();
             submission.resubmit(fileUrl);
+            Submission saved = submissionRepository.saveAndFlush(submission);
+            studentDashboardService.submissionChanged(saved);
             log.info("과제 재제출 완료: {}", assignment.getTitle());
-            return submissionRepository.save(submission);
+            return new SubmitResult(saved, previousFileUrl);
         } else {
             // 새로운 제출물 생성
             Submission newSubmission = Submission.builder()
@@ -49,11 +97,28 @@ public class SubmissionService {
                     .isGraded(false)
                     .build();
 
+            Submission saved = submissionRepository.saveAndFlush(newSubmission);
+            courseCounterService.submissionCreated(student.getId(), assignment.getCourse().getCourseId());
+            studentDashboardService.submissionChanged(saved);
             log.info("과제 새 제출 완료: {}", assignment.getTitle());
-            return submissionRepository.save(newSubmission);
+            return new SubmitResult(saved, null);
         }
     }
 
+    // 같은 순간에 다시 부딪히지 않도록 시도 횟수에 비례한 임의 시간만큼 대기
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(10, 50) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("제출 처리 중 인터럽트 발생", e);
+        }
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
     @Transactional(readOnly = true)
     public List<Submission> getSubmissionsByAssignment(Assignment assignment) {
         return submissionRepository.findByAssignment(assignment);
@@ -69,6 +134,61 @@ public class SubmissionService {
         return submissionRepository.findByStudent(student);
     }
 
+    /**
+     * 과제별 제출물 화면 표시용 조회 (학생 정보 포함, 쿼리 1회)
+     */
+    @Transactional(readOnly = true)
+    public List<SubmissionView> getSubmissionViewsByAssignment(Assignment assignment) {
+        return submissionRepository.findViewsByAssignment(assignment);
+    }
+
+    /**
+     * 학생별 제출물 화면 표시용 조회 (과제, 과목 정보 포함, 쿼리 1회)
+     */
+    @Transactional(readOnly = true)
+    public List<SubmissionView> getSubmissionViewsByStudent(User student) {
+        return submissionRepository.findViewsByStudent(student);
+    }
+
+    /**
+     * 제출물 한 건 화면 표시용 조회 (과제, 학생 정보 포함, 쿼리 1회)
+     */
+    @Transactional(readOnly = true)
+    public SubmissionView getSubmissionViewById(Long submissionId) {
+        return submissionRepository.findViewById(submissionId)
+                .orElseThrow(() -> new RuntimeException("Submission not found with id: " + submissionId));
+    }
+
+    /**
+     * 과제별 제출 현황 및 점수 통계 (DB 집계 쿼리 1회)
+     */
+    @Transactional(readOnly = true)
+    public SubmissionStatistics getSubmissionStatistics(Assignment assignment) {
+        SubmissionRepository.GradeStatistics stats =
+                submissionRepository.getGradeStatistics(assignment.getAssignmentId());
+
+        List<Long> histogram = List.of(
+                stats.getBucket0(), stats.getBucket1(), stats.getBucket2(), stats.getBucket3(), stats.getBucket4(),
+                stats.getBucket5(), stats.getBucket6(), stats.getBucket7(), stats.getBucket8(), stats.getBucket9());
+
+        return SubmissionStatistics.builder()
+                .totalCount(stats.getTotalCount())
+                .gradedCount(stats.getGradedCount())
+                .tempGradedCount(stats.getTempGradedCount())
+                .pendingCount(stats.getPendingCount())
+                .averageGrade(stats.getAverageGrade())
+                .minGrade(stats.getMinGrade())
+                .maxGrade(stats.getMaxGrade())
+                .medianGrade(stats.getMedianGrade())
+                .histogram(histogram)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public long countSubmissionsByAssignment(Assignment assignment) {
+        return submissionRepository.countByAssignment(assignment);
+    }
+
     @Transactional(readOnly = true)
     public Submission getSubmissionById(Long submissionId) {
         return submissionRepository.findById(submissionId)
@@ -79,6 +199,7 @@ public class SubmissionService {
      * 점수와 피드백 업데이트 (임시 저장 - 평가 미완료)
      */
     @Transactional
+    @Timed(value = "submission.grading", description = "평가 처리 시간", histogram = true)
     public Submission updateGradeAndFeedback(Long submissionId, BigDecimal grade, String feedback) {
         log.info("점수 업데이트: submissionId={}, grade={}", submissionId, grade);
 
@@ -100,6 +221,7 @@ public class SubmissionService {
      * 평가 완료 처리
      */
     @Transactional
+    @Timed(value = "submission.grading", description = "평가 처리 시간", histogram = true)
     public Submission completeGrading(Long submissionId, BigDecimal grade, String feedback) {
         log.info("평가 완료 처리: submissionId={}, grade={}", submissionId, grade);
 
@@ -114,13 +236,20 @@ public class SubmissionService {
         log.info("평가 완료: assignment={}, grade={}",
                 submission.getAssignment().getTitle(), grade);
 
-        return submissionRepository.save(submission);
+        Submission saved = submissionRepository.save(submission);
+        courseCounterService.gradingCompleted(saved.getStudent().getId(), saved.getAssignment().getCourse().getCourseId());
+        studentDashboardService.submissionChanged(saved);
+        eventPublisher.publishEvent(new GradeReleasedEvent(saved.getSubmissionId(),
+                saved.getAssignment().getAssignmentId(), saved.getAssignment().getTitle(),
+                saved.getStudent().getId(), saved.getGrade()));
+        return saved;
     }
 
     /**
      * 평가 완료 취소 (관리자용)
      */
     @Transactional
+    @Timed(value = "submission.grading", description = "평가 처리 시간", histogram = true)
     public Submission cancelGradingCompletion(Long submissionId) {
         log.info("평가 완료 취소: submissionId={}", submissionId);
 
@@ -135,7 +264,10 @@ public class SubmissionService {
 
         log.info("평가 완료 취소 완료: assignment={}", submission.getAssignment().getTitle());
 
-        return submissionRepository.save(submission);
+        Submission saved = submissionRepository.save(submission);
+        courseCounterService.gradingCancelled(saved.getStudent().getId(), saved.getAssignment().getCourse().getCourseId());
+        studentDashboardService.submissionChanged(saved);
+        return saved;
     }
 
     /**
@@ -155,12 +287,21 @@ public class SubmissionService {
     }
 
     /**
-     * 마감일 체크 (제출 시 사용)
+     * 마감일 체크 (현재 시각 기준)
      */
     @Transactional(readOnly = true)
     public boolean isSubmissionAllowed(Assignment assignment) {
-        LocalDateTime now = LocalDateTime.now();
-        return assignment.getDeadline().isAfter(now);
+        return isSubmissionAllowed(assignment, LocalDateTime.now());
+    }
+
+    /**
+     * 마감일 체크 (제출 시 사용)
+     * 처리 시각이 아니라 제출 요청이 도착한 시각으로 판정하므로, 마감 전에 도착한 제출은 업로드 대기나 전송이 마감을 넘겨도 받아준다.
+     * @param arrivedAt 제출 요청 도착 시각 (RequestArrivalFilter)
+     */
+    @Transactional(readOnly = true)
+    public boolean isSubmissionAllowed(Assignment assignment, LocalDateTime arrivedAt) {
+        return assignment.getDeadline().isAfter(arrivedAt);
     }
 
     /**
@@ -186,4 +327,39 @@ public class SubmissionService {
     public long countGradedSubmissionsByStudentAndCourse(User student, Long courseId) {
         return submissionRepository.countGradedByStudentAndCourseId(student, courseId);
     }
-}
\ No newline at end of file
+
+    // 과제별 제출 현황 및 점수 통계 (점수 관련 값은 평가 완료된 제출물 기준, 없으면 null)
+    @lombok.Builder
+    @lombok.Data
+    public static class SubmissionStatistics {
+        private long totalCount;
+        private long gradedCount;
+        private long tempGradedCount;
+        private long pendingCount;
+        private Double averageGrade;
+        private Double minGrade;
+        private Double maxGrade;
+        private Double medianGrade;
+        // 10점 단위 구간별 인원 (0~9, 10~19, ..., 90~100)
+        private List<Long> histogram;
+
+        public long getUngradedCount() {
+            return totalCount - gradedCount;
+        }
+
+        public long getHistogramMax() {
+            return histogram.stream().mapToLong(Long::longValue).max().orElse(0L);
+        }
+    }
+
+    // 저장된 제출물과 재제출로 교체된 이전 파일 URL (새 제출이면 null)
+    private static class SubmitResult {
+        private final Submission submission;
+        private final String replacedFileUrl;
+
+        SubmitResult(Submission submission, String replacedFileUrl) {
+            this.submission = submission;
+            this.replacedFileUrl = replacedFileUrl;
+        }
+    }
+}
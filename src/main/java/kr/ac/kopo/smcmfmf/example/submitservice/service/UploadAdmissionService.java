@@ -0,0 +1,301 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업로드 입장 제어
+ * 노드 하나가 동시에 받는 업로드 바이트 합계를 예산(max-in-flight) 안으로 묶어 디스크 대역폭과 메모리가 한꺼번에 고갈되지 않게 한다.
+ * - 예산이 남아 있고 기다리는 요청이 없으면 바로 입장한다.
+ * - 아니면 사용자별 대기열에 들어가며, 예산이 돌아오면 사용자를 돌아가며 한 건씩 입장시킨다. (한 사용자가 여러 건을 올려도 다른 사용자가 밀리지 않음)
+ * - 최대 대기 시간을 넘기거나 사용자별 대기 수가 가득 차면 거절한다. 거절된 요청은 503 + Retry-After 로 응답한다. (UploadAdmissionInterceptor)
+ * 큰 업로드가 계속 뒤로 밀리지 않도록 대기열 맨 앞 요청이 들어갈 자리가 생길 때까지 뒤 요청도 기다린다.
+ * 과제 마감이 가까운(deadline-priority-window 이내) 업로드는 차례와 관계없이 마감이 이른 순으로 먼저 입장시킨다.
+ * (마감 판정은 요청 도착 시각 기준이지만, 마감 직전 제출의 전체 대기 시간을 줄이기 위함)
+ */
+@Service
+@Slf4j
+public class UploadAdmissionService {
+
+    private final long budgetBytes;
+    private final int maxQueuedPerUser;
+    private final Duration maxWait;
+    private final Duration deadlinePriorityWindow;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 사용자별 대기열 - 순서가 입장 차례 (입장시킨 사용자는 맨 뒤로 보냄)
+    private final LinkedHashMap<String, Deque<Waiter>> queues = new LinkedHashMap<>();
+    private long inFlightBytes;
+    private int queuedCount;
+
+    private final Timer admittedWait;
+    private final Timer rejectedWait;
+    private final Counter rejectedByTimeout;
+    private final Counter rejectedByQueueFull;
+    private final Counter prioritized;
+
+    public UploadAdmissionService(@Value("${file.upload.admission.max-in-flight:512MB}") DataSize maxInFlight,
+                                  @Value("${file.upload.admission.max-queued-per-user:4}") int maxQueuedPerUser,
+                                  @Value("${file.upload.admission.max-wait:10s}") Duration maxWait,
+                                  @Value("${file.upload.admission.deadline-priority-window:5m}") Duration deadlinePriorityWindow,
+                                  MeterRegistry meterRegistry) {
+        if (maxInFlight.toBytes() <= 0) {
+            throw new IllegalArgumentException("업로드 동시 처리 예산은 0보다 커야 합니다.");
+        }
+
+        this.budgetBytes = maxInFlight.toBytes();
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.maxWait = maxWait;
+        this.deadlinePriorityWindow = deadlinePriorityWindow;
+
+        Gauge.builder("upload.admission.queue.depth", this, UploadAdmissionService::getQueuedCount)
+                .description("입장을 기다리는 업로드 수")
+                .register(meterRegistry);
+        Gauge.builder("upload.admission.in.flight", this, UploadAdmissionService::getInFlightBytes)
+                .description("처리 중인 업로드 바이트 합계")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("upload.admission.budget", this, service -> service.budgetBytes)
+                .description("동시에 처리할 수 있는 업로드 바이트 합계")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        admittedWait = waitTimer(meterRegistry, "admitted");
+        rejectedWait = waitTimer(meterRegistry, "rejected");
+        rejectedByTimeout = rejectedCounter(meterRegistry, "timeout");
+        rejectedByQueueFull = rejectedCounter(meterRegistry, "queue_full");
+        prioritized = Counter.builder("upload.admission.prioritized")
+                .description("마감 임박으로 차례보다 먼저 입장시킨 업로드 수")
+                .register(meterRegistry);
+
+        log.info("업로드 입장 제어: 동시 {} bytes, 사용자별 대기 {}건, 최대 대기 {}ms, 마감 우선 {}초 전부터",
+                budgetBytes, maxQueuedPerUser, maxWait.toMillis(), deadlinePriorityWindow.toSeconds());
+    }
+
+    /**
+     * 마감과 관계없는 업로드 입장 요청
+     */
+    public Optional<Permit> tryAcquire(String userKey, long bytes) throws InterruptedException {
+        return tryAcquire(userKey, bytes, null);
+    }
+
+    /**
+     * 업로드 입장 요청 - 입장하면 업로드가 끝난 뒤 반드시 Permit 을 close 해야 한다.
+     * @param userKey  공정 대기열을 나누는 기준 (사용자 ID)
+     * @param bytes    업로드 크기 (예산보다 크면 예산만큼만 차지)
+     * @param deadline 업로드 대상 과제의 마감 시각 (없으면 null, 이미 지났으면 우선순위 없음)
+     * @return 대기 시간을 넘기거나 대기열이 가득 차면 빈 값
+     */
+    public Optional<Permit> tryAcquire(String userKey, long bytes, LocalDateTime deadline) throws InterruptedException {
+        long charged = Math.max(0, Math.min(bytes, budgetBytes));
+        long start = System.nanoTime();
+        // 도착했을 때 이미 마감이 지난 업로드는 어차피 제출할 수 없으므로 앞세우지 않는다
+        LocalDateTime effectiveDeadline = deadline != null && deadline.isAfter(LocalDateTime.now()) ? deadline : null;
+
+        lock.lock();
+        try {
+            if (queues.isEmpty() && inFlightBytes + charged <= budgetBytes) {
+                inFlightBytes += charged;
+                admittedWait.record(0, TimeUnit.NANOSECONDS);
+                return Optional.of(new Permit(charged));
+            }
+
+            Deque<Waiter> userQueue = queues.computeIfAbsent(userKey, key -> new ArrayDeque<>());
+            if (userQueue.size() >= maxQueuedPerUser) {
+                removeIfEmpty(userKey, userQueue);
+                rejectedByQueueFull.increment();
+                rejectedWait.record(0, TimeUnit.NANOSECONDS);
+                log.warn("업로드 대기열 초과로 거절: user={}, 대기 {}건", userKey, userQueue.size());
+                return Optional.empty();
+            }
+
+            Waiter waiter = new Waiter(charged, effectiveDeadline, lock.newCondition());
+            userQueue.addLast(waiter);
+            queuedCount++;
+            // 마감이 임박한 업로드는 먼저 온 요청보다 앞서 입장할 수 있음
+            dispatch();
+
+            long remaining = maxWait.toNanos();
+            try {
+                while (!waiter.admitted) {
+                    if (remaining <= 0) {
+                        userQueue.remove(waiter);
+                        queuedCount--;
+                        removeIfEmpty(userKey, userQueue);
+                        // 맨 앞에서 자리를 기다리던 요청이 빠졌으면 뒤 요청이 들어갈 수 있음
+                        dispatch();
+                        rejectedByTimeout.increment();
+                        rejectedWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        log.warn("업로드 대기 시간 초과로 거절: user={}, {} bytes", userKey, charged);
+                        return Optional.empty();
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.admitted) {
+                    // 입장 직후 인터럽트되면 받은 예산을 돌려준다
+                    release(charged);
+                } else {
+                    userQueue.remove(waiter);
+                    queuedCount--;
+                    removeIfEmpty(userKey, userQueue);
+                    dispatch();
+                }
+                throw e;
+            }
+
+            admittedWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(new Permit(charged));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getInFlightBytes() {
+        lock.lock();
+        try {
+            return inFlightBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queuedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            inFlightBytes -= bytes;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 다음 차례의 요청을 예산이 허락하는 만큼 입장시킨다 (lock 을 잡은 상태에서 호출)
+    // 마감 임박 요청이 있으면 마감이 이른 순, 없으면 사용자를 돌아가며 대기열 맨 앞 요청
+    private void dispatch() {
+        while (!queues.isEmpty()) {
+            Map.Entry<String, Deque<Waiter>> inTurn = queues.entrySet().iterator().next();
+            Map.Entry<String, Deque<Waiter>> next = selectNext();
+            Waiter head = next.getValue().peekFirst();
+            if (inFlightBytes + head.bytes > budgetBytes) {
+                return;
+            }
+
+            next.getValue().removeFirst();
+            queuedCount--;
+            inFlightBytes += head.bytes;
+            head.admitted = true;
+            head.condition.signal();
+            if (next != inTurn) {
+                prioritized.increment();
+            }
+
+            queues.remove(next.getKey());
+            if (!next.getValue().isEmpty()) {
+                queues.put(next.getKey(), next.getValue());
+            }
+        }
+    }
+
+    private Map.Entry<String, Deque<Waiter>> selectNext() {
+        LocalDateTime urgentBefore = LocalDateTime.now().plus(deadlinePriorityWindow);
+        Map.Entry<String, Deque<Waiter>> first = null;
+        Map.Entry<String, Deque<Waiter>> urgent = null;
+        for (Map.Entry<String, Deque<Waiter>> entry : queues.entrySet()) {
+            if (first == null) {
+                first = entry;
+            }
+            LocalDateTime deadline = entry.getValue().peekFirst().deadline;
+            if (deadline != null && deadline.isBefore(urgentBefore)
+                    && (urgent == null || deadline.isBefore(urgent.getValue().peekFirst().deadline))) {
+                urgent = entry;
+            }
+        }
+        return urgent != null ? urgent : first;
+    }
+
+    private void removeIfEmpty(String userKey, Deque<Waiter> userQueue) {
+        if (userQueue.isEmpty()) {
+            queues.remove(userKey);
+        }
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("upload.admission.wait")
+                .description("업로드 입장까지 기다린 시간")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("upload.admission.rejected")
+                .description("입장을 거절한 업로드 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입장권 - 업로드가 끝나면 close 하여 예산을 돌려준다 (여러 번 호출해도 한 번만 반납)
+     */
+    public class Permit implements AutoCloseable {
+        private final long bytes;
+        private boolean released;
+
+        private Permit(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                release(bytes);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static class Waiter {
+        private final long bytes;
+        private final LocalDateTime deadline;
+        private final Condition condition;
+        private boolean admitted;
+
+        Waiter(long bytes, LocalDateTime deadline, Condition condition) {
+            this.bytes = bytes;
+            this.deadline = deadline;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 업로드 스트리밍에 사용하는 다이렉트 버퍼 풀
+ * 버퍼 개수가 고정되어 있으므로 동시 업로드가 몰려도 업로드 버퍼 메모리는 (버퍼 크기 x 개수)를 넘지 않는다.
+ */
+@Component
+@Slf4j
+public class UploadBufferPool {
+
+    private final BlockingQueue<ByteBuffer> buffers;
+    private final int bufferSize;
+    private final Duration acquireTimeout;
+
+    public UploadBufferPool(@Value("${file.upload.buffer-size:64KB}") DataSize bufferSize,
+                            @Value("${file.upload.buffer-count:64}") int bufferCount,
+                            @Value("${file.upload.buffer-wait:10s}") Duration acquireTimeout) {
+        if (bufferCount <= 0) {
+            throw new IllegalArgumentException("업로드 버퍼 개수는 1 이상이어야 합니다.");
+        }
+
+        this.bufferSize = Math.toIntExact(bufferSize.toBytes());
+        this.acquireTimeout = acquireTimeout;
+        this.buffers = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            buffers.add(ByteBuffer.allocateDirect(this.bufferSize));
+        }
+
+        log.info("업로드 버퍼 풀 생성: {} bytes x {} 개", this.bufferSize, bufferCount);
+    }
+
+    /**
+     * 버퍼 하나를 빌려온다. 풀이 비어 있으면 설정된 시간만큼 대기한다.
+     * @throws IllegalStateException 대기 시간 내에 버퍼를 얻지 못한 경우
+     */
+    public ByteBuffer acquire() throws InterruptedIOException {
+        try {
+            ByteBuffer buffer = buffers.poll(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (buffer == null) {
+                log.warn("업로드 버퍼 대기 시간 초과: {}ms", acquireTimeout.toMillis());
+                throw new IllegalStateException("업로드 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+            buffer.clear();
+            return buffer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("업로드 버퍼 대기 중 인터럽트 발생");
+        }
+    }
+
+    /**
+     * 빌려온 버퍼를 반납한다.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        buffer.clear();
+        if (!buffers.offer(buffer)) {
+            log.warn("업로드 버퍼 풀이 가득 차 있어 반납된 버퍼를 버립니다.");
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getAvailableCount() {
+        return buffers.size();
+    }
+}
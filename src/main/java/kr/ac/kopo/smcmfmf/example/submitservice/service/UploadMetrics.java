@@ -0,0 +1,51 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 업로드 크기/바이트 지표 (저장소에 등록된 파일 기준 - 일반 업로드, 스트리밍 업로드, 분할 업로드 조립 결과 모두 포함)
+ * - file.upload.size: 파일 크기 분포 (구간: 64KB, 1MB, 10MB, 50MB, 100MB)
+ * - file.upload.bytes: 받은 바이트 합계, result=stored(본문을 새로 씀) / deduplicated(같은 본문이 있어 참조만 늘림)
+ */
+@Component
+public class UploadMetrics {
+
+    private static final double[] SIZE_BUCKETS = {
+            DataSize.ofKilobytes(64).toBytes(),
+            DataSize.ofMegabytes(1).toBytes(),
+            DataSize.ofMegabytes(10).toBytes(),
+            DataSize.ofMegabytes(50).toBytes(),
+            DataSize.ofMegabytes(100).toBytes()
+    };
+
+    private final DistributionSummary uploadSize;
+    private final Counter storedBytes;
+    private final Counter deduplicatedBytes;
+
+    public UploadMetrics(MeterRegistry meterRegistry) {
+        this.uploadSize = DistributionSummary.builder("file.upload.size")
+                .description("업로드된 파일 크기")
+                .baseUnit("bytes")
+                .serviceLevelObjectives(SIZE_BUCKETS)
+                .register(meterRegistry);
+        this.storedBytes = bytesCounter(meterRegistry, "stored");
+        this.deduplicatedBytes = bytesCounter(meterRegistry, "deduplicated");
+    }
+
+    public void recordUpload(long size, boolean deduplicated) {
+        uploadSize.record(size);
+        (deduplicated ? deduplicatedBytes : storedBytes).increment(size);
+    }
+
+    private static Counter bytesCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("file.upload.bytes")
+                .description("업로드로 받은 바이트 합계")
+                .baseUnit("bytes")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,68 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자 목록 커서 토큰 변환
+ * 키셋 위치 (createdAt, id) 와 방향을 URL 에 그대로 쓸 수 있는 문자열로 바꾼다. 예) "F|2025-10-17T13:26:00|42" 의 Base64URL
+ */
+public final class UserCursor {
+
+    private static final String FORWARD = "F";
+    private static final String BACKWARD = "B";
+
+    private UserCursor() {
+    }
+
+    /**
+     * user 다음(더 오래된) 사용자부터 읽는 커서
+     */
+    public static String after(User user) {
+        return encode(FORWARD, user);
+    }
+
+    /**
+     * user 이전(더 최근) 사용자부터 거꾸로 읽는 커서
+     */
+    public static String before(User user) {
+        return encode(BACKWARD, user);
+    }
+
+    private static String encode(String direction, User user) {
+        String raw = direction + "|" + user.getCreatedAt() + "|" + user.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰이 없으면 첫 페이지 위치
+     */
+    public static KeysetScrollPosition decode(String token) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("createdAt", LocalDateTime.parse(parts[1]));
+            keys.put("id", Long.valueOf(parts[2]));
+            return FORWARD.equals(parts[0]) ? ScrollPosition.forward(keys) : ScrollPosition.backward(keys);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
@@ -4,9 +4,11 @@ import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
 import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ import java.util.Optional;
 @Slf4j
 public class UserService {
     private final UserRepository userRepository;
+    private final StudentDashboardService studentDashboardService;
 
     @Transactional
     public User registerUser(User user) {
@@ -31,7 +34,12 @@ public class UserService {
             log.info("관리자 계정 등록: {} ({})", user.getName(), user.getEmail());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        if (saved.isStudent()) {
+            // 수강 과목이 없는 빈 대시보드 - 이후 수강 신청부터는 읽기 모델이 바로 갱신된다
+            studentDashboardService.initialize(saved.getId());
+        }
+        return saved;
     }
 
     public Optional<User> findByEmail(String email) {
@@ -65,17 +73,66 @@ public class UserService {
         return userRepository.findRecentApplicationsByStatus(User.AccountStatus.PENDING, pageable).getContent();
     }
 
-    public Page<User> findUsersWithFilters(String status, String role, Pageable pageable) {
-        if ("ALL".equals(status) && "ALL".equals(role)) {
-            return userRepository.findAllByOrderByCreatedAtDesc(pageable);
-        } else if ("ALL".equals(status)) {
-            return userRepository.findByRoleOrderByCreatedAtDesc(User.Role.valueOf(role), pageable);
-        } else if ("ALL".equals(role)) {
-            return userRepository.findByAccountStatusOrderByCreatedAtDesc(User.AccountStatus.valueOf(status), pageable);
+    /**
+     * 사용자 목록 키셋 페이지 조회 (관리자용)
+     * 커서 위치부터 size 명을 읽으므로 뒤쪽 페이지도 첫 페이지와 같은 비용으로 조회된다.
+     * @param cursor 이전 응답의 nextCursor / prevCursor (없으면 첫 페이지)
+     * @param withCount true 일 때만 전체 건수를 COUNT 로 조회
+     */
+    @Transactional(readOnly = true)
+    public UserListPage findUsersWithFilters(String status, String role, String cursor, int size, boolean withCount) {
+        KeysetScrollPosition position = UserCursor.decode(cursor);
+        User.AccountStatus accountStatus = "ALL".equals(status) ? null : User.AccountStatus.valueOf(status);
+        User.Role userRole = "ALL".equals(role) ? null : User.Role.valueOf(role);
+        Limit limit = Limit.of(size);
+
+        Window<User> window;
+        if (accountStatus == null && userRole == null) {
+            window = userRepository.findAllByOrderByCreatedAtDescIdDesc(position, limit);
+        } else if (accountStatus == null) {
+            window = userRepository.findByRoleOrderByCreatedAtDescIdDesc(userRole, position, limit);
+        } else if (userRole == null) {
+            window = userRepository.findByAccountStatusOrderByCreatedAtDescIdDesc(accountStatus, position, limit);
         } else {
-            return userRepository.findByAccountStatusAndRoleOrderByCreatedAtDesc(
-                    User.AccountStatus.valueOf(status), User.Role.valueOf(role), pageable);
+            window = userRepository.findByAccountStatusAndRoleOrderByCreatedAtDescIdDesc(accountStatus, userRole, position, limit);
+        }
+
+        List<User> users = window.getContent();
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!users.isEmpty()) {
+            User first = users.get(0);
+            User last = users.get(users.size() - 1);
+            if (position.scrollsForward()) {
+                // 첫 페이지가 아니면 앞쪽에 항상 사용자가 있음
+                nextCursor = window.hasNext() ? UserCursor.after(last) : null;
+                prevCursor = position.isInitial() ? null : UserCursor.before(first);
+            } else {
+                // 거꾸로 읽은 경우 hasNext 는 더 앞쪽(최근) 사용자가 남았는지를 뜻함
+                nextCursor = UserCursor.after(last);
+                prevCursor = window.hasNext() ? UserCursor.before(first) : null;
+            }
+        }
+
+        Long totalCount = withCount ? countUsersWithFilters(accountStatus, userRole) : null;
+
+        return UserListPage.builder()
+                .users(users)
+                .nextCursor(nextCursor)
+                .prevCursor(prevCursor)
+                .totalCount(totalCount)
+                .build();
+    }
+
+    private long countUsersWithFilters(User.AccountStatus status, User.Role role) {
+        if (status == null && role == null) {
+            return userRepository.count();
+        } else if (status == null) {
+            return userRepository.countByRole(role);
+        } else if (role == null) {
+            return userRepository.countByAccountStatus(status);
         }
+        return userRepository.countByAccountStatusAndRole(status, role);
     }
 
     @Transactional
@@ -169,4 +226,14 @@ public class UserService {
         log.info("첫 번째 관리자 계정 생성: {}", email);
         return userRepository.save(admin);
     }
-}
\ No newline at end of file
+
+    // 사용자 목록 한 페이지 (전체 건수는 요청한 경우에만 채워짐)
+    @lombok.Builder
+    @lombok.Data
+    public static class UserListPage {
+        private List<User> users;
+        private String nextCursor;
+        private String prevCursor;
+        private Long totalCount;
+    }
+}
@@ -0,0 +1,86 @@
+// 학생 화면 실시간 알림 (SSE) - 마감일 연장, 과제 마감, 평가 완료를 새로고침 없이 화면에 반영한다
+// 사용법: <script th:src="@{/js/notifications.js}" th:data-stream-url="@{/student/notifications}"></script>
+// 과제/제출물 카드에 data-assignment-id 가 있으면 해당 카드의 마감일 배지와 평가 상태를 바꾼다
+(function () {
+    const streamUrl = document.currentScript && document.currentScript.dataset.streamUrl;
+    if (!window.EventSource || !streamUrl) {
+        return;
+    }
+
+    const SOON_MILLIS = 3 * 24 * 60 * 60 * 1000;
+
+    function pad(value) {
+        return String(value).padStart(2, '0');
+    }
+
+    function formatDeadline(value) {
+        const date = new Date(value);
+        return pad(date.getMonth() + 1) + '/' + pad(date.getDate()) + ' ' + pad(date.getHours()) + ':' + pad(date.getMinutes());
+    }
+
+    function cardsFor(assignmentId) {
+        return document.querySelectorAll('[data-assignment-id="' + assignmentId + '"]');
+    }
+
+    function toast(message) {
+        const box = document.createElement('div');
+        box.className = 'alert alert-info';
+        box.textContent = message;
+        box.style.cssText = 'position:fixed;right:20px;bottom:20px;z-index:1000;max-width:360px;box-shadow:0 4px 12px rgba(0,0,0,0.15);';
+        document.body.appendChild(box);
+        setTimeout(() => box.remove(), 8000);
+    }
+
+    function updateBadge(assignmentId, deadline, closed) {
+        cardsFor(assignmentId).forEach(card => {
+            const badge = card.querySelector('.deadline-badge');
+            if (!badge) {
+                return;
+            }
+            badge.textContent = '마감: ' + formatDeadline(deadline);
+            badge.classList.remove('deadline-past', 'deadline-soon', 'deadline-safe');
+            if (closed) {
+                badge.classList.add('deadline-past');
+            } else {
+                badge.classList.add(new Date(deadline) - Date.now() < SOON_MILLIS ? 'deadline-soon' : 'deadline-safe');
+            }
+        });
+    }
+
+    const source = new EventSource(streamUrl);
+
+    source.addEventListener('deadline-extended', event => {
+        const data = JSON.parse(event.data);
+        updateBadge(data.assignmentId, data.deadline, false);
+        toast('📅 \'' + data.title + '\' 마감일이 ' + formatDeadline(data.deadline) + '(으)로 연장되었습니다.');
+    });
+
+    source.addEventListener('assignment-closed', event => {
+        const data = JSON.parse(event.data);
+        updateBadge(data.assignmentId, data.deadline, true);
+        toast('⏰ \'' + data.title + '\' 과제가 마감되었습니다.');
+    });
+
+    source.addEventListener('grade-released', event => {
+        const data = JSON.parse(event.data);
+        const grade = Number(data.grade).toFixed(2);
+        cardsFor(data.assignmentId).forEach(card => {
+            // 채점 대기 중 표시나 임시 점수를 최종 점수로 바꾼다
+            const result = card.querySelector('.grade-pending, .grade-result');
+            if (result) {
+                result.className = 'alert alert-success grade-result';
+                result.innerHTML = '';
+                const strong = document.createElement('strong');
+                strong.style.fontSize = '1.5em';
+                strong.textContent = '💯 ' + grade + '점';
+                result.appendChild(strong);
+            }
+            const status = card.querySelector('.status-badge');
+            if (status) {
+                status.className = 'status-badge status-approved';
+                status.textContent = '평가 완료';
+            }
+        });
+        toast('✅ \'' + data.assignmentTitle + '\' 평가가 완료되었습니다. (' + grade + '점)');
+    });
+})();
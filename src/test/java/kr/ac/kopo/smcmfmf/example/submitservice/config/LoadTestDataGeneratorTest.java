@@ -0,0 +1,95 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.SubmitServiceApplication;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 데이터 생성기가 같은 seed 로 빈 DB 에 같은 데이터를 만들고, 파일 참조 수와 시퀀스가 맞는지 작은 규모로 확인
+ */
+class LoadTestDataGeneratorTest {
+
+    // 제출물 행 전체를 요약한 값 (ID, 제출 대상, 평가, 파일 연결)
+    private static final String FINGERPRINT = """
+            SELECT COUNT(*) AS submissions,
+                   SUM(s.submission_id) AS ids,
+                   SUM(s.assignment_id * 100003 + s.student_id) AS targets,
+                   SUM(CASE WHEN s.is_graded THEN 1 ELSE 0 END) AS graded,
+                   SUM(s.grade) AS grades,
+                   SUM(ASCII(f.blob_hash) * s.submission_id) AS files
+            FROM submissions s
+            JOIN stored_files f ON s.file_url = CONCAT('/files/download/', f.file_name)
+            """;
+
+    @Test
+    void sameSeedGeneratesSameDataset() throws Exception {
+        Map<String, Object> first = generate("datagen-test-1");
+        Map<String, Object> second = generate("datagen-test-2");
+
+        assertThat(((Number) first.get("SUBMISSIONS")).longValue()).isPositive();
+        assertThat(second).isEqualTo(first);
+    }
+
+    private Map<String, Object> generate(String name) throws Exception {
+        Path uploadDir = Files.createTempDirectory(name);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SubmitServiceApplication.class)
+                .profiles("datagen")
+                // 프로파일 설정 파일보다 우선하도록 명령행 인자로 넘긴다
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + name,
+                        "--file.upload-dir=" + uploadDir,
+                        "--logging.level.kr.ac.kopo.smcmfmf=WARN",
+                        "--datagen.professors=5",
+                        "--datagen.students=60",
+                        "--datagen.courses=12",
+                        "--datagen.assignments-per-course=4",
+                        "--datagen.file-pool-size=3",
+                        "--datagen.file-size-median=8KB",
+                        "--datagen.batch-size=37");
+        try {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            // 제출물마다 파일명이 하나씩 있고, 본문의 참조 수 합과 같다
+            Long submissions = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM submissions WHERE file_url LIKE '/files/download/datagen_%'", Long.class);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM stored_files WHERE file_name LIKE 'datagen_%'", Long.class))
+                    .isEqualTo(submissions);
+            assertThat(jdbcTemplate.queryForObject("SELECT SUM(reference_count) FROM file_blobs WHERE hash IN " +
+                    "(SELECT blob_hash FROM stored_files WHERE file_name LIKE 'datagen_%')", Long.class))
+                    .isEqualTo(submissions);
+            try (Stream<Path> blobs = Files.walk(uploadDir.resolve("blobs"))) {
+                assertThat(blobs.filter(Files::isRegularFile).count()).isEqualTo(3);
+            }
+
+            // 생성 이후 JPA 로 저장하는 행도 같은 시퀀스를 쓰므로 ID 가 겹치지 않는다 (미리 받아 둔 50개를 넘겨 저장)
+            Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            UserService userService = context.getBean(UserService.class);
+            for (int i = 0; i < 60; i++) {
+                userService.registerUser(User.builder()
+                        .name("생성 후 가입" + i)
+                        .email(name + "-" + i + "@kopo.ac.kr")
+                        .password("password123")
+                        .role(User.Role.STUDENT)
+                        .build());
+            }
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)).isEqualTo(users + 60);
+            return jdbcTemplate.queryForMap(FINGERPRINT);
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(uploadDir);
+        }
+    }
+}
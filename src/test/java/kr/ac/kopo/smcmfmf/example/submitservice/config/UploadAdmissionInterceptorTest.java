@@ -0,0 +1,117 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.config;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.ChunkedUploadService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.DeadlineIndex;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.UploadAdmissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerMapping;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 업로드 입장 제어 인터셉터 - 마감 시각을 마감 인덱스에서 읽는지, 거절 응답이 요청 종류에 맞게 나가는지 확인
+ */
+class UploadAdmissionInterceptorTest {
+
+    private final UploadAdmissionService uploadAdmissionService = mock(UploadAdmissionService.class);
+    private final DeadlineIndex deadlineIndex = mock(DeadlineIndex.class);
+    private final ChunkedUploadService chunkedUploadService = mock(ChunkedUploadService.class);
+    private UploadAdmissionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        interceptor = new UploadAdmissionInterceptor(uploadAdmissionService, deadlineIndex, chunkedUploadService, templateEngine);
+        ReflectionTestUtils.setField(interceptor, "maxRequestSize", DataSize.ofMegabytes(100));
+        ReflectionTestUtils.setField(interceptor, "retryAfter", Duration.ofSeconds(15));
+    }
+
+    @Test
+    void passesDeadlineFromIndexForSubmission() throws Exception {
+        LocalDateTime deadline = LocalDateTime.now().plusMinutes(3);
+        when(deadlineIndex.findOpen(7L)).thenReturn(Optional.of(new AssignmentDeadline(7L, 1L, "과제", deadline)));
+        when(uploadAdmissionService.tryAcquire(anyString(), anyLong(), any())).thenReturn(Optional.empty());
+        MockHttpServletRequest request = uploadRequest("/student/assignments/7/submit", Map.of("assignmentId", "7"));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        verify(uploadAdmissionService).tryAcquire("anonymous", 1_000, deadline);
+    }
+
+    @Test
+    void admitsWithoutPriorityWhenAssignmentIsNotOpen() throws Exception {
+        when(chunkedUploadService.findAssignmentId("upload-1")).thenReturn(Optional.of(8L));
+        when(deadlineIndex.findOpen(8L)).thenReturn(Optional.empty());
+        when(uploadAdmissionService.tryAcquire(anyString(), anyLong(), any())).thenReturn(Optional.empty());
+        MockHttpServletRequest request = uploadRequest("/student/uploads/upload-1/chunks/0", Map.of("uploadId", "upload-1"));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        verify(uploadAdmissionService).tryAcquire(anyString(), anyLong(), isNull());
+    }
+
+    @Test
+    void rendersBusyPageForFormSubmission() throws Exception {
+        when(uploadAdmissionService.tryAcquire(anyString(), anyLong(), any())).thenReturn(Optional.empty());
+        MockHttpServletRequest request = uploadRequest("/student/assignments/x/submit", Map.of("assignmentId", "x"));
+        request.addHeader("Accept", "text/html,application/xhtml+xml");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("15");
+        assertThat(response.getContentType()).startsWith("text/html");
+        assertThat(response.getContentAsString())
+                .contains("업로드 요청이 많아 처리할 수 없습니다")
+                .contains("15</span>초");
+    }
+
+    @Test
+    void returnsJsonForScriptRequest() throws Exception {
+        when(uploadAdmissionService.tryAcquire(anyString(), anyLong(), any())).thenReturn(Optional.empty());
+        MockHttpServletRequest request = uploadRequest("/student/uploads/upload-1/chunks/0", Map.of("uploadId", "upload-1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentAsString()).startsWith("{\"error\":");
+    }
+
+    private static MockHttpServletRequest uploadRequest(String uri, Map<String, String> variables) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(new byte[1_000]);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.service.FileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /actuator/prometheus 로 화면별 응답 시간, 서비스 타이머, 업로드 지표, 커넥션 풀/Hibernate 지표가 수집되는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FileService fileService;
+
+    @Test
+    void prometheusEndpointExposesApplicationMetrics() throws Exception {
+        mockMvc.perform(get("/login")).andExpect(status().isOk());
+
+        // 같은 내용을 두 번 저장 - 두 번째는 기존 본문을 재사용
+        byte[] content = "지표 확인용 파일".getBytes(StandardCharsets.UTF_8);
+        String first = fileService.saveStream(new ByteArrayInputStream(content), "metrics.pdf", "지표테스트");
+        String second = fileService.saveStream(new ByteArrayInputStream(content), "metrics.pdf", "지표테스트");
+        fileService.deleteFile(first);
+        fileService.deleteFile(second);
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/login\"")
+                .containsPattern("file_save_seconds_count\\{.*method=\"store\"")
+                .containsPattern("file_delete_seconds_count\\{.*method=\"deleteFile\"")
+                .contains("file_upload_size_bytes_bucket")
+                .containsPattern("file_upload_bytes_total\\{.*result=\"deduplicated\"")
+                .containsPattern("file_upload_bytes_total\\{.*result=\"stored\"")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_sessions_open_total")
+                .contains("application=\"submit-service\"");
+    }
+}
@@ -0,0 +1,130 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.AssignmentService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.NotificationService;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.SubmissionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 실시간 알림(SSE) 연결 테스트
+ * 실제 포트로 띄운 서버에 학생으로 로그인해 알림 연결을 열고, 마감일 연장과 평가 완료가 커밋된 뒤 연결로 전달되는지 확인한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=WARN"})
+class NotificationStreamTest {
+
+    private static final Pattern SESSION_COOKIE = Pattern.compile("SESSION=[^;]+");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    @Test
+    void pushesDeadlineExtensionAndGradeRelease() throws Exception {
+        User student = userRepository.findByEmail("student1@kopo.ac.kr").orElseThrow();
+        Assignment assignment = assignmentService.getAssignmentById(1L);
+        Submission submission = submissionService.getSubmissionByAssignmentAndStudent(assignment, student).orElseThrow();
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/student/notifications"))
+                .header("Cookie", login("student1@kopo.ac.kr"))
+                .header("Accept", "text/event-stream")
+                .build();
+        CompletableFuture<HttpResponse<Stream<String>>> stream = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+        try {
+            HttpResponse<Stream<String>> response = stream.get(10, TimeUnit.SECONDS);
+            assertThat(response.statusCode()).isEqualTo(200);
+            Thread.ofVirtual().start(() -> response.body().forEach(lines::add));
+
+            awaitLine(lines, "event:connected");
+            await().until(() -> notificationService.getConnectionCount() == 1);
+
+            assignmentService.extendDeadline(assignment.getAssignmentId(), assignment.getDeadline().plusDays(1));
+            awaitLine(lines, "event:deadline-extended");
+            assertThat(awaitLine(lines, "data:")).contains("\"assignmentId\":" + assignment.getAssignmentId());
+
+            submissionService.completeGrading(submission.getSubmissionId(), new BigDecimal("88.00"), "알림 테스트");
+            awaitLine(lines, "event:grade-released");
+            assertThat(awaitLine(lines, "data:")).contains("\"grade\":88.00");
+        } finally {
+            stream.cancel(true);
+            if (submissionService.getSubmissionById(submission.getSubmissionId()).getIsGraded()) {
+                submissionService.cancelGradingCompletion(submission.getSubmissionId());
+            }
+        }
+    }
+
+    @Test
+    void rejectsAnonymousConnection() throws Exception {
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl() + "/student/notifications")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(response.statusCode()).isEqualTo(401);
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private String login(String email) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("email=" + email + "&password=password123"))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        Matcher cookie = SESSION_COOKIE.matcher(response.headers().firstValue("Set-Cookie").orElse(""));
+        assertThat(cookie.find()).as("로그인 세션 쿠키").isTrue();
+        return cookie.group();
+    }
+
+    // 접두어로 시작하는 다음 줄까지 읽는다 (그 사이의 줄은 버림)
+    private String awaitLine(BlockingQueue<String> lines, String prefix) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String line = lines.poll(100, TimeUnit.MILLISECONDS);
+            if (line != null && line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        throw new AssertionError("SSE 줄을 받지 못함: " + prefix);
+    }
+}
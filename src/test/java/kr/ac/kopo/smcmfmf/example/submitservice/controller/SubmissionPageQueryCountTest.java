@@ -0,0 +1,162 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.AssignmentRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.SubmissionArchiveService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+/**
+ * 제출물 화면이 제출물 수와 관계없이 고정된 수의 SQL 로 그려지는지 확인 (N+1 회귀 방지)
+ * 세션 필터를 끄고 MockHttpSession 에 로그인 사용자를 직접 넣으므로 spring-session 의 JDBC 쿼리는 집계되지 않는다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+class SubmissionPageQueryCountTest {
+
+    private static final int EXTRA_STUDENTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private SubmissionArchiveService submissionArchiveService;
+
+    private final List<User> extraStudents = new ArrayList<>();
+    private final List<Submission> extraSubmissions = new ArrayList<>();
+
+    private Assignment assignment;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assignment = assignmentRepository.findAll().stream()
+                .filter(a -> a.getTitle().equals("과제 제출 시스템 제작"))
+                .findFirst()
+                .orElseThrow();
+
+        // 지연 로딩이 행마다 일어나면 쿼리 수가 늘어나도록 제출물을 충분히 추가
+        for (int i = 0; i < EXTRA_STUDENTS; i++) {
+            User student = userRepository.save(User.builder()
+                    .name("쿼리테스트학생" + i)
+                    .email("query-test-" + i + "@kopo.ac.kr")
+                    .password("password123")
+                    .role(User.Role.STUDENT)
+                    .accountStatus(User.AccountStatus.APPROVED)
+                    .build());
+            extraStudents.add(student);
+            extraSubmissions.add(submissionRepository.save(Submission.builder()
+                    .assignment(assignment)
+                    .student(student)
+                    .fileUrl("/files/download/query-test-" + i + ".txt")
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        submissionRepository.deleteAll(extraSubmissions);
+        userRepository.deleteAll(extraStudents);
+    }
+
+    @Test
+    void professorSubmissionsPageUsesConstantStatements() throws Exception {
+        MockHttpSession session = sessionOf("prof@kopo.ac.kr");
+
+        statistics.clear();
+        mockMvc.perform(get("/professor/assignment/{id}/submissions", assignment.getAssignmentId()).session(session))
+                .andExpect(status().isOk())
+                .andExpect(view().name("professor/submissions"));
+
+        // 제출물 목록 조회 1 + 통계 집계 1 (과제는 2차 캐시에서 읽음)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void studentSubmissionsPageUsesSingleStatement() throws Exception {
+        MockHttpSession session = sessionOf("student1@kopo.ac.kr");
+
+        statistics.clear();
+        mockMvc.perform(get("/student/submissions").session(session))
+                .andExpect(status().isOk())
+                .andExpect(view().name("student/my_submissions"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void studentDashboardUsesSingleStatement() throws Exception {
+        MockHttpSession session = sessionOf("student1@kopo.ac.kr");
+        // 초기 데이터 학생은 첫 조회에서 대시보드 문서가 만들어진다
+        mockMvc.perform(get("/student/dashboard").session(session)).andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/student/dashboard").session(session))
+                .andExpect(status().isOk())
+                .andExpect(view().name("student/dashboard"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void gradeFormUsesSingleStatement() throws Exception {
+        MockHttpSession session = sessionOf("prof@kopo.ac.kr");
+        Long submissionId = extraSubmissions.get(0).getSubmissionId();
+
+        statistics.clear();
+        mockMvc.perform(get("/professor/submission/{id}/grade", submissionId).session(session))
+                .andExpect(status().isOk())
+                .andExpect(view().name("professor/grade_form"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void archiveEntriesUseConstantStatements() {
+        statistics.clear();
+        submissionArchiveService.collectEntries(assignment);
+
+        // 제출물과 학생 조회 1 + 저장소 파일 조회 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private MockHttpSession sessionOf(String email) {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("user", userRepository.findByEmail(email).orElseThrow());
+        return session;
+    }
+}
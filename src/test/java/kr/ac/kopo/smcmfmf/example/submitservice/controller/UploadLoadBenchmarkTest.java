@@ -0,0 +1,256 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.controller;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import kr.ac.kopo.smcmfmf.example.submitservice.SubmitServiceApplication;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.service.BulkInsertService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 업로드 부하 테스트 - 플랫폼 스레드(Tomcat 스레드 풀)와 가상 스레드 모드 비교
+ * 모드마다 애플리케이션을 임의 포트로 띄우고, 학생 2,000명이 동시에 과제 파일(64KB)을 제출할 때의 처리량과 지연 시간을 잰다.
+ * 가상 스레드 모드에서는 JFR(jdk.VirtualThreadPinned)로 캐리어 스레드를 붙잡는 구간을 수집하고, 우리 코드에서 발생하면 실패한다.
+ * 클라이언트와 서버가 같은 JVM 에서 돌기 때문에 절대 수치보다 두 모드의 상대 비교로 본다. 실행: `gradle benchmark --tests '*UploadLoadBenchmarkTest'`
+ */
+@Tag("benchmark")
+class UploadLoadBenchmarkTest {
+
+    private static final int UPLOADERS = 2_000;
+    private static final int WARM_UP_UPLOADERS = 200;
+    private static final int FILE_SIZE = 64 * 1024;
+    private static final long ASSIGNMENT_ID = 1L;
+    private static final String APP_PACKAGE = "kr.ac.kopo.smcmfmf";
+
+    private static final Pattern SESSION_COOKIE = Pattern.compile("SESSION=[^;]+");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println();
+        System.out.printf("%-10s %8s %8s %10s %9s %9s %9s%n", "mode", "success", "failed", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %8d %8d %10.1f %9.1f %9.1f %9.1f%n", result.mode, result.succeeded, result.failed,
+                    result.throughput(), result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+        }
+        System.out.println("가상 스레드 고정(pinning) 구간: " + (virtual.pinnedFrames.isEmpty() ? "없음" : ""));
+        virtual.pinnedFrames.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(10)
+                .forEach(entry -> System.out.printf("  %5d  %s%n", entry.getValue(), entry.getKey()));
+
+        assertThat(virtual.succeeded).isEqualTo(UPLOADERS);
+        assertThat(virtual.pinnedFrames.keySet()).noneMatch(frame -> frame.startsWith(APP_PACKAGE));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        Path uploadDir = Files.createTempDirectory("upload-load-" + mode);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SubmitServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:upload-load-" + mode,
+                        "file.upload-dir=" + uploadDir,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.kr.ac.kopo.smcmfmf=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<User> students = createStudents(context.getBean(BulkInsertService.class), mode);
+            List<String> sessions = login(baseUrl, students);
+
+            upload(baseUrl, sessions.subList(0, WARM_UP_UPLOADERS), mode, null);
+
+            Map<String, Integer> pinnedFrames = new ConcurrentHashMap<>();
+            try (RecordingStream recording = new RecordingStream()) {
+                recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+                recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                    if (event.getStackTrace() != null) {
+                        pinnedFrames.merge(describe(event.getStackTrace().getFrames()), 1, Integer::sum);
+                    }
+                });
+                recording.startAsync();
+
+                Result result = upload(baseUrl, sessions.subList(WARM_UP_UPLOADERS, sessions.size()), mode, pinnedFrames);
+                Thread.sleep(1_000);
+                return result;
+            }
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(uploadDir);
+        }
+    }
+
+    private List<User> createStudents(BulkInsertService bulkInsertService, String mode) {
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < WARM_UP_UPLOADERS + UPLOADERS; i++) {
+            students.add(User.builder()
+                    .name("부하학생" + i)
+                    .email("load-" + mode + "-" + i + "@kopo.ac.kr")
+                    .password("password123")
+                    .role(User.Role.STUDENT)
+                    .accountStatus(User.AccountStatus.APPROVED)
+                    .build());
+        }
+        bulkInsertService.insertAll(students);
+        return students;
+    }
+
+    // 로그인은 측정 대상이 아니므로 동시 50건으로 제한해 세션 쿠키만 받아 둔다
+    private List<String> login(String baseUrl, List<User> students) throws Exception {
+        Semaphore permits = new Semaphore(50);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (User student : students) {
+            permits.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("email=" + student.getEmail() + "&password=password123"))
+                    .build();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> permits.release())
+                    .thenApply(response -> {
+                        Matcher cookie = SESSION_COOKIE.matcher(response.headers().firstValue("Set-Cookie").orElse(""));
+                        if (!cookie.find()) {
+                            throw new IllegalStateException("로그인 실패: " + student.getEmail());
+                        }
+                        return cookie.group();
+                    }));
+        }
+
+        List<String> sessions = new ArrayList<>();
+        for (CompletableFuture<String> future : futures) {
+            sessions.add(future.get());
+        }
+        return sessions;
+    }
+
+    // 모든 요청을 한꺼번에 보내고 요청별 응답 시간을 기록
+    private Result upload(String baseUrl, List<String> sessions, String mode, Map<String, Integer> pinnedFrames) throws Exception {
+        List<HttpRequest> requests = new ArrayList<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            requests.add(uploadRequest(baseUrl, sessions.get(i), i));
+        }
+
+        double[] latencies = new double[requests.size()];
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            futures.add(client.sendAsync(requests.get(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] = (System.nanoTime() - sentAt) / 1_000_000.0;
+                        boolean submitted = error == null && response.statusCode() == 302
+                                && response.headers().firstValue("Location").orElse("").contains("/student/course/");
+                        (submitted ? succeeded : failed).incrementAndGet();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(mode, succeeded.get(), failed.get(), elapsedNanos, latencies,
+                pinnedFrames != null ? pinnedFrames : Map.of());
+    }
+
+    // 학생마다 내용이 다른 파일 (같은 내용이면 저장소가 본문을 재사용하므로 디스크 기록이 줄어듦)
+    private HttpRequest uploadRequest(String baseUrl, String sessionCookie, int seed) {
+        byte[] content = new byte[FILE_SIZE];
+        new Random(seed).nextBytes(content);
+
+        String boundary = "load-test-boundary";
+        ByteArrayOutputStream body = new ByteArrayOutputStream(FILE_SIZE + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load-" + seed + ".bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/student/assignment/" + ASSIGNMENT_ID + "/submit"))
+                .timeout(Duration.ofMinutes(2))
+                .header("Cookie", sessionCookie)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    // 고정 구간의 원인 - 우리 코드 프레임이 있으면 그 위치, 없으면 가장 위 프레임
+    private static String describe(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .orElse("(unknown)");
+    }
+
+    private static class Result {
+        final String mode;
+        final int succeeded;
+        final int failed;
+        final long elapsedNanos;
+        final double[] sortedLatencies;
+        final Map<String, Integer> pinnedFrames;
+
+        Result(String mode, int succeeded, int failed, long elapsedNanos, double[] sortedLatencies,
+               Map<String, Integer> pinnedFrames) {
+            this.mode = mode;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = sortedLatencies;
+            this.pinnedFrames = pinnedFrames;
+        }
+
+        double throughput() {
+            return succeeded / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentile(double p) {
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+        }
+    }
+}
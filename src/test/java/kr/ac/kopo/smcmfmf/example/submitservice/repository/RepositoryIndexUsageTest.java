@@ -0,0 +1,281 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장소 쿼리 인덱스 회귀 테스트
+ * 각 저장소에 선언된 메소드를 모두 실행해 실제로 나간 SQL 과 바인딩 값을 기록하고,
+ * H2 EXPLAIN 결과에 전체 테이블 스캔(tableScan)이나 조건 없는 인덱스 전체 읽기가 있으면 실패한다.
+ * 단, 인덱스 순서대로 앞쪽 몇 건만 읽는 경우(index sorted + FETCH FIRST)는 허용. 새 쿼리를 추가하면 인덱스도 함께 추가해야 한다.
+ * 조회 대상이 없는 id(-1)를 넘기므로 일괄 삭제 메소드도 실제로 지우는 행이 없고, 테스트 트랜잭션은 롤백된다.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+class RepositoryIndexUsageTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            SubmissionRepository.class, AssignmentRepository.class, CourseRepository.class, UserRepository.class);
+
+    // EXPLAIN 의 테이블 접근 주석 - /* PUBLIC.인덱스: 조건 */, /* PUBLIC.테이블.tableScan */, /* PUBLIC.인덱스 */ (조건 없음)
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_]+)(\\.tableScan|: [^*]+)? \\*/");
+
+    private static final List<ExecutedStatement> executed = new ArrayList<>();
+    // 테스트 스레드의 SQL 만 기록 (기동 후 백그라운드로 도는 데이터 보정 등이 같은 시간에 실행한 SQL 은 제외)
+    private static volatile Thread recordingThread;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    private Map<Class<?>, Object> sampleArguments;
+
+    @BeforeEach
+    void setUp() {
+        User student = userRepository.findByEmail("student1@kopo.ac.kr").orElseThrow();
+        Course course = courseRepository.findByCode("JAVA101").orElseThrow();
+        Assignment assignment = assignmentRepository.findByCourse(course).get(0);
+
+        sampleArguments = Map.ofEntries(
+                Map.entry(User.class, student),
+                Map.entry(Course.class, course),
+                Map.entry(Assignment.class, assignment),
+                Map.entry(Long.class, -1L),
+                Map.entry(Collection.class, List.of(-1L)),
+                Map.entry(String.class, "none"),
+                Map.entry(LocalDateTime.class, LocalDateTime.now()),
+                Map.entry(User.AccountStatus.class, User.AccountStatus.APPROVED),
+                Map.entry(User.Role.class, User.Role.STUDENT),
+                Map.entry(Pageable.class, PageRequest.of(0, 5)),
+                Map.entry(Limit.class, Limit.of(10)),
+                // 첫 페이지가 아닌 키셋 위치 - 커서 조건까지 포함된 SQL 을 검사
+                Map.entry(ScrollPosition.class, ScrollPosition.forward(Map.of("createdAt", LocalDateTime.now(), "id", Long.MAX_VALUE))));
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        int checkedStatements = 0;
+
+        for (Class<?> repositoryType : REPOSITORIES) {
+            Object repository = applicationContext.getBean(repositoryType);
+            Method[] methods = repositoryType.getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::toString));
+
+            for (Method method : methods) {
+                if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String name = repositoryType.getSimpleName() + "." + method.getName();
+                List<ExecutedStatement> statements = execute(repository, method);
+                assertThat(statements).as("%s 실행 시 SQL 이 나가지 않음", name).isNotEmpty();
+
+                for (ExecutedStatement statement : statements) {
+                    String plan = explain(statement);
+                    checkedStatements++;
+                    if (isFullScan(plan)) {
+                        fullScans.add(name + "\n" + plan);
+                    }
+                }
+            }
+        }
+
+        assertThat(checkedStatements).isPositive();
+        assertThat(fullScans).as("전체 테이블 스캔을 하는 쿼리").isEmpty();
+    }
+
+    private List<ExecutedStatement> execute(Object repository, Method method) throws Exception {
+        Object[] args = Arrays.stream(method.getParameterTypes())
+                .map(this::sampleArgument)
+                .toArray();
+
+        // 2차 캐시나 쿼리 캐시에서 결과를 돌려주면 SQL 이 나가지 않으므로 매번 비움
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        synchronized (executed) {
+            executed.clear();
+        }
+        recordingThread = Thread.currentThread();
+        try {
+            method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw new AssertionError(method + " 실행 실패", e.getCause());
+        } finally {
+            recordingThread = null;
+        }
+        synchronized (executed) {
+            return new ArrayList<>(executed);
+        }
+    }
+
+    private Object sampleArgument(Class<?> type) {
+        if (type == long.class) {
+            return -1L;
+        }
+        if (type == int.class) {
+            return 10;
+        }
+        Object value = sampleArguments.get(type);
+        if (value == null) {
+            throw new IllegalStateException("테스트 인자 타입이 정의되지 않음: " + type.getName());
+        }
+        return value;
+    }
+
+    private boolean isFullScan(String plan) {
+        boolean boundedIndexRead = plan.contains("/* index sorted */") && plan.contains("FETCH FIRST");
+        Matcher access = TABLE_ACCESS.matcher(plan);
+        while (access.find()) {
+            String condition = access.group(2);
+            if (".tableScan".equals(condition) || (condition == null && !boundedIndexRead)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String explain(ExecutedStatement statement) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql)) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters.entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static class ExecutedStatement {
+        final String sql;
+        final Map<Integer, Object> parameters;
+
+        ExecutedStatement(String sql, Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * DataSource 를 감싸 PreparedStatement 의 SQL 과 바인딩 값을 기록
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                            Object result = invoke(target, method, args);
+                            return result instanceof Connection connection ? recordingConnection(connection) : result;
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection recordingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return recordingStatement(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.startsWith("execute") && recordingThread == Thread.currentThread()) {
+                    synchronized (executed) {
+                        executed.add(new ExecutedStatement(sql, new TreeMap<>(parameters)));
+                    }
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+            InvocationHandler handler = (p, method, args) -> interceptor.intercept(target, method, args);
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface Interceptor {
+            Object intercept(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Enrollment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 INSERT 벤치마크 - 수강신청 1만 건, 제출물 5만 건을 행 단위(배치 크기 1)와 JDBC 배치로 각각 저장해 비교
+ * 시간이 오래 걸리므로 일반 test 에서는 제외하고 `gradle benchmark` 로 실행한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=INFO"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BulkInsertBenchmarkTest {
+
+    private static final int STUDENTS = 10_000;
+    private static final int ASSIGNMENTS = 5;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User professor;
+    private Course course;
+    private final List<Assignment> assignments = new ArrayList<>();
+    private final List<User> students = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        professor = userRepository.findByEmail("prof@kopo.ac.kr").orElseThrow();
+
+        course = Course.builder().name("벤치마크 과목").code("BENCH001").professor(professor).build();
+        bulkInsertService.insertAll(List.of(course));
+        for (int i = 0; i < ASSIGNMENTS; i++) {
+            assignments.add(Assignment.builder()
+                    .course(course)
+                    .title("벤치마크 과제 " + i)
+                    .description("대량 저장 벤치마크")
+                    .deadline(LocalDateTime.now().plusDays(7))
+                    .build());
+        }
+        bulkInsertService.insertAll(assignments);
+
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(User.builder()
+                    .name("벤치학생" + i)
+                    .email("bench-" + i + "@kopo.ac.kr")
+                    .password("password123")
+                    .role(User.Role.STUDENT)
+                    .accountStatus(User.AccountStatus.APPROVED)
+                    .build());
+        }
+        bulkInsertService.insertAll(students);
+    }
+
+    @AfterAll
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            deleteBenchmarkRows();
+            entityManager.createQuery("DELETE FROM Assignment a WHERE a.course = :course")
+                    .setParameter("course", course).executeUpdate();
+            entityManager.createQuery("DELETE FROM Course c WHERE c = :course")
+                    .setParameter("course", course).executeUpdate();
+            entityManager.createQuery("DELETE FROM User u WHERE u.email LIKE 'bench-%'").executeUpdate();
+        });
+    }
+
+    @Test
+    void enrollments() {
+        // JIT 예열
+        measure("warm-up", 1, () -> enrollments(1_000));
+        measure("warm-up", 50, () -> enrollments(1_000));
+
+        Result rowByRow = measure("수강신청 10,000건", 1, () -> enrollments(STUDENTS));
+        Result batched = measure("수강신청 10,000건", 50, () -> enrollments(STUDENTS));
+
+        assertThat(batched.statements).isLessThan(rowByRow.statements / 10);
+    }
+
+    @Test
+    void submissions() {
+        measure("warm-up", 1, () -> submissions(1));
+        measure("warm-up", 50, () -> submissions(1));
+
+        Result rowByRow = measure("제출물 50,000건", 1, () -> submissions(ASSIGNMENTS));
+        Result batched = measure("제출물 50,000건", 50, () -> submissions(ASSIGNMENTS));
+
+        assertThat(batched.statements).isLessThan(rowByRow.statements / 10);
+    }
+
+    private List<Enrollment> enrollments(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        return students.subList(0, count).stream()
+                .map(student -> Enrollment.builder().student(student).course(course).enrolledAt(now).build())
+                .toList();
+    }
+
+    private List<Submission> submissions(int assignmentCount) {
+        List<Submission> submissions = new ArrayList<>(assignmentCount * STUDENTS);
+        for (Assignment assignment : assignments.subList(0, assignmentCount)) {
+            for (User student : students) {
+                submissions.add(Submission.builder()
+                        .assignment(assignment)
+                        .student(student)
+                        .fileUrl("/files/download/bench.txt")
+                        .build());
+            }
+        }
+        return submissions;
+    }
+
+    // 같은 트랜잭션 안에서 세션의 배치 크기만 바꿔 같은 저장 경로를 실행하고, 측정 후 저장한 행은 지운다
+    private Result measure(String label, int batchSize, Supplier<List<?>> rows) {
+        List<?> entities = rows.get();
+        statistics.clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            bulkInsertService.insertAll(entities);
+        });
+        Result result = new Result((System.nanoTime() - start) / 1_000_000, statistics.getPrepareStatementCount());
+        transactionTemplate.executeWithoutResult(status -> deleteBenchmarkRows());
+
+        System.out.printf("%-20s batch_size=%-3d %6d ms, prepared statements=%d%n",
+                label, batchSize, result.millis, result.statements);
+        return result;
+    }
+
+    private void deleteBenchmarkRows() {
+        entityManager.createQuery("DELETE FROM Submission s WHERE s.assignment.course = :course")
+                .setParameter("course", course).executeUpdate();
+        entityManager.createQuery("DELETE FROM Enrollment e WHERE e.course = :course")
+                .setParameter("course", course).executeUpdate();
+    }
+
+    private static class Result {
+        final long millis;
+        final long statements;
+
+        Result(long millis, long statements) {
+            this.millis = millis;
+            this.statements = statements;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChunkedUploadServiceTest {
+
+    // 조각 크기 4 bytes -> 10 bytes 파일은 조각 3개 (4, 4, 2)
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileService fileService = mock(FileService.class);
+    private final SubmissionService submissionService = mock(SubmissionService.class);
+    private final ChunkedUploadService chunkedUploadService = new ChunkedUploadService(fileService, submissionService,
+            new UploadBufferPool(DataSize.ofBytes(4), 4, Duration.ofSeconds(5)),
+            new IdempotencyKeyService(Duration.ofHours(1), Duration.ofSeconds(5)));
+
+    private final AtomicReference<byte[]> savedContent = new AtomicReference<>();
+    private final User student = User.builder().id(1L).name("분할업로드학생").build();
+    private final LocalDateTime deadline = LocalDateTime.now().minusHours(1);
+    private final Assignment assignment = Assignment.builder().assignmentId(10L).deadline(deadline).build();
+
+    @TempDir
+    private Path uploadDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(chunkedUploadService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(chunkedUploadService, "maxFileSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(chunkedUploadService, "chunkSize", DataSize.ofBytes(4));
+        ReflectionTestUtils.setField(chunkedUploadService, "sessionTimeout", Duration.ofHours(1));
+        ReflectionTestUtils.setField(chunkedUploadService, "maxSessionsPerStudent", 3);
+
+        when(submissionService.isSubmissionAllowed(any(), any())).thenAnswer(invocation ->
+                invocation.<Assignment>getArgument(0).getDeadline().isAfter(invocation.getArgument(1)));
+        when(submissionService.getSubmissionByAssignmentAndStudent(any(), any())).thenReturn(Optional.empty());
+        when(submissionService.submitAssignment(any(), any(), anyString()))
+                .thenReturn(Submission.builder().submissionId(100L).build());
+        when(fileService.saveLocalFile(any(), anyString(), anyString())).thenAnswer(invocation -> {
+            savedContent.set(Files.readAllBytes(invocation.getArgument(0)));
+            return "saved.bin";
+        });
+    }
+
+    @Test
+    void assemblesChunksSentOutOfOrderAndResent() throws Exception {
+        String uploadId = start();
+
+        writeChunk(uploadId, 2, chunk(2));
+        writeChunk(uploadId, 0, "xxxx".getBytes(StandardCharsets.US_ASCII));
+        writeChunk(uploadId, 1, chunk(1));
+        // 재전송은 이전 내용을 덮어쓴다
+        ChunkedUploadService.UploadStatus status = writeChunk(uploadId, 0, chunk(0));
+
+        assertThat(status.getMissingChunks()).isEmpty();
+        assertThat(status.getReceivedBytes()).isEqualTo(CONTENT.length);
+        assertThat(chunkedUploadService.complete(uploadId, student, assignment)).isEqualTo(100L);
+        assertThat(savedContent.get()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void failedResendMustBeSentAgain() throws Exception {
+        String uploadId = start();
+        writeChunk(uploadId, 0, chunk(0));
+        writeChunk(uploadId, 1, chunk(1));
+        writeChunk(uploadId, 2, chunk(2));
+
+        // 짧게 끊긴 재전송이 앞부분을 덮어썼으므로 조각 0 은 다시 받아야 한다
+        assertThatThrownBy(() -> writeChunk(uploadId, 0, "ab".getBytes(StandardCharsets.US_ASCII)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(chunkedUploadService.getStatus(uploadId, student).getMissingChunks()).containsExactly(0);
+        assertThatThrownBy(() -> chunkedUploadService.complete(uploadId, student, assignment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("받지 못한 조각");
+
+        writeChunk(uploadId, 0, chunk(0));
+        chunkedUploadService.complete(uploadId, student, assignment);
+        assertThat(savedContent.get()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void rejectsSecondWriteOfChunkInProgress() throws Exception {
+        String uploadId = start();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ChunkedUploadService.UploadStatus> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return chunkedUploadService.writeChunk(uploadId, student, 0,
+                        new BlockingInputStream(chunk(0), reading, release), beforeDeadline());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> writeChunk(uploadId, 0, chunk(0)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이미 받고 있습니다");
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getMissingChunks()).containsExactly(1, 2);
+    }
+
+    @Test
+    void judgesDeadlineByLastChunkArrival() throws Exception {
+        // 마감은 이미 지났지만 모든 조각이 마감 전에 도착했으므로 완료할 수 있다
+        String onTime = start();
+        writeChunk(onTime, 0, chunk(0));
+        writeChunk(onTime, 1, chunk(1));
+        writeChunk(onTime, 2, chunk(2));
+        assertThat(chunkedUploadService.complete(onTime, student, assignment)).isEqualTo(100L);
+
+        // 마지막 조각이 마감 뒤에 도착하면 거절한다
+        String late = start();
+        writeChunk(late, 0, chunk(0));
+        writeChunk(late, 1, chunk(1));
+        chunkedUploadService.writeChunk(late, student, 2, new ByteArrayInputStream(chunk(2)), deadline.plusSeconds(1));
+        assertThatThrownBy(() -> chunkedUploadService.complete(late, student, assignment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("마감");
+    }
+
+    @Test
+    void purgesExpiredSessionsButNotChunksInProgress() throws Exception {
+        ReflectionTestUtils.setField(chunkedUploadService, "sessionTimeout", Duration.ofMillis(100));
+        String idle = start();
+        String busy = start();
+
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ChunkedUploadService.UploadStatus> write = CompletableFuture.supplyAsync(() -> {
+            try {
+                return chunkedUploadService.writeChunk(busy, student, 0,
+                        new BlockingInputStream(chunk(0), reading, release), beforeDeadline());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+
+        chunkedUploadService.purgeExpiredSessions();
+
+        assertThat(partFile(idle)).doesNotExist();
+        assertThatThrownBy(() -> chunkedUploadService.getStatus(idle, student))
+                .isInstanceOf(NoSuchElementException.class);
+        // 조각을 받고 있는 세션은 만료 시간이 지났어도 남겨 둔다
+        assertThat(partFile(busy)).exists();
+        release.countDown();
+        write.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void limitsSessionsPerStudent() throws Exception {
+        ReflectionTestUtils.setField(chunkedUploadService, "maxSessionsPerStudent", 1);
+        start();
+
+        assertThatThrownBy(this::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("진행 중인 업로드가 너무 많습니다");
+    }
+
+    private String start() throws IOException {
+        return chunkedUploadService.start(assignment, student, "report.txt", CONTENT.length, beforeDeadline())
+                .getUploadId();
+    }
+
+    private ChunkedUploadService.UploadStatus writeChunk(String uploadId, int index, byte[] body) throws IOException {
+        return chunkedUploadService.writeChunk(uploadId, student, index, new ByteArrayInputStream(body), beforeDeadline());
+    }
+
+    private LocalDateTime beforeDeadline() {
+        return deadline.minusMinutes(1);
+    }
+
+    private byte[] chunk(int index) {
+        int start = index * 4;
+        return Arrays.copyOfRange(CONTENT, start, Math.min(start + 4, CONTENT.length));
+    }
+
+    private Path partFile(String uploadId) {
+        return uploadDir.resolve("chunks").resolve(uploadId + ".part");
+    }
+
+    // 첫 읽기에서 멈춰 조각을 받고 있는 상태를 만든다
+    private static class BlockingInputStream extends InputStream {
+        private final InputStream delegate;
+        private final CountDownLatch reading;
+        private final CountDownLatch release;
+
+        BlockingInputStream(byte[] content, CountDownLatch reading, CountDownLatch release) {
+            this.delegate = new ByteArrayInputStream(content);
+            this.reading = reading;
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            reading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            return delegate.read(buffer, offset, length);
+        }
+    }
+}
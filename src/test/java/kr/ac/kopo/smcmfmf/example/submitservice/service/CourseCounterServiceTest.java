@@ -0,0 +1,206 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.CourseCounter;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StudentCourseCounter;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.CourseCounterRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.StudentCourseCounterRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.StudentDashboardRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 과목별 집계가 쓰기마다 실제 건수와 같게 유지되고, 어긋난 집계는 재검사로 복구되는지 확인
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=WARN"})
+class CourseCounterServiceTest {
+
+    private static final String COURSE_CODE = "COUNTER-TEST";
+
+    @Autowired
+    private CourseCounterService courseCounterService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseCounterRepository courseCounterRepository;
+
+    @Autowired
+    private StudentCourseCounterRepository studentCourseCounterRepository;
+
+    @Autowired
+    private StudentDashboardRepository studentDashboardRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User professor;
+    private final List<User> students = new ArrayList<>();
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        professor = userRepository.findByEmail("prof@kopo.ac.kr").orElseThrow();
+        for (int i = 0; i < 2; i++) {
+            students.add(userService.registerUser(User.builder()
+                    .name("집계테스트학생" + i)
+                    .email("counter-test-" + i + "@kopo.ac.kr")
+                    .password("password123")
+                    .role(User.Role.STUDENT)
+                    .build()));
+        }
+        course = courseService.createCourse(Course.builder()
+                .name("집계 테스트 과목")
+                .code(COURSE_CODE)
+                .professor(professor)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseService.deleteCourse(course.getCourseId(), professor);
+        for (User student : students) {
+            studentDashboardRepository.deleteById(student.getId());
+            userRepository.deleteById(student.getId());
+        }
+    }
+
+    @Test
+    void keepsCountersInStepWithWrites() {
+        User first = students.get(0);
+        User second = students.get(1);
+        students.forEach(student -> courseService.enrollStudent(student, COURSE_CODE));
+
+        Assignment kept = createAssignment("남는 과제");
+        Assignment removed = createAssignment("삭제할 과제");
+        Submission graded = submissionService.submitAssignment(kept, first, "/files/download/counter-1.txt");
+        submissionService.completeGrading(graded.getSubmissionId(), new BigDecimal("80.00"), "확인");
+        submissionService.submitAssignment(removed, first, "/files/download/counter-2.txt");
+        Submission removedGraded = submissionService.submitAssignment(removed, second, "/files/download/counter-3.txt");
+        submissionService.completeGrading(removedGraded.getSubmissionId(), new BigDecimal("70.00"), "확인");
+        // 재제출은 건수를 바꾸지 않는다
+        submissionService.submitAssignment(removed, first, "/files/download/counter-4.txt");
+
+        assertCourseCounter(2, 2, 3);
+        assertStudentCounter(first, 2, 1);
+        assertStudentCounter(second, 1, 1);
+
+        assignmentService.deleteAssignment(removed.getAssignmentId());
+        assertCourseCounter(1, 2, 1);
+        assertStudentCounter(first, 1, 1);
+        assertStudentCounter(second, 0, 0);
+
+        courseService.withdrawStudent(first, course);
+        assertCourseCounter(1, 1, 0);
+        assertThat(courseCounterService.getStudentCourseCounter(first.getId(), course.getCourseId())).isEmpty();
+
+        CourseService.CourseDeleteInfo deleteInfo = courseService.getCourseDeleteInfo(course.getCourseId());
+        assertThat(deleteInfo.getAssignmentCount()).isEqualTo(1);
+        assertThat(deleteInfo.getEnrollmentCount()).isEqualTo(1);
+        assertThat(deleteInfo.getSubmissionCount()).isZero();
+
+        // 쓰기로 유지한 집계는 재검사에서 고칠 것이 없어야 한다
+        CourseCounterService.ReconcileResult result = courseCounterService.reconcile();
+        assertThat(result.getRepairedCourses()).doesNotContain(course.getCourseId());
+        assertThat(result.getRepairedStudentCourses()).doesNotContain(course.getCourseId());
+    }
+
+    @Test
+    void bulkWithdrawDeletesBySetAndKeepsCounters() {
+        User first = students.get(0);
+        User second = students.get(1);
+        students.forEach(student -> courseService.enrollStudent(student, COURSE_CODE));
+        Assignment assignment = createAssignment("일괄 철회 과제");
+        submissionService.submitAssignment(assignment, first, "/files/download/counter-6.txt");
+        submissionService.submitAssignment(assignment, second, "/files/download/counter-7.txt");
+
+        // 수강하지 않은 학생(교수 ID)은 건너뛴다
+        CourseService.BulkWithdrawResult result = courseService.withdrawStudents(course,
+                List.of(first.getId(), second.getId(), professor.getId()));
+
+        assertThat(result.getRequestedCount()).isEqualTo(3);
+        assertThat(result.getWithdrawnCount()).isEqualTo(2);
+        assertThat(result.getDeletedSubmissions()).isEqualTo(2);
+        assertCourseCounter(1, 0, 0);
+        assertThat(courseService.isStudentEnrolled(first, course)).isFalse();
+        assertThatThrownBy(() -> courseService.withdrawStudent(first, course))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("수강하지 않은 과목입니다.");
+
+        CourseCounterService.ReconcileResult reconciled = courseCounterService.reconcile();
+        assertThat(reconciled.getRepairedCourses()).doesNotContain(course.getCourseId());
+        assertThat(reconciled.getRepairedStudentCourses()).doesNotContain(course.getCourseId());
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        User student = students.get(0);
+        courseService.enrollStudent(student, COURSE_CODE);
+        Assignment assignment = createAssignment("재검사 과제");
+        submissionService.submitAssignment(assignment, student, "/files/download/counter-5.txt");
+
+        // 집계를 빠뜨린 쓰기 경로를 흉내 낸다
+        transactionTemplate.executeWithoutResult(status -> {
+            courseCounterRepository.addSubmissions(course.getCourseId(), 5);
+            studentCourseCounterRepository.deleteByCourseIdAndStudentIds(course.getCourseId(), List.of(student.getId()));
+        });
+
+        CourseCounterService.ReconcileResult result = courseCounterService.reconcile();
+
+        assertThat(result.getRepairedCourses()).contains(course.getCourseId());
+        assertThat(result.getRepairedStudentCourses()).contains(course.getCourseId());
+        assertCourseCounter(1, 1, 1);
+        assertStudentCounter(student, 1, 0);
+    }
+
+    private Assignment createAssignment(String title) {
+        return assignmentService.createAssignment(Assignment.builder()
+                .course(course)
+                .title(title)
+                .description("집계 확인용")
+                .deadline(LocalDateTime.now().plusDays(3))
+                .build());
+    }
+
+    private void assertCourseCounter(long assignments, long enrollments, long submissions) {
+        CourseCounter counter = courseCounterService.getCourseCounter(course.getCourseId()).orElseThrow();
+        assertThat(counter.getAssignmentCount()).as("과제 수").isEqualTo(assignments);
+        assertThat(counter.getEnrollmentCount()).as("수강생 수").isEqualTo(enrollments);
+        assertThat(counter.getSubmissionCount()).as("제출물 수").isEqualTo(submissions);
+    }
+
+    private void assertStudentCounter(User student, long submissions, long graded) {
+        StudentCourseCounter counter = courseCounterService.getStudentCourseCounter(student.getId(), course.getCourseId()).orElseThrow();
+        assertThat(counter.getSubmissionCount()).as("제출물 수").isEqualTo(submissions);
+        assertThat(counter.getGradedCount()).as("평가 완료 수").isEqualTo(graded);
+    }
+}
@@ -0,0 +1,55 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.DataMigration;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.DataMigrationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 기동 시 데이터 보정이 적용 기록을 남기고, 기록된 보정은 다시 실행되지 않는지 확인
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=WARN"})
+class DataMigrationServiceTest {
+
+    @Autowired
+    private DataMigrationService dataMigrationService;
+
+    @Autowired
+    private DataMigrationRepository dataMigrationRepository;
+
+    @Test
+    void appliedMigrationsAreRecordedAndSkipped() {
+        // 준비 완료 후 백그라운드 실행과 겹쳐도 한쪽만 적용된다
+        dataMigrationService.applyPending();
+
+        assertThat(dataMigrationRepository.findAll())
+                .extracting(DataMigration::getVersion)
+                .contains("2025.01-submission-is-graded");
+        assertThat(dataMigrationService.applyPending()).isEmpty();
+    }
+
+    @Test
+    void recordingSameVersionTwiceFailsInsteadOfOverwriting() {
+        dataMigrationService.applyPending();
+
+        // 다른 인스턴스가 먼저 적용한 경우 - 덮어쓰지 않고 중복 키 오류가 나야 "이미 적용됨" 으로 처리된다
+        assertThatThrownBy(() -> dataMigrationRepository.saveAndFlush(DataMigration.builder()
+                .version("2025.01-submission-is-graded")
+                .description("중복 기록")
+                .affectedRows(0)
+                .appliedAt(LocalDateTime.now())
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(dataMigrationRepository.findById("2025.01-submission-is-graded"))
+                .get()
+                .extracting(DataMigration::getDescription)
+                .isNotEqualTo("중복 기록");
+    }
+}
@@ -0,0 +1,144 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentClosedEvent;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.AssignmentDeadline;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.AssignmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeadlineIndexTest {
+
+    private final AssignmentRepository assignmentRepository = mock(AssignmentRepository.class);
+    private final List<AssignmentClosedEvent> closedEvents = new CopyOnWriteArrayList<>();
+    private final ThreadPoolTaskScheduler taskScheduler = createTaskScheduler();
+    private final DeadlineIndex deadlineIndex = new DeadlineIndex(assignmentRepository,
+            event -> closedEvents.add((AssignmentClosedEvent) event), taskScheduler);
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void answersDeadlineQueriesPerCourse() {
+        LocalDateTime now = LocalDateTime.now();
+        when(assignmentRepository.findOpenDeadlines(any())).thenReturn(List.of(
+                new AssignmentDeadline(1L, 10L, "내일", now.plusDays(1)),
+                new AssignmentDeadline(2L, 10L, "다음 주", now.plusDays(7)),
+                new AssignmentDeadline(3L, 20L, "두 시간 뒤", now.plusHours(2)),
+                new AssignmentDeadline(4L, 30L, "다른 과목", now.plusHours(1))));
+        when(assignmentRepository.countClosedByCourse(any())).thenReturn(List.of(closedCount(10L, 1)));
+        deadlineIndex.reload();
+
+        assertThat(deadlineIndex.findUpcoming(List.of(10L, 20L), Duration.ofHours(48)))
+                .extracting(AssignmentDeadline::getAssignmentId)
+                .containsExactly(3L, 1L);
+        assertThat(deadlineIndex.findNext(10L)).map(AssignmentDeadline::getAssignmentId).contains(1L);
+        assertThat(deadlineIndex.findNext(40L)).isEmpty();
+        assertThat(deadlineIndex.countOpen(10L)).isEqualTo(2);
+        assertThat(deadlineIndex.countClosed(10L)).isEqualTo(1);
+    }
+
+    @Test
+    void keepsIndexCurrentOnExtendAndDelete() {
+        LocalDateTime now = LocalDateTime.now();
+        when(assignmentRepository.countClosedByCourse(any())).thenReturn(List.of(closedCount(10L, 2)));
+        deadlineIndex.reload();
+
+        // 마감된 과제를 연장하면 다시 마감 전 과제가 된다
+        deadlineIndex.put(assignment(1L, 10L, now.plusHours(3)));
+        assertThat(deadlineIndex.countOpen(10L)).isEqualTo(1);
+        assertThat(deadlineIndex.countClosed(10L)).isEqualTo(1);
+        assertThat(deadlineIndex.findUpcoming(List.of(10L), Duration.ofHours(2))).isEmpty();
+        assertThat(deadlineIndex.findUpcoming(List.of(10L), Duration.ofHours(4))).hasSize(1);
+
+        deadlineIndex.remove(assignment(1L, 10L, now.plusHours(3)));
+        assertThat(deadlineIndex.countOpen(10L)).isZero();
+        assertThat(deadlineIndex.findNext(10L)).isEmpty();
+        assertThat(deadlineIndex.countClosed(10L)).isEqualTo(1);
+
+        // 마감된 과제를 삭제하면 그 과목의 마감 과제 수가 준다
+        deadlineIndex.remove(assignment(2L, 10L, now.minusDays(1)));
+        assertThat(deadlineIndex.countClosed(10L)).isZero();
+    }
+
+    @Test
+    void dropsAllAssignmentsOfDeletedCourse() {
+        LocalDateTime now = LocalDateTime.now();
+        when(assignmentRepository.findOpenDeadlines(any())).thenReturn(List.of(
+                new AssignmentDeadline(1L, 10L, "내일", now.plusDays(1)),
+                new AssignmentDeadline(2L, 10L, "한 시간 뒤", now.plusHours(1)),
+                new AssignmentDeadline(3L, 20L, "두 시간 뒤", now.plusHours(2))));
+        when(assignmentRepository.countClosedByCourse(any())).thenReturn(List.of(
+                closedCount(10L, 1), closedCount(20L, 1)));
+        deadlineIndex.reload();
+
+        deadlineIndex.removeCourse(10L);
+
+        assertThat(deadlineIndex.countOpen(10L)).isZero();
+        assertThat(deadlineIndex.countClosed(10L)).isZero();
+        assertThat(deadlineIndex.findUpcoming(List.of(10L, 20L), Duration.ofDays(2)))
+                .extracting(AssignmentDeadline::getAssignmentId)
+                .containsExactly(3L);
+        assertThat(deadlineIndex.countClosed(20L)).isEqualTo(1);
+    }
+
+    @Test
+    void firesCloseEventWhenDeadlinePasses() {
+        deadlineIndex.reload();
+        LocalDateTime deadline = LocalDateTime.now().plusNanos(300_000_000);
+        deadlineIndex.add(assignment(1L, 10L, deadline));
+        deadlineIndex.add(assignment(2L, 10L, LocalDateTime.now().plusHours(1)));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> closedEvents.size() == 1);
+
+        AssignmentClosedEvent event = closedEvents.get(0);
+        assertThat(event.getAssignment().getAssignmentId()).isEqualTo(1L);
+        assertThat(LocalDateTime.now()).isAfterOrEqualTo(deadline);
+        assertThat(deadlineIndex.countOpen(10L)).isEqualTo(1);
+        assertThat(deadlineIndex.countClosed(10L)).isEqualTo(1);
+    }
+
+    private static ThreadPoolTaskScheduler createTaskScheduler() {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.initialize();
+        return taskScheduler;
+    }
+
+    private Assignment assignment(Long assignmentId, Long courseId, LocalDateTime deadline) {
+        return Assignment.builder()
+                .assignmentId(assignmentId)
+                .course(Course.builder().courseId(courseId).build())
+                .title("과제 " + assignmentId)
+                .deadline(deadline)
+                .build();
+    }
+
+    private static AssignmentRepository.CourseCount closedCount(Long courseId, long count) {
+        return new AssignmentRepository.CourseCount() {
+            @Override
+            public Long getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
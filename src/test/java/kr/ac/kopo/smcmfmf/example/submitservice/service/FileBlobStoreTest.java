@@ -0,0 +1,142 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StoredFile;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.FileBlobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내용 주소 저장소의 중복 제거, 참조 수 관리, 롤백 정리 확인
+ * 테스트마다 내용을 새로 만들어 다른 테스트가 저장한 본문과 겹치지 않게 한다.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=WARN"})
+class FileBlobStoreTest {
+
+    @Autowired
+    private FileBlobStore fileBlobStore;
+
+    @Autowired
+    private FileBlobRepository fileBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void storesSameContentOnceAndDeletesItWithLastReference() throws IOException {
+        byte[] content = uniqueContent();
+
+        StoredFile first = fileBlobStore.store(new ByteArrayInputStream(content), uniqueName(), "first.txt");
+        StoredFile second = fileBlobStore.store(new ByteArrayInputStream(content), uniqueName(), "second.txt");
+
+        String hash = first.getBlob().getHash();
+        Path blobPath = fileBlobStore.blobPath(hash);
+        assertThat(second.getBlob().getHash()).isEqualTo(hash);
+        assertThat(referenceCount(hash)).isEqualTo(2);
+        assertThat(Files.readAllBytes(blobPath)).isEqualTo(content);
+
+        // 참조가 남아 있으면 본문을 유지한다
+        assertThat(fileBlobStore.release(first.getFileName())).isTrue();
+        assertThat(referenceCount(hash)).isEqualTo(1);
+        assertThat(blobPath).exists();
+        assertThat(fileBlobStore.find(first.getFileName())).isEmpty();
+        assertThat(fileBlobStore.find(second.getFileName())).isPresent();
+
+        assertThat(fileBlobStore.release(second.getFileName())).isTrue();
+        assertThat(fileBlobRepository.existsById(hash)).isFalse();
+        assertThat(blobPath).doesNotExist();
+        assertThat(fileBlobStore.release(second.getFileName())).isFalse();
+    }
+
+    @Test
+    void deletesBlobFileWhenRegistrationRollsBack() {
+        byte[] content = uniqueContent();
+        String fileName = uniqueName();
+
+        String hash = new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                StoredFile storedFile = fileBlobStore.store(new ByteArrayInputStream(content), fileName, "rollback.txt");
+                assertThat(fileBlobStore.blobPath(storedFile.getBlob().getHash())).exists();
+                status.setRollbackOnly();
+                return storedFile.getBlob().getHash();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(fileBlobStore.find(fileName)).isEmpty();
+        assertThat(fileBlobRepository.existsById(hash)).isFalse();
+        assertThat(fileBlobStore.blobPath(hash)).doesNotExist();
+    }
+
+    @Test
+    void keepsReferenceCountConsistentUnderConcurrentStoreAndRelease() throws Exception {
+        byte[] content = uniqueContent();
+        StoredFile anchor = fileBlobStore.store(new ByteArrayInputStream(content), uniqueName(), "anchor.txt");
+        String hash = anchor.getBlob().getHash();
+
+        int threads = 8;
+        int rounds = 10;
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<Void> task = () -> {
+                    startGate.await();
+                    for (int round = 0; round < rounds; round++) {
+                        StoredFile stored = fileBlobStore.store(new ByteArrayInputStream(content), uniqueName(), "copy.txt");
+                        assertThat(stored.getBlob().getHash()).isEqualTo(hash);
+                        assertThat(fileBlobStore.release(stored.getFileName())).isTrue();
+                    }
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            startGate.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 동시에 등록/해제된 참조가 모두 정리되고 처음 참조만 남아야 한다
+        assertThat(referenceCount(hash)).isEqualTo(1);
+        assertThat(Files.readAllBytes(fileBlobStore.blobPath(hash))).isEqualTo(content);
+
+        fileBlobStore.release(anchor.getFileName());
+        assertThat(fileBlobStore.blobPath(hash)).doesNotExist();
+    }
+
+    private int referenceCount(String hash) {
+        return fileBlobRepository.findById(hash).orElseThrow().getReferenceCount();
+    }
+
+    private static byte[] uniqueContent() {
+        return ("blob-store-test " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String uniqueName() {
+        return "blob-test_" + UUID.randomUUID() + ".txt";
+    }
+}
@@ -0,0 +1,59 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadServiceTest {
+
+    private static final String ETAG = "\"test\"";
+
+    private final FileDownloadService fileDownloadService = new FileDownloadService();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void sendsDisjointRangesAsMultipart() throws Exception {
+        Path file = writeFile(1000);
+
+        MockHttpServletResponse response = download(file, "bytes=0-99,500-599");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges");
+    }
+
+    @Test
+    void ignoresOverlappingRanges() throws Exception {
+        Path file = writeFile(1000);
+
+        MockHttpServletResponse response = download(file, "bytes=0-,0-,0-,100-199");
+
+        // 같은 구간을 여러 번 보내지 않고 전체 파일을 한 번만 보낸다
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(1000);
+    }
+
+    private MockHttpServletResponse download(Path file, String range) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/download/test.bin");
+        request.addHeader(HttpHeaders.RANGE, range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloadService.sendFile(file, "test.bin", ETAG, request, response);
+        return response;
+    }
+
+    private Path writeFile(int size) throws Exception {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return Files.write(tempDir.resolve("test.bin"), content);
+    }
+}
@@ -0,0 +1,134 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.FileBlob;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 스트리밍 multipart 업로드 경로 확인 (파트 순서, 폼 필드 크기 제한, 실패 시 저장한 파일 정리)
+ */
+class FileServiceMultipartStreamTest {
+
+    private static final String BOUNDARY = "----stream-test-boundary";
+
+    private final FileBlobStore fileBlobStore = mock(FileBlobStore.class);
+    private final FileService fileService = new FileService(fileBlobStore, new SimpleAsyncTaskExecutor());
+
+    private final Map<String, byte[]> storedContents = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(fileBlobStore.store(any(), anyString(), anyString())).thenAnswer(invocation -> {
+            byte[] content = invocation.<InputStream>getArgument(0).readAllBytes();
+            String fileName = invocation.getArgument(1);
+            storedContents.put(fileName, content);
+            return StoredFile.builder()
+                    .fileName(fileName)
+                    .originalFilename(invocation.getArgument(2))
+                    .blob(FileBlob.builder().hash("hash").size(content.length).build())
+                    .build();
+        });
+        when(fileBlobStore.release(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void passesOnlyFieldsBeforeFilePartToPrefixResolver() throws Exception {
+        MockHttpServletRequest request = multipartRequest(new MultipartBody()
+                .field("title", "중간 보고서")
+                .file("attachmentFile", "report.pdf", "파일 내용")
+                .field("description", "파일 뒤에 온 필드"));
+        Map<String, String> fieldsSeenByResolver = new LinkedHashMap<>();
+
+        FileService.StreamedUpload upload = fileService.saveMultipartStream(request, "attachmentFile", fields -> {
+            fieldsSeenByResolver.putAll(fields);
+            return "교수_assignment_" + fields.getOrDefault("title", "");
+        });
+
+        assertThat(fieldsSeenByResolver).containsOnlyKeys("title");
+        assertThat(upload.getFields()).containsOnlyKeys("title", "description");
+        assertThat(upload.getOriginalFilename()).isEqualTo("report.pdf");
+        assertThat(upload.getSavedFileName()).startsWith("교수_assignment_중간_보고서_").endsWith(".pdf");
+        assertThat(upload.getSize()).isEqualTo("파일 내용".getBytes(StandardCharsets.UTF_8).length);
+        assertThat(storedContents.get(upload.getSavedFileName())).asString(StandardCharsets.UTF_8).isEqualTo("파일 내용");
+    }
+
+    @Test
+    void rejectsOversizedFormFieldBeforeStoringFile() throws Exception {
+        MockHttpServletRequest request = multipartRequest(new MultipartBody()
+                .field("title", "x".repeat(64 * 1024 + 1))
+                .file("attachmentFile", "report.pdf", "파일 내용"));
+
+        assertThatThrownBy(() -> fileService.saveMultipartStream(request, "attachmentFile", fields -> "prefix"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("폼 필드가 너무 큽니다");
+        verify(fileBlobStore, never()).store(any(), anyString(), anyString());
+    }
+
+    @Test
+    void releasesStoredFileWhenLaterPartFails() throws Exception {
+        MockHttpServletRequest request = multipartRequest(new MultipartBody()
+                .file("file", "answer.txt", "제출 내용")
+                .field("comment", "x".repeat(64 * 1024 + 1)));
+
+        assertThatThrownBy(() -> fileService.saveStudentSubmission(request, "학생"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        String savedFileName = storedContents.keySet().iterator().next();
+        verify(fileBlobStore).release(savedFileName);
+    }
+
+    private static MockHttpServletRequest multipartRequest(MultipartBody body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.build());
+        return request;
+    }
+
+    // 테스트용 multipart/form-data 본문
+    private static class MultipartBody {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        MultipartBody field(String name, String value) {
+            write("--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                    + value + "\r\n");
+            return this;
+        }
+
+        MultipartBody file(String name, String filename, String content) {
+            write("--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename + "\"\r\n"
+                    + "Content-Type: application/octet-stream\r\n\r\n"
+                    + content + "\r\n");
+            return this;
+        }
+
+        byte[] build() {
+            write("--" + BOUNDARY + "--\r\n");
+            return out.toByteArray();
+        }
+
+        private void write(String text) {
+            out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
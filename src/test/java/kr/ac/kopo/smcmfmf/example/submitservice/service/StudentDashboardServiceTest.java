@@ -0,0 +1,118 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.StudentDashboardRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 학생 대시보드 읽기 모델이 쓰기 경로마다 갱신되어 테이블에서 새로 만든 문서와 같은 내용을 유지하는지 확인
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=WARN"})
+class StudentDashboardServiceTest {
+
+    private static final String COURSE_CODE = "DASH-TEST";
+
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentDashboardRepository studentDashboardRepository;
+
+    private User professor;
+    private User student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        professor = userRepository.findByEmail("prof@kopo.ac.kr").orElseThrow();
+        student = userService.registerUser(User.builder()
+                .name("대시보드테스트학생")
+                .email("dashboard-test@kopo.ac.kr")
+                .password("password123")
+                .role(User.Role.STUDENT)
+                .build());
+        course = courseService.createCourse(Course.builder()
+                .name("대시보드 테스트 과목")
+                .code(COURSE_CODE)
+                .professor(professor)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseService.deleteCourse(course.getCourseId(), professor);
+        studentDashboardRepository.deleteById(student.getId());
+        userRepository.deleteById(student.getId());
+    }
+
+    @Test
+    void keepsDashboardCurrentAcrossWritePaths() {
+        assertThat(studentDashboardService.getDashboard(student).getCourses()).isEmpty();
+
+        courseService.enrollStudent(student, COURSE_CODE);
+        StudentDashboardService.DashboardCourse entry = studentDashboardService.getDashboard(student).getCourses().get(0);
+        assertThat(entry.getCourseId()).isEqualTo(course.getCourseId());
+        assertThat(entry.getProfessorName()).isEqualTo(professor.getName());
+        assertThat(entry.getAssignments()).isEmpty();
+
+        Assignment assignment = assignmentService.createAssignment(Assignment.builder()
+                .course(course)
+                .title("대시보드 과제")
+                .description("읽기 모델 확인용")
+                .deadline(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MINUTES))
+                .build());
+        // 과제 등록은 수강생 문서를 고치지 않고 무효화한다
+        assertThat(studentDashboardRepository.existsById(student.getId())).isFalse();
+        StudentDashboardService.DashboardDocument dashboard = studentDashboardService.getDashboard(student);
+        assertThat(dashboard.getCourses().get(0).getOpenAssignmentCount()).isEqualTo(1);
+        assertThat(dashboard.getCourses().get(0).getNextAssignment().getAssignmentId()).isEqualTo(assignment.getAssignmentId());
+        assertThat(dashboard.getUpcomingAssignments(Duration.ofHours(72)))
+                .extracting(StudentDashboardService.UpcomingAssignment::getStatus)
+                .containsExactly(StudentDashboardService.SubmissionStatus.NOT_SUBMITTED);
+
+        Submission submission = submissionService.submitAssignment(assignment, student, "/files/download/dashboard-test.txt");
+        assertThat(studentDashboardService.getDashboard(student).getCourses().get(0).getSubmittedCount()).isEqualTo(1);
+
+        submissionService.completeGrading(submission.getSubmissionId(), new BigDecimal("90.00"), "확인");
+        dashboard = studentDashboardService.getDashboard(student);
+        StudentDashboardService.DashboardAssignment graded = dashboard.getCourses().get(0).getAssignments().get(0);
+        assertThat(graded.getStatus()).isEqualTo(StudentDashboardService.SubmissionStatus.GRADED);
+        assertThat(graded.getGrade()).isEqualByComparingTo("90");
+
+        // 갱신으로 유지한 문서와 테이블에서 새로 만든 문서가 같아야 한다
+        assertThat(dashboard).isEqualTo(studentDashboardService.rebuild(student));
+
+        courseService.withdrawStudent(student, course);
+        assertThat(studentDashboardService.getDashboard(student).getCourses()).isEmpty();
+    }
+}
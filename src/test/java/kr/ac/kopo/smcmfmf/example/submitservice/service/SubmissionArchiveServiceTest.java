@@ -0,0 +1,154 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.FileBlob;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.StoredFile;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.SubmissionView;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubmissionArchiveServiceTest {
+
+    private final SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+    private final FileBlobStore fileBlobStore = mock(FileBlobStore.class);
+    private final FileService fileService = mock(FileService.class);
+    private final SubmissionArchiveService archiveService =
+            new SubmissionArchiveService(submissionRepository, fileBlobStore, fileService);
+
+    private final Assignment assignment = Assignment.builder().assignmentId(1L).build();
+    private final List<SubmissionView> submissions = new ArrayList<>();
+    private final List<StoredFile> storedFiles = new ArrayList<>();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void writesCompressedFormatsStoredAndOthersDeflated() throws IOException {
+        byte[] pdf = "%PDF-1.4 이미 압축된 형식".getBytes(StandardCharsets.UTF_8);
+        byte[] text = "text ".repeat(200).getBytes(StandardCharsets.UTF_8);
+        byte[] legacy = "저장소 도입 이전 파일".getBytes(StandardCharsets.UTF_8);
+        addStoredSubmission(1L, "김학생", "report.pdf", pdf);
+        addStoredSubmission(2L, "이학생", "notes.txt", text);
+        addLegacySubmission(3L, "박학생", "old_report.pdf", legacy);
+
+        try (ZipFile zip = writeArchive(archiveService.collectEntries(assignment))) {
+            assertStored(zip, "김학생_1_report.pdf", pdf);
+            assertStored(zip, "박학생_3_old_report.pdf", legacy);
+
+            ZipEntry deflated = zip.getEntry("이학생_2_notes.txt");
+            assertThat(deflated.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(deflated.getCompressedSize()).isLessThan(text.length);
+            assertThat(zip.getInputStream(deflated).readAllBytes()).isEqualTo(text);
+        }
+    }
+
+    @Test
+    void appendsNumberToDuplicateEntryNames() throws IOException {
+        addStoredSubmission(1L, "김학생", "report.pdf", "첫 번째".getBytes(StandardCharsets.UTF_8));
+        addStoredSubmission(1L, "김학생", "report.pdf", "두 번째".getBytes(StandardCharsets.UTF_8));
+        addStoredSubmission(1L, "김학생", "report.pdf", "세 번째".getBytes(StandardCharsets.UTF_8));
+        addStoredSubmission(2L, "최/학생", "report", "구분자".getBytes(StandardCharsets.UTF_8));
+        addStoredSubmission(2L, "최/학생", "report", "확장자 없음".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(archiveService.collectEntries(assignment))
+                .extracting(SubmissionArchiveService.ArchiveEntry::getName)
+                .containsExactly("김학생_1_report.pdf", "김학생_1_report(2).pdf", "김학생_1_report(3).pdf",
+                        "최_학생_2_report", "최_학생_2_report(2)");
+    }
+
+    @Test
+    void skipsFilesDeletedAfterEntriesWereCollected() throws IOException {
+        byte[] kept = "남은 파일".getBytes(StandardCharsets.UTF_8);
+        addStoredSubmission(1L, "김학생", "first.pdf", "삭제될 파일".getBytes(StandardCharsets.UTF_8));
+        addStoredSubmission(2L, "이학생", "second.pdf", kept);
+        addLegacySubmission(3L, "박학생", "legacy.txt", "삭제될 이전 파일".getBytes(StandardCharsets.UTF_8));
+        List<SubmissionArchiveService.ArchiveEntry> entries = archiveService.collectEntries(assignment);
+
+        // 목록을 만든 뒤 재제출 등으로 파일이 지워진 경우
+        Files.delete(entries.get(0).getPath());
+        Files.delete(entries.get(2).getPath());
+
+        try (ZipFile zip = writeArchive(entries)) {
+            assertThat(Collections.list(zip.entries()))
+                    .extracting(ZipEntry::getName)
+                    .containsExactly("이학생_2_second.pdf");
+            assertStored(zip, "이학생_2_second.pdf", kept);
+        }
+    }
+
+    private void assertStored(ZipFile zip, String name, byte[] content) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+
+        assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+        assertThat(entry.getSize()).isEqualTo(content.length);
+        assertThat(entry.getCompressedSize()).isEqualTo(content.length);
+        assertThat(entry.getCrc()).isEqualTo(crc.getValue());
+        assertThat(zip.getInputStream(entry).readAllBytes()).isEqualTo(content);
+    }
+
+    private ZipFile writeArchive(List<SubmissionArchiveService.ArchiveEntry> entries) throws IOException {
+        Path archive = tempDir.resolve("archive.zip");
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            archiveService.writeArchive(entries, out);
+        }
+        return new ZipFile(archive.toFile());
+    }
+
+    private void addStoredSubmission(Long studentId, String studentName, String originalFilename, byte[] content)
+            throws IOException {
+        int index = submissions.size();
+        String fileName = "stored_" + index;
+        String hash = "hash" + index;
+        Files.write(tempDir.resolve(hash), content);
+
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        storedFiles.add(StoredFile.builder()
+                .fileName(fileName)
+                .originalFilename(originalFilename)
+                .blob(FileBlob.builder().hash(hash).size(content.length).crc32(crc.getValue()).build())
+                .build());
+        addSubmission(studentId, studentName, fileName);
+
+        when(fileBlobStore.findAll(any())).thenReturn(storedFiles);
+        when(fileBlobStore.blobPath(hash)).thenReturn(tempDir.resolve(hash));
+    }
+
+    private void addLegacySubmission(Long studentId, String studentName, String fileName, byte[] content)
+            throws IOException {
+        Path path = tempDir.resolve(fileName);
+        Files.write(path, content);
+        addSubmission(studentId, studentName, fileName);
+
+        when(fileService.resolveLegacyFile(fileName)).thenReturn(Optional.of(path));
+    }
+
+    private void addSubmission(Long studentId, String studentName, String fileName) {
+        submissions.add(new SubmissionView((long) submissions.size() + 1, 1L, "과제", 1L, "과목",
+                studentId, studentName, "/files/download/" + fileName, null, null, false,
+                LocalDateTime.now().minusHours(1), null));
+        when(submissionRepository.findViewsByAssignment(assignment)).thenReturn(submissions);
+    }
+}
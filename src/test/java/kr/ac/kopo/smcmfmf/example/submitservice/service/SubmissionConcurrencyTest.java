@@ -0,0 +1,197 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import jakarta.persistence.EntityManager;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Assignment;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Course;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.Submission;
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.SubmissionRepository;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마감 직전처럼 제출이 한꺼번에 몰릴 때 중복 제출물이 생기지 않는지 확인
+ * 제출자 1,000명(스레드)을 동시에 출발시켜 같은 학생의 제출이 겹치도록 만든다.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=WARN"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubmissionConcurrencyTest {
+
+    private static final int SUBMITTERS = 1_000;
+    private static final int STUDENTS = 100;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private IdempotencyKeyService idempotencyKeyService;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Course course;
+    private Assignment assignment;
+    private final List<User> students = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        User professor = userRepository.findByEmail("prof@kopo.ac.kr").orElseThrow();
+        course = Course.builder().name("동시 제출 과목").code("RACE001").professor(professor).build();
+        assignment = Assignment.builder()
+                .course(course)
+                .title("동시 제출 과제")
+                .description("마감 직전 제출 몰림")
+                .deadline(LocalDateTime.now().plusDays(1))
+                .build();
+        bulkInsertService.insertAll(List.of(course, assignment));
+
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(User.builder()
+                    .name("동시제출학생" + i)
+                    .email("race-" + i + "@kopo.ac.kr")
+                    .password("password123")
+                    .role(User.Role.STUDENT)
+                    .accountStatus(User.AccountStatus.APPROVED)
+                    .build());
+        }
+        bulkInsertService.insertAll(students);
+    }
+
+    @AfterEach
+    void deleteSubmissions() {
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.createQuery("DELETE FROM Submission s WHERE s.assignment = :assignment")
+                        .setParameter("assignment", assignment).executeUpdate());
+    }
+
+    @AfterAll
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM Assignment a WHERE a = :assignment")
+                    .setParameter("assignment", assignment).executeUpdate();
+            entityManager.createQuery("DELETE FROM Course c WHERE c = :course")
+                    .setParameter("course", course).executeUpdate();
+            entityManager.createQuery("DELETE FROM User u WHERE u.email LIKE 'race-%'").executeUpdate();
+        });
+    }
+
+    @Test
+    void concurrentSubmissionsKeepOneRowPerStudent() throws Exception {
+        // 학생마다 10개의 제출이 동시에 들어옴 (첫 제출끼리의 INSERT 경합 + 재제출끼리의 행 잠금 대기)
+        Map<Long, Set<String>> submittedUrls = new ConcurrentHashMap<>();
+        List<Callable<Long>> submitters = new ArrayList<>();
+        for (int i = 0; i < SUBMITTERS; i++) {
+            User student = students.get(i % STUDENTS);
+            String fileUrl = "/files/download/race-" + i + ".txt";
+            submittedUrls.computeIfAbsent(student.getId(), id -> ConcurrentHashMap.newKeySet()).add(fileUrl);
+            submitters.add(() -> submissionService.submitAssignment(assignment, student, fileUrl).getSubmissionId());
+        }
+
+        List<Long> submissionIds = runConcurrently(submitters);
+
+        List<Submission> submissions = submissionRepository.findByAssignment(assignment);
+        assertThat(submissions).hasSize(STUDENTS);
+        assertThat(Set.copyOf(submissionIds)).hasSize(STUDENTS);
+
+        // 남은 파일은 그 학생이 보낸 파일 중 하나 (다른 학생의 제출과 섞이지 않음)
+        Map<Long, Long> studentIdsBySubmission = studentIdsBySubmission();
+        for (Submission submission : submissions) {
+            Long studentId = studentIdsBySubmission.get(submission.getSubmissionId());
+            assertThat(submittedUrls.get(studentId)).contains(submission.getFileUrl());
+        }
+    }
+
+    @Test
+    void retriedRequestsWithSameKeyRunOnce() throws Exception {
+        // 같은 폼을 1,000번 전송한 것과 같은 상황 - 작업(파일 저장 + 제출)은 한 번만 실행되어야 한다
+        User student = students.get(0);
+        AtomicInteger executions = new AtomicInteger();
+        List<Callable<Long>> submitters = new ArrayList<>();
+        for (int i = 0; i < SUBMITTERS; i++) {
+            submitters.add(() -> idempotencyKeyService.execute(student.getId(), "submit:" + assignment.getAssignmentId(),
+                    "same-form-key", () -> {
+                        executions.incrementAndGet();
+                        return submissionService.submitAssignment(assignment, student, "/files/download/once.txt")
+                                .getSubmissionId();
+                    }));
+        }
+
+        List<Long> submissionIds = runConcurrently(submitters);
+
+        assertThat(executions).hasValue(1);
+        assertThat(Set.copyOf(submissionIds)).hasSize(1);
+        assertThat(submissionRepository.countByAssignment(assignment)).isEqualTo(1);
+    }
+
+    // 모든 작업을 준비시킨 뒤 동시에 출발시키고, 하나라도 실패하면 예외를 그대로 던진다
+    private List<Long> runConcurrently(List<Callable<Long>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch ready = new CountDownLatch(tasks.size());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> futures = new ArrayList<>();
+            for (Callable<Long> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return task.call();
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            List<Long> results = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                results.add(future.get(2, TimeUnit.MINUTES));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Long, Long> studentIdsBySubmission() {
+        return transactionTemplate.execute(status -> entityManager.createQuery(
+                        "SELECT s.submissionId, s.student.id FROM Submission s WHERE s.assignment = :assignment",
+                        Object[].class)
+                .setParameter("assignment", assignment)
+                .getResultStream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1])));
+    }
+}
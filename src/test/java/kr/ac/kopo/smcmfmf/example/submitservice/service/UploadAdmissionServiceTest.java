@@ -0,0 +1,137 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class UploadAdmissionServiceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void admitsUsersInTurnWhenBudgetIsReleased() throws Exception {
+        UploadAdmissionService admission = admission(DataSize.ofBytes(100), 4, Duration.ofSeconds(10));
+        UploadAdmissionService.Permit holder = admission.tryAcquire("holder", 100).orElseThrow();
+
+        // A 가 두 건을 먼저 기다리고 있어도 B 는 A 의 두 번째 요청보다 먼저 입장해야 한다
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        startUpload(admission, "A", "A1", admitted, done);
+        await().until(() -> admission.getQueuedCount() == 1);
+        startUpload(admission, "A", "A2", admitted, done);
+        await().until(() -> admission.getQueuedCount() == 2);
+        startUpload(admission, "B", "B1", admitted, done);
+        await().until(() -> admission.getQueuedCount() == 3);
+
+        holder.close();
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(admitted).containsExactly("A1", "B1", "A2");
+        assertThat(admission.getInFlightBytes()).isZero();
+        assertThat(admission.getQueuedCount()).isZero();
+    }
+
+    @Test
+    void admitsUploadsNearDeadlineFirst() throws Exception {
+        UploadAdmissionService admission = admission(DataSize.ofBytes(100), 4, Duration.ofSeconds(10));
+        UploadAdmissionService.Permit holder = admission.tryAcquire("holder", 100).orElseThrow();
+
+        // 마감이 멀거나 없는 업로드가 먼저 기다리고 있어도 마감 임박 업로드가 마감이 이른 순으로 먼저 입장해야 한다
+        LocalDateTime now = LocalDateTime.now();
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+        startUpload(admission, "A", "none", null, admitted, done);
+        await().until(() -> admission.getQueuedCount() == 1);
+        startUpload(admission, "B", "next-week", now.plusDays(7), admitted, done);
+        await().until(() -> admission.getQueuedCount() == 2);
+        startUpload(admission, "C", "in-3-minutes", now.plusMinutes(3), admitted, done);
+        await().until(() -> admission.getQueuedCount() == 3);
+        startUpload(admission, "D", "in-1-minute", now.plusMinutes(1), admitted, done);
+        await().until(() -> admission.getQueuedCount() == 4);
+
+        holder.close();
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(admitted).containsExactly("in-1-minute", "in-3-minutes", "none", "next-week");
+        assertThat(meterRegistry.get("upload.admission.prioritized").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsAfterMaxWait() throws Exception {
+        UploadAdmissionService admission = admission(DataSize.ofBytes(100), 4, Duration.ofMillis(100));
+        UploadAdmissionService.Permit holder = admission.tryAcquire("holder", 60).orElseThrow();
+
+        assertThat(admission.tryAcquire("A", 60)).isEmpty();
+        assertThat(admission.getQueuedCount()).isZero();
+        assertThat(meterRegistry.get("upload.admission.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1);
+
+        // 남은 예산 안의 요청은 그대로 입장
+        assertThat(admission.tryAcquire("A", 40)).isPresent();
+        holder.close();
+    }
+
+    @Test
+    void rejectsWhenUserQueueIsFull() throws Exception {
+        UploadAdmissionService admission = admission(DataSize.ofBytes(100), 1, Duration.ofSeconds(10));
+        UploadAdmissionService.Permit holder = admission.tryAcquire("holder", 100).orElseThrow();
+
+        CountDownLatch done = new CountDownLatch(1);
+        startUpload(admission, "A", "A1", new CopyOnWriteArrayList<>(), done);
+        await().until(() -> admission.getQueuedCount() == 1);
+
+        assertThat(admission.tryAcquire("A", 10)).isEmpty();
+        assertThat(meterRegistry.get("upload.admission.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+
+        holder.close();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void oversizedUploadIsChargedAtMostTheBudget() throws Exception {
+        UploadAdmissionService admission = admission(DataSize.ofBytes(100), 4, Duration.ofSeconds(1));
+
+        try (UploadAdmissionService.Permit permit = admission.tryAcquire("A", 1_000).orElseThrow()) {
+            assertThat(admission.getInFlightBytes()).isEqualTo(100);
+        }
+        assertThat(admission.getInFlightBytes()).isZero();
+    }
+
+    private UploadAdmissionService admission(DataSize budget, int maxQueuedPerUser, Duration maxWait) {
+        return new UploadAdmissionService(budget, maxQueuedPerUser, maxWait, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    // 입장하면 이름을 기록하고 바로 반납하는 업로드
+    private void startUpload(UploadAdmissionService admission, String user, String name,
+                             List<String> admitted, CountDownLatch done) {
+        startUpload(admission, user, name, null, admitted, done);
+    }
+
+    private void startUpload(UploadAdmissionService admission, String user, String name, LocalDateTime deadline,
+                             List<String> admitted, CountDownLatch done) {
+        Thread.ofVirtual().start(() -> {
+            try {
+                Optional<UploadAdmissionService.Permit> permit = admission.tryAcquire(user, 100, deadline);
+                permit.ifPresent(p -> {
+                    admitted.add(name);
+                    p.close();
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserCursorTest {
+
+    private final User user = User.builder()
+            .id(42L)
+            .createdAt(LocalDateTime.of(2025, 10, 17, 13, 26, 0, 123_456_000))
+            .build();
+
+    @Test
+    void roundTripsForwardAndBackwardPositions() {
+        KeysetScrollPosition after = UserCursor.decode(UserCursor.after(user));
+        assertThat(after.scrollsForward()).isTrue();
+        assertThat(after.getKeys()).containsExactly(
+                Map.entry("createdAt", user.getCreatedAt()), Map.entry("id", 42L));
+
+        KeysetScrollPosition before = UserCursor.decode(UserCursor.before(user));
+        assertThat(before.scrollsBackward()).isTrue();
+        assertThat(before.getKeys()).containsExactly(
+                Map.entry("createdAt", user.getCreatedAt()), Map.entry("id", 42L));
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(UserCursor.decode(null)).isEqualTo(ScrollPosition.keyset());
+        assertThat(UserCursor.decode(" ").isInitial()).isTrue();
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> UserCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserCursor.decode(encode("X|2025-10-17T13:26|42")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserCursor.decode(encode("F|어제|42")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserCursor.decode(encode("F|2025-10-17T13:26|abc")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package kr.ac.kopo.smcmfmf.example.submitservice.service;
+
+import kr.ac.kopo.smcmfmf.example.submitservice.domain.User;
+import kr.ac.kopo.smcmfmf.example.submitservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사용자 목록 키셋 페이지 조회 확인
+ * 생성 시각이 같은 사용자를 일부러 만들어 (createdAt, id) 순서로 빠짐과 중복 없이 넘어가는지 본다.
+ * 생성 시각을 먼 미래로 두어 기존 사용자보다 항상 앞에 오게 한다.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.kr.ac.kopo.smcmfmf=WARN"})
+class UserServiceTest {
+
+    private static final LocalDateTime LATER = LocalDateTime.of(2999, 1, 2, 9, 0);
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2999, 1, 1, 9, 0);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 기대 순서 (createdAt 최신순, 같으면 id 큰 순)
+    private final List<Long> expectedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<User> later = new ArrayList<>();
+        List<User> earlier = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            later.add(saveUser("later-" + i, LATER));
+        }
+        for (int i = 0; i < 2; i++) {
+            earlier.add(saveUser("earlier-" + i, EARLIER));
+        }
+        later.reversed().forEach(user -> expectedIds.add(user.getId()));
+        earlier.reversed().forEach(user -> expectedIds.add(user.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(expectedIds);
+    }
+
+    @Test
+    void pagesThroughSameCreatedAtByIdWithoutGapsOrDuplicates() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        while (seen.size() < expectedIds.size()) {
+            UserService.UserListPage page = userService.findUsersWithFilters("ALL", "ALL", cursor, 2, false);
+            page.getUsers().forEach(user -> seen.add(user.getId()));
+            cursor = page.getNextCursor();
+        }
+
+        assertThat(seen.subList(0, expectedIds.size())).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    void prevCursorReturnsPreviousPage() {
+        UserService.UserListPage first = userService.findUsersWithFilters("ALL", "ALL", null, 2, false);
+        UserService.UserListPage second = userService.findUsersWithFilters("ALL", "ALL", first.getNextCursor(), 2, false);
+        assertThat(first.getPrevCursor()).isNull();
+        assertThat(ids(second)).containsExactlyElementsOf(expectedIds.subList(2, 4));
+
+        UserService.UserListPage back = userService.findUsersWithFilters("ALL", "ALL", second.getPrevCursor(), 2, false);
+        assertThat(ids(back)).containsExactlyElementsOf(ids(first));
+        // 맨 앞 페이지로 돌아오면 더 앞 페이지는 없다
+        assertThat(back.getPrevCursor()).isNull();
+        assertThat(back.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        Set<Long> seen = new HashSet<>();
+        UserService.UserListPage page = userService.findUsersWithFilters("ALL", "ALL", null, 7, true);
+        long totalCount = page.getTotalCount();
+        while (true) {
+            ids(page).forEach(id -> assertThat(seen.add(id)).as("중복 사용자 %d", id).isTrue());
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            page = userService.findUsersWithFilters("ALL", "ALL", page.getNextCursor(), 7, false);
+        }
+
+        assertThat(page.getUsers()).isNotEmpty();
+        assertThat(page.getPrevCursor()).isNotNull();
+        assertThat(seen).hasSize(Math.toIntExact(totalCount)).containsAll(expectedIds);
+    }
+
+    private User saveUser(String name, LocalDateTime createdAt) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@paging-test.kopo.ac.kr")
+                .password("password123")
+                .role(User.Role.STUDENT)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private static List<Long> ids(UserService.UserListPage page) {
+        return page.getUsers().stream().map(User::getId).toList();
+    }
+}